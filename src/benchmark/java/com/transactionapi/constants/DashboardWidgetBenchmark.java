@@ -0,0 +1,38 @@
+package com.transactionapi.constants;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of the stored dashboard widget list, which runs on every preferences read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardWidgetBenchmark {
+
+    @Param({
+            "TOTAL_REALIZED,BEST_MONTH,BEST_DAY",
+            "TOTAL_REALIZED,BEST_MONTH,BEST_DAY,DAILY_AVG_YTD,TAX_OWED,ACCOUNT_STATS,TRADE_COUNTS,INFERRED_ACCOUNT_TRADE_COUNTS",
+            " TOTAL_REALIZED , REMOVED_WIDGET,,BEST_DAY,BEST_DAY "
+    })
+    public String stored;
+
+    @Benchmark
+    public List<DashboardWidget> fromStorage() {
+        return DashboardWidget.fromStorage(stored);
+    }
+}
@@ -0,0 +1,93 @@
+package com.transactionapi.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.transactionapi.constants.AssetType;
+import com.transactionapi.constants.Currency;
+import com.transactionapi.constants.OptionType;
+import com.transactionapi.constants.TradeDirection;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * JSON encoding of trades with the same {@link ObjectMapper} setup Spring Boot uses for responses,
+ * for one trade and for a full 100-row page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TradeResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private TradeResponse trade;
+    private List<TradeResponse> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        page = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            page.add(trade(i));
+        }
+        trade = page.get(0);
+    }
+
+    @Benchmark
+    public byte[] single() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(trade);
+    }
+
+    @Benchmark
+    public byte[] page() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    private static TradeResponse trade(int index) {
+        LocalDate closedAt = LocalDate.of(2024, 1, 1).plusDays(index);
+        Instant createdAt = Instant.parse("2024-01-01T10:15:30Z").plusSeconds(index);
+        return new TradeResponse(
+                UUID.randomUUID(),
+                "NVDA",
+                AssetType.OPTION,
+                Currency.USD,
+                TradeDirection.LONG,
+                new BigDecimal("3"),
+                new BigDecimal("4.2500"),
+                new BigDecimal("5.1000"),
+                new BigDecimal("1.25"),
+                new BigDecimal("6.2500"),
+                UUID.randomUUID(),
+                OptionType.CALL,
+                new BigDecimal("950.0000"),
+                closedAt.plusDays(30),
+                closedAt.minusDays(3),
+                closedAt,
+                new BigDecimal("253.75"),
+                new BigDecimal("19.90"),
+                "rolled from last week",
+                createdAt.minusSeconds(259_200),
+                createdAt,
+                createdAt,
+                createdAt
+        );
+    }
+}
@@ -0,0 +1,72 @@
+package com.transactionapi.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the rate limiter hot path. Run with {@code mvn -Pbenchmark test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimiterServiceBenchmark {
+
+    private static final int KEY_COUNT = 1_000;
+
+    private RateLimiterService permissive;
+    private RateLimiterService saturated;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        int unlimited = Integer.MAX_VALUE;
+        permissive = new RateLimiterService(
+                new InMemoryRateLimitBackend(60_000, KEY_COUNT * 2, 1000), new SimpleMeterRegistry(), unlimited, unlimited, unlimited, unlimited);
+        saturated = new RateLimiterService(
+                new InMemoryRateLimitBackend(60_000, KEY_COUNT * 2, 1000), new SimpleMeterRegistry(), 100, 60, 60, 20);
+        keys = new String[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = "user-" + i;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean singleKeyUncontended() {
+        return permissive.acquire("user-0", RateLimitBudget.READ, 1).allowed();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean singleKeyContended() {
+        return permissive.acquire("user-0", RateLimitBudget.READ, 1).allowed();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean singleKeyRejected() {
+        return saturated.acquire("user-0", RateLimitBudget.READ, 1).allowed();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean manyKeys() {
+        String key = keys[ThreadLocalRandom.current().nextInt(KEY_COUNT)];
+        return permissive.acquire(key, RateLimitBudget.READ, 1).allowed();
+    }
+}
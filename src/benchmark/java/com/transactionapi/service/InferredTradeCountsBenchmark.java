@@ -0,0 +1,97 @@
+package com.transactionapi.service;
+
+import com.transactionapi.constants.TradeHistoryAction;
+import com.transactionapi.dto.InferredAccountTradeCountsResponse;
+import com.transactionapi.model.Trade;
+import com.transactionapi.model.TradeHistory;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Replays trade histories to infer per-account add counts, as {@code /trades/stats/inferred-account-counts}
+ * does. Each trade is created once and then edited {@code editsPerTrade} times, half of them
+ * growing the position.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InferredTradeCountsBenchmark {
+
+    private static final int TRADE_COUNT = 1_000;
+
+    @Param({"5", "50", "500"})
+    public int editsPerTrade;
+
+    private TradeService tradeService;
+    private Map<UUID, List<TradeHistory>> byTrade;
+    private Map<UUID, String> accountNames;
+
+    @Setup
+    public void setUp() {
+        tradeService = SyntheticTrades.tradeService();
+        List<UUID> accountIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        accountNames = new HashMap<>();
+        for (int i = 0; i < accountIds.size(); i++) {
+            accountNames.put(accountIds.get(i), "Account " + i);
+        }
+
+        byTrade = new HashMap<>();
+        Instant actionAt = Instant.parse("2024-01-01T00:00:00Z");
+        for (Trade trade : SyntheticTrades.trades(tradeService, TRADE_COUNT, 11, accountIds)) {
+            UUID tradeId = UUID.randomUUID();
+            ReflectionTestUtils.setField(trade, "id", tradeId);
+            trade.setClosedAt(LocalDate.of(2024, 1 + trade.getClosedAt().getMonthValue() % 12, 15));
+            List<TradeHistory> history = new ArrayList<>(editsPerTrade + 1);
+            history.add(entry(trade, TradeHistoryAction.CREATE, actionAt));
+            for (int edit = 0; edit < editsPerTrade; edit++) {
+                actionAt = actionAt.plusSeconds(1);
+                if (edit % 2 == 0) {
+                    trade.setQuantity(trade.getQuantity().add(BigDecimal.ONE));
+                    trade.setEntryPrice(trade.getEntryPrice().add(new BigDecimal("0.10")));
+                }
+                history.add(entry(trade, TradeHistoryAction.EDIT, actionAt));
+            }
+            byTrade.put(tradeId, history);
+        }
+    }
+
+    @Benchmark
+    public List<InferredAccountTradeCountsResponse> inferAccountTradeCounts() {
+        return tradeService.inferAccountTradeCounts(
+                byTrade,
+                2024,
+                YearMonth.of(2024, 6),
+                LocalDate.of(2024, 6, 15),
+                accountNames
+        );
+    }
+
+    private static TradeHistory entry(Trade trade, TradeHistoryAction action, Instant actionAt) {
+        TradeHistory history = TradeHistory.fromTrade(trade, action);
+        ReflectionTestUtils.setField(history, "actionAt", actionAt);
+        return history;
+    }
+}
@@ -0,0 +1,86 @@
+package com.transactionapi.service;
+
+import com.transactionapi.constants.AssetType;
+import com.transactionapi.constants.Currency;
+import com.transactionapi.constants.OptionType;
+import com.transactionapi.constants.TradeDirection;
+import com.transactionapi.model.Trade;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+/**
+ * Deterministic trade data and a repository-free {@link TradeService} for benchmarks. Only the
+ * pure calculation paths of the service are exercised, so the repositories are left null.
+ */
+final class SyntheticTrades {
+
+    private static final String[] SYMBOLS = {"AAPL", "MSFT", "NVDA", "SHOP", "TSLA", "QQQ", "SPY", "AMD"};
+    private static final LocalDate FIRST_DAY = LocalDate.of(2023, 1, 2);
+
+    private SyntheticTrades() {
+    }
+
+    static TradeService tradeService() {
+        ExchangeRateService exchangeRateService = new ExchangeRateService(
+                new RestTemplateBuilder(),
+                null,
+                new DefaultListableBeanFactory().getBeanProvider(DynamoExchangeRateReader.class),
+                new SimpleMeterRegistry(),
+                "http",
+                "http://localhost",
+                new BigDecimal("0.732"),
+                1000,
+                "UTC"
+        );
+        return new TradeService(null, null, null, exchangeRateService, null, null, new SimpleMeterRegistry(), null);
+    }
+
+    static List<Trade> trades(TradeService tradeService, int count, long seed, List<UUID> accountIds) {
+        Random random = new Random(seed);
+        List<Trade> trades = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Trade trade = new Trade();
+            trade.setUserId("bench-user");
+            trade.setSymbol(SYMBOLS[random.nextInt(SYMBOLS.length)]);
+            boolean option = random.nextInt(4) == 0;
+            trade.setAssetType(option ? AssetType.OPTION : AssetType.STOCK);
+            trade.setCurrency(random.nextInt(3) == 0 ? Currency.CAD : Currency.USD);
+            trade.setDirection(random.nextBoolean() ? TradeDirection.LONG : TradeDirection.SHORT);
+            trade.setQuantity(BigDecimal.valueOf(1 + random.nextInt(200)));
+            BigDecimal entry = price(random, option ? 5 : 400);
+            trade.setEntryPrice(entry);
+            trade.setExitPrice(entry.multiply(BigDecimal.valueOf(0.9 + random.nextDouble() * 0.2))
+                    .setScale(4, RoundingMode.HALF_UP));
+            trade.setFees(option ? new BigDecimal("1.25") : BigDecimal.ZERO);
+            trade.setMarginRate(random.nextInt(5) == 0 ? new BigDecimal("6.25") : BigDecimal.ZERO);
+            if (!accountIds.isEmpty()) {
+                trade.setAccountId(accountIds.get(random.nextInt(accountIds.size())));
+            }
+            if (option) {
+                trade.setOptionType(random.nextBoolean() ? OptionType.CALL : OptionType.PUT);
+                trade.setStrikePrice(price(random, 400));
+            }
+            LocalDate closedAt = FIRST_DAY.plusDays(random.nextInt(730));
+            trade.setOpenedAt(closedAt.minusDays(random.nextInt(30)));
+            trade.setClosedAt(closedAt);
+            if (option) {
+                trade.setExpiryDate(closedAt.plusDays(30));
+            }
+            trade.setRealizedPnl(tradeService.calculatePnl(trade));
+            trades.add(trade);
+        }
+        return trades;
+    }
+
+    private static BigDecimal price(Random random, int scale) {
+        return BigDecimal.valueOf(1 + random.nextDouble() * scale).setScale(4, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,55 @@
+package com.transactionapi.service;
+
+import com.transactionapi.model.Trade;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-trade P&L and margin fee arithmetic, cycling through a fixed mix of stock and option trades.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TradeCalculationBenchmark {
+
+    private static final int TRADE_COUNT = 1024;
+
+    private TradeService tradeService;
+    private Trade[] trades;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        tradeService = SyntheticTrades.tradeService();
+        trades = SyntheticTrades.trades(tradeService, TRADE_COUNT, 42, List.of()).toArray(Trade[]::new);
+    }
+
+    @Benchmark
+    public BigDecimal calculatePnl() {
+        return tradeService.calculatePnl(nextTrade());
+    }
+
+    @Benchmark
+    public BigDecimal calculateMarginFee() {
+        return tradeService.calculateMarginFee(nextTrade());
+    }
+
+    private Trade nextTrade() {
+        next = (next + 1) & (TRADE_COUNT - 1);
+        return trades[next];
+    }
+}
@@ -0,0 +1,47 @@
+package com.transactionapi.service;
+
+import com.transactionapi.dto.PnlSummaryResponse;
+import com.transactionapi.model.Trade;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The in-memory daily and monthly bucketing behind {@code /trades/summary}, over up to a million
+ * synthetic trades spread across two years.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TradeSummaryBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int tradeCount;
+
+    private TradeService tradeService;
+    private List<Trade> trades;
+
+    @Setup
+    public void setUp() {
+        tradeService = SyntheticTrades.tradeService();
+        trades = SyntheticTrades.trades(tradeService, tradeCount, 7, List.of());
+    }
+
+    @Benchmark
+    public PnlSummaryResponse summarize() {
+        return tradeService.summarizeTrades(trades);
+    }
+}
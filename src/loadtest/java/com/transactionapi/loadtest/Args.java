@@ -0,0 +1,53 @@
+package com.transactionapi.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code --name=value} command line options, falling back to an environment variable and then a
+ * default.
+ */
+final class Args {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    Args(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+    }
+
+    String get(String name, String env, String defaultValue) {
+        String value = values.get(name);
+        if (value == null && env != null) {
+            value = System.getenv(env);
+        }
+        if (value == null || value.isBlank()) {
+            if (defaultValue == null) {
+                throw new IllegalArgumentException("--" + name + (env == null ? "" : " or " + env) + " is required");
+            }
+            return defaultValue;
+        }
+        return value;
+    }
+
+    String get(String name, String defaultValue) {
+        return get(name, null, defaultValue);
+    }
+
+    int getInt(String name, int defaultValue) {
+        return Integer.parseInt(get(name, Integer.toString(defaultValue)));
+    }
+
+    long getLong(String name, long defaultValue) {
+        return Long.parseLong(get(name, Long.toString(defaultValue)));
+    }
+
+    boolean getBoolean(String name) {
+        return Boolean.parseBoolean(get(name, "false"));
+    }
+}
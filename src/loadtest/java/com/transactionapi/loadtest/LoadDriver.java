@@ -0,0 +1,306 @@
+package com.transactionapi.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Replays a dashboard, list and write traffic mix against a running instance as the users seeded
+ * by {@link SyntheticDataGenerator}, then prints p50/p99 latency per endpoint. Requests
+ * authenticate with the dev-only user header, so the target must run with
+ * {@code app.security.allow-header-auth=true}.
+ *
+ * <p>Queries per request come from the {@code X-Query-Count} response header when the instance
+ * exposes it. With {@code --database-url} and the {@code pg_stat_statements} extension installed,
+ * the run-wide statement count is reported as well.
+ *
+ * <p>Options: {@code --base-url=http://localhost:8080}, {@code --profiles} and
+ * {@code --user-prefix} as used for seeding, {@code --duration=PT60S}, {@code --concurrency=16},
+ * {@code --mix=dashboard:60,list:30,write:10}, {@code --user-header=X-User-Id} and
+ * {@code --database-url}.
+ */
+public final class LoadDriver {
+
+    private static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    private static final Pattern TRADE_ID = Pattern.compile("\"id\"\\s*:\\s*\"([0-9a-f-]{36})\"");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final String baseUrl;
+    private final String userHeader;
+    private final List<String> users;
+    private final int[] mix;
+
+    private LoadDriver(String baseUrl, String userHeader, List<String> users, int[] mix) {
+        this.baseUrl = baseUrl;
+        this.userHeader = userHeader;
+        this.users = users;
+        this.mix = mix;
+    }
+
+    public static void main(String[] argv) throws Exception {
+        Args args = new Args(argv);
+        String prefix = args.get("user-prefix", "load-");
+        List<String> users = new ArrayList<>();
+        for (Map.Entry<UserProfile, Integer> entry : UserProfile.parseCounts(
+                args.get("profiles", "casual:200,active:50,power:5")).entrySet()) {
+            for (int index = 0; index < entry.getValue(); index++) {
+                users.add(entry.getKey().authId(prefix, index));
+            }
+        }
+        LoadDriver driver = new LoadDriver(
+                args.get("base-url", "http://localhost:8080").replaceAll("/+$", ""),
+                args.get("user-header", "X-User-Id"),
+                users,
+                parseMix(args.get("mix", "dashboard:60,list:30,write:10"))
+        );
+        Duration duration = Duration.parse(args.get("duration", "PT60S"));
+        int concurrency = args.getInt("concurrency", 16);
+        String databaseUrl = args.get("database-url", null, "");
+
+        OptionalLong statementsBefore = statementCount(databaseUrl);
+        long started = System.nanoTime();
+        driver.run(duration, concurrency);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        OptionalLong statementsAfter = statementCount(databaseUrl);
+
+        driver.report(elapsed, concurrency);
+        if (statementsBefore.isPresent() && statementsAfter.isPresent()) {
+            long requests = driver.stats.values().stream().mapToLong(EndpointStats::count).sum();
+            long statements = statementsAfter.getAsLong() - statementsBefore.getAsLong();
+            System.out.printf(Locale.ROOT, "%nDatabase: %d statements, %.1f per request (pg_stat_statements)%n",
+                    statements, requests == 0 ? 0.0 : (double) statements / requests);
+        }
+    }
+
+    private void run(Duration duration, int concurrency) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < concurrency; worker++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        String user = users.get(ThreadLocalRandom.current().nextInt(users.size()));
+                        int roll = ThreadLocalRandom.current().nextInt(mix[0] + mix[1] + mix[2]);
+                        if (roll < mix[0]) {
+                            dashboard(user);
+                        } else if (roll < mix[0] + mix[1]) {
+                            list(user);
+                        } else {
+                            write(user);
+                        }
+                    }
+                    return null;
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * The calls the dashboard makes on load: preferences, then the scoped stats widgets for a
+     * recent year and month.
+     */
+    private void dashboard(String user) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate day = LocalDate.now(ZoneOffset.UTC).minusDays(random.nextInt(365));
+        String month = day.toString().substring(0, 7);
+        get(user, "preferences", "/api/v1/users/me/preferences");
+        get(user, "stats/scoped", "/api/v1/trades/stats/scoped?year=" + day.getYear() + "&month=" + month + "&day=" + day);
+        get(user, "summary", "/api/v1/trades/summary?month=" + month);
+        get(user, "stats/accounts", "/api/v1/trades/stats/accounts?year=" + day.getYear());
+        get(user, "stats/counts", "/api/v1/trades/stats/counts?year=" + day.getYear() + "&month=" + month);
+        get(user, "stats/inferred-account-counts",
+                "/api/v1/trades/stats/inferred-account-counts?year=" + day.getYear() + "&month=" + month);
+    }
+
+    private void list(String user) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String sort = random.nextBoolean() ? "closedAt" : "realizedPnl";
+        String direction = random.nextBoolean() ? "desc" : "asc";
+        int page = random.nextInt(4) == 0 ? random.nextInt(1, 20) : 0;
+        get(user, "trades/paged", "/api/v1/trades/paged?page=" + page + "&size=50&sortBy=" + sort
+                + "&sortDirection=" + direction);
+        if (random.nextInt(3) == 0) {
+            String month = LocalDate.now(ZoneOffset.UTC).minusMonths(random.nextInt(12)).toString().substring(0, 7);
+            get(user, "trades/paged?month", "/api/v1/trades/paged?size=50&month=" + month);
+        }
+    }
+
+    /**
+     * Creates a trade, scales into it, reads its history and deletes it again, so repeated runs
+     * keep {@code trades} at its seeded size. History grows as it does in production.
+     */
+    private void write(String user) {
+        LocalDate closedAt = LocalDate.now(ZoneOffset.UTC).minusDays(ThreadLocalRandom.current().nextInt(30));
+        String body = tradeBody(closedAt, 10, "101.25");
+        String created = send(user, "POST trades", "POST", "/api/v1/trades", body);
+        Matcher matcher = created == null ? null : TRADE_ID.matcher(created);
+        if (matcher == null || !matcher.find()) {
+            return;
+        }
+        String tradePath = "/api/v1/trades/" + matcher.group(1);
+        send(user, "PUT trades/{id}", "PUT", tradePath, tradeBody(closedAt, 15, "101.75"));
+        get(user, "trades/{id}/history", tradePath + "/history");
+        send(user, "DELETE trades/{id}", "DELETE", tradePath, null);
+    }
+
+    private static String tradeBody(LocalDate closedAt, int quantity, String entryPrice) {
+        return """
+                {"symbol":"LOAD","assetType":"STOCK","currency":"USD","direction":"LONG","quantity":%d,\
+                "entryPrice":%s,"exitPrice":103.10,"fees":4.95,"openedAt":"%s","closedAt":"%s"}\
+                """.formatted(quantity, entryPrice, closedAt.minusDays(2), closedAt);
+    }
+
+    private void get(String user, String endpoint, String path) {
+        send(user, endpoint, "GET", path, null);
+    }
+
+    private String send(String user, String endpoint, String method, String path, String body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header(userHeader, user)
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+        }
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, ignored -> new EndpointStats());
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            endpointStats.record(System.nanoTime() - started, response.statusCode(),
+                    response.headers().firstValue(QUERY_COUNT_HEADER).map(Long::parseLong).orElse(-1L));
+            return response.statusCode() < 300 ? response.body() : null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception ex) {
+            endpointStats.record(System.nanoTime() - started, 0, -1);
+            return null;
+        }
+    }
+
+    private void report(Duration elapsed, int concurrency) {
+        long total = stats.values().stream().mapToLong(EndpointStats::count).sum();
+        System.out.printf(Locale.ROOT, "%d requests in %ds with %d workers over %d users (%.1f req/s)%n%n",
+                total, elapsed.toSeconds(), concurrency, users.size(), total * 1e9 / elapsed.toNanos());
+        System.out.printf(Locale.ROOT, "%-32s %8s %6s %6s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "429s", "p50 ms", "p99 ms", "max ms", "queries");
+        stats.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> entry.getValue().print(entry.getKey()));
+    }
+
+    private static int[] parseMix(String value) {
+        int[] weights = new int[3];
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            int weight = Integer.parseInt(parts[1].trim());
+            switch (parts[0].trim().toLowerCase(Locale.ROOT)) {
+                case "dashboard" -> weights[0] = weight;
+                case "list" -> weights[1] = weight;
+                case "write" -> weights[2] = weight;
+                default -> throw new IllegalArgumentException("Unknown traffic class " + parts[0]);
+            }
+        }
+        if (weights[0] + weights[1] + weights[2] <= 0) {
+            throw new IllegalArgumentException("Traffic mix needs a positive weight");
+        }
+        return weights;
+    }
+
+    private static OptionalLong statementCount(String databaseUrl) {
+        if (databaseUrl.isBlank()) {
+            return OptionalLong.empty();
+        }
+        try (Connection connection = DriverManager.getConnection(databaseUrl);
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COALESCE(SUM(calls), 0) FROM pg_stat_statements"
+                     + " WHERE dbid = (SELECT oid FROM pg_database WHERE datname = current_database())")) {
+            result.next();
+            return OptionalLong.of(result.getLong(1));
+        } catch (SQLException ex) {
+            System.err.println("pg_stat_statements unavailable: " + ex.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    private static final class EndpointStats {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        private int throttled;
+        private long queries;
+        private int queryCounted;
+
+        synchronized void record(long nanos, int status, long queryCount) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (status == 429) {
+                throttled++;
+            } else if (status == 0 || status >= 400) {
+                errors++;
+            }
+            if (queryCount >= 0) {
+                queries += queryCount;
+                queryCounted++;
+            }
+        }
+
+        synchronized long count() {
+            return count;
+        }
+
+        synchronized void print(String endpoint) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            String queriesPerRequest = queryCounted == 0
+                    ? "-"
+                    : String.format(Locale.ROOT, "%.1f", (double) queries / queryCounted);
+            System.out.printf(Locale.ROOT, "%-32s %8d %6d %6d %9.1f %9.1f %9.1f %9s%n",
+                    endpoint, count, errors, throttled,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                    millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]), queriesPerRequest);
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
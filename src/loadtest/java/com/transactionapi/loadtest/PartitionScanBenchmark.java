@@ -0,0 +1,243 @@
+package com.transactionapi.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Times the per-user scans behind the trade list, dashboard and history screens directly against
+ * Postgres, and reports how many partitions each plan touches. Run it against a database seeded by
+ * {@link SyntheticDataGenerator} before and after the partitioning migration to compare; for about
+ * 50M rows seed with {@code --profiles=casual:5000,active:500,power:115}.
+ *
+ * <p>Options: {@code --database-url} (or {@code DATABASE_URL}), {@code --users=100} users sampled
+ * among those with trades, {@code --user-prefix} to sample only seeded users,
+ * {@code --iterations=5} timed runs per query and user after one warm-up run, and
+ * {@code --seed=42}.
+ */
+public final class PartitionScanBenchmark {
+
+    private static final Pattern SCANNED_RELATION = Pattern.compile(" on (\\w+)");
+    private static final Map<String, String> QUERIES = new LinkedHashMap<>();
+
+    static {
+        QUERIES.put("trades page", """
+                SELECT * FROM trades WHERE user_id = ?
+                ORDER BY closed_at DESC, created_at DESC LIMIT 50
+                """);
+        QUERIES.put("trades month", """
+                SELECT * FROM trades WHERE user_id = ? AND closed_at >= ? AND closed_at < ?
+                ORDER BY closed_at DESC
+                """);
+        QUERIES.put("trades aggregate", """
+                SELECT currency, COUNT(*), SUM(realized_pnl) FROM trades WHERE user_id = ?
+                GROUP BY currency
+                """);
+        QUERIES.put("history latest", """
+                SELECT * FROM trade_history WHERE user_id = ?
+                ORDER BY action_at DESC LIMIT 100
+                """);
+        QUERIES.put("history 30 days", """
+                SELECT * FROM trade_history WHERE user_id = ? AND action_at >= now() - INTERVAL '30 days'
+                ORDER BY action_at DESC
+                """);
+        QUERIES.put("history of trade", """
+                SELECT * FROM trade_history WHERE trade_id = ? AND user_id = ? AND action_at >= ?
+                ORDER BY action_at
+                """);
+    }
+
+    private final Connection connection;
+    private final int iterations;
+    private final LocalDate monthStart = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1).minusMonths(1);
+
+    private PartitionScanBenchmark(Connection connection, int iterations) {
+        this.connection = connection;
+        this.iterations = iterations;
+    }
+
+    public static void main(String[] argv) throws Exception {
+        Args args = new Args(argv);
+        String url = args.get("database-url", "DATABASE_URL", null);
+        try (Connection connection = DriverManager.getConnection(url)) {
+            connection.setReadOnly(true);
+            PartitionScanBenchmark benchmark = new PartitionScanBenchmark(connection, Math.max(1, args.getInt("iterations", 5)));
+            List<String> users = benchmark.sampleUsers(
+                    args.get("user-prefix", ""),
+                    args.getInt("users", 100),
+                    args.getLong("seed", 42)
+            );
+            if (users.isEmpty()) {
+                throw new IllegalStateException("No users with trades to sample");
+            }
+            benchmark.run(users);
+        }
+    }
+
+    private List<String> sampleUsers(String prefix, int count, long seed) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT setseed(" + (seed % 1000) / 1000.0 + ")");
+        }
+        List<String> users = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT auth_id FROM users WHERE trade_count > 0 AND auth_id LIKE ? ORDER BY random() LIMIT ?")) {
+            statement.setString(1, prefix.replace("%", "\\%").replace("_", "\\_") + "%");
+            statement.setInt(2, count);
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    users.add(result.getString(1));
+                }
+            }
+        }
+        return users;
+    }
+
+    private void run(List<String> users) throws SQLException {
+        System.out.printf(Locale.ROOT, "trades: %,d rows in %d partitions, trade_history: %,d rows in %d partitions%n",
+                estimatedRows("trades"), partitionCount("trades"),
+                estimatedRows("trade_history"), partitionCount("trade_history"));
+        System.out.printf(Locale.ROOT, "%d users, %d timed runs each%n%n", users.size(), iterations);
+        System.out.printf(Locale.ROOT, "%-20s %8s %10s %9s %9s %9s %9s %11s%n",
+                "query", "runs", "rows/run", "p50 ms", "p95 ms", "p99 ms", "max ms", "partitions");
+        for (Map.Entry<String, String> query : QUERIES.entrySet()) {
+            long[] latencies = new long[users.size() * iterations];
+            long rows = 0;
+            int runs = 0;
+            Set<String> partitions = new TreeSet<>();
+            for (String user : users) {
+                try (PreparedStatement statement = connection.prepareStatement(query.getValue())) {
+                    if (!bind(statement, query.getKey(), user)) {
+                        continue;
+                    }
+                    if (partitions.isEmpty()) {
+                        partitions.addAll(scannedRelations(query.getValue(), query.getKey(), user));
+                    }
+                    drain(statement);
+                    for (int iteration = 0; iteration < iterations; iteration++) {
+                        long started = System.nanoTime();
+                        rows += drain(statement);
+                        latencies[runs++] = System.nanoTime() - started;
+                    }
+                }
+            }
+            long[] sorted = Arrays.copyOf(latencies, runs);
+            Arrays.sort(sorted);
+            System.out.printf(Locale.ROOT, "%-20s %8d %10.1f %9.2f %9.2f %9.2f %9.2f %11s%n",
+                    query.getKey(), runs, runs == 0 ? 0.0 : (double) rows / runs,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.95)),
+                    millis(percentile(sorted, 0.99)), millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]),
+                    partitions.isEmpty() ? "-" : Integer.toString(partitions.size()));
+        }
+    }
+
+    private boolean bind(PreparedStatement statement, String name, String user) throws SQLException {
+        if (name.equals("history of trade")) {
+            Object[] trade = anyTrade(user);
+            if (trade == null) {
+                return false;
+            }
+            statement.setObject(1, trade[0]);
+            statement.setString(2, user);
+            statement.setObject(3, trade[1]);
+            return true;
+        }
+        statement.setString(1, user);
+        if (name.equals("trades month")) {
+            statement.setObject(2, monthStart);
+            statement.setObject(3, monthStart.plusMonths(1));
+        }
+        return true;
+    }
+
+    /** Relations the executor actually scanned, taken from the first user's plan. */
+    private Set<String> scannedRelations(String sql, String name, String user) throws SQLException {
+        Set<String> relations = new TreeSet<>();
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF) " + sql)) {
+            bind(explain, name, user);
+            try (ResultSet result = explain.executeQuery()) {
+                while (result.next()) {
+                    String line = result.getString(1);
+                    if (line.contains("never executed") || line.contains("Bitmap Index Scan")) {
+                        continue;
+                    }
+                    Matcher matcher = SCANNED_RELATION.matcher(line);
+                    if (line.contains("Scan") && matcher.find()) {
+                        relations.add(matcher.group(1));
+                    }
+                }
+            }
+        }
+        return relations;
+    }
+
+    /** A recently closed trade's id and creation time, the bound TradeService puts on history reads. */
+    private Object[] anyTrade(String user) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT id, created_at FROM trades WHERE user_id = ? ORDER BY closed_at DESC LIMIT 1")) {
+            statement.setString(1, user);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next()
+                        ? new Object[] {result.getObject(1, UUID.class), result.getObject(2, OffsetDateTime.class)}
+                        : null;
+            }
+        }
+    }
+
+    private long estimatedRows(String table) throws SQLException {
+        return longQuery("""
+                SELECT COALESCE(SUM(GREATEST(reltuples, 0)), 0)::bigint FROM pg_class
+                WHERE relkind = 'r'
+                  AND (oid = '%1$s'::regclass
+                   OR oid IN (SELECT inhrelid FROM pg_inherits WHERE inhparent = '%1$s'::regclass))
+                """.formatted(table));
+    }
+
+    private long partitionCount(String table) throws SQLException {
+        return longQuery("SELECT COUNT(*) FROM pg_inherits WHERE inhparent = '%s'::regclass".formatted(table));
+    }
+
+    private long longQuery(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private static long drain(PreparedStatement statement) throws SQLException {
+        long rows = 0;
+        try (ResultSet result = statement.executeQuery()) {
+            while (result.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
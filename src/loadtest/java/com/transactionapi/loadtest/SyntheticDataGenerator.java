@@ -0,0 +1,357 @@
+package com.transactionapi.loadtest;
+
+import com.transactionapi.constants.CountedTable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Seeds {@code users}, {@code accounts}, {@code trades} and {@code trade_history} with synthetic
+ * users through {@code COPY}, so production-sized data can be reproduced locally. Trades mix
+ * stocks and options in USD and CAD, and each trade gets a creation entry plus a number of edits
+ * drawn from the profile, most of them scaling into the position. A small share of trades are
+ * deleted and only survive in history.
+ *
+ * <p>Options: {@code --database-url} (or {@code DATABASE_URL}, a {@code jdbc:postgresql} URL),
+ * {@code --profiles=casual:200,active:50,power:5,whale:1}, {@code --user-prefix=load-},
+ * {@code --seed=42} and {@code --reset=true} to delete previously seeded users first.
+ */
+public final class SyntheticDataGenerator {
+
+    private static final String[] STOCKS = {
+            "AAPL", "MSFT", "NVDA", "AMZN", "META", "GOOGL", "TSLA", "AMD", "SHOP", "RY", "TD", "ENB", "SPY", "QQQ"
+    };
+    private static final String[] NOTES = {
+            null, null, null, "earnings", "scaled in", "stopped out", "rolled from last week", "hedge, small size"
+    };
+    private static final String TRADE_COLUMNS = "id, user_id, symbol, currency, asset_type, direction, quantity,"
+            + " entry_price, exit_price, fees, margin_rate, account_id, option_type, strike_price, expiry_date,"
+            + " opened_at, closed_at, realized_pnl, notes, created_at, updated_at";
+    private static final String HISTORY_COLUMNS = "id, trade_id, action, user_id, symbol, currency, asset_type,"
+            + " direction, quantity, entry_price, exit_price, fees, margin_rate, account_id, option_type, strike_price,"
+            + " expiry_date, opened_at, closed_at, realized_pnl, notes, trade_created_at, trade_updated_at, action_at";
+    private static final double DELETED_SHARE = 0.03;
+    private static final int COPY_BUFFER_CHARS = 1 << 20;
+
+    private final String prefix;
+    private final long seed;
+    private final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+    private SyntheticDataGenerator(String prefix, long seed) {
+        this.prefix = prefix;
+        this.seed = seed;
+    }
+
+    public static void main(String[] argv) throws Exception {
+        Args args = new Args(argv);
+        String url = args.get("database-url", "DATABASE_URL", null);
+        Map<UserProfile, Integer> profiles = UserProfile.parseCounts(args.get("profiles", "casual:200,active:50,power:5"));
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(args.get("user-prefix", "load-"), args.getLong("seed", 42));
+
+        try (Connection main = DriverManager.getConnection(url); Connection history = DriverManager.getConnection(url)) {
+            main.setAutoCommit(false);
+            history.setAutoCommit(false);
+            if (args.getBoolean("reset")) {
+                generator.reset(main);
+            }
+            for (Map.Entry<UserProfile, Integer> entry : profiles.entrySet()) {
+                for (int index = 0; index < entry.getValue(); index++) {
+                    generator.seedUser(main, history, entry.getKey(), index);
+                }
+            }
+            generator.finish(main);
+        }
+    }
+
+    private void reset(Connection connection) throws SQLException {
+        String pattern = prefix.replace("%", "\\%").replace("_", "\\_") + "%";
+        for (String table : List.of("trade_history", "trades", "accounts")) {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "DELETE FROM " + table + " WHERE user_id LIKE ?")) {
+                statement.setString(1, pattern);
+                log("Deleted %d rows from %s", statement.executeUpdate(), table);
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement("DELETE FROM users WHERE auth_id LIKE ?")) {
+            statement.setString(1, pattern);
+            log("Deleted %d users", statement.executeUpdate());
+        }
+        connection.commit();
+    }
+
+    private void seedUser(Connection main, Connection historyConnection, UserProfile profile, int index)
+            throws SQLException {
+        long started = System.nanoTime();
+        String authId = profile.authId(prefix, index);
+        Random random = new Random(seed * 31 + authId.hashCode());
+        Instant joinedAt = today.minusDays(profile.historyDays + 1L).atStartOfDay().toInstant(ZoneOffset.UTC);
+
+        CopyBuffer users = CopyBuffer.open(main, "users (id, auth_id, email, created_at, updated_at,"
+                + " terms_accepted_at, privacy_policy_accepted_at, data_version)");
+        users.row(uuid(random), authId, authId + "@example.test", joinedAt, joinedAt, joinedAt, joinedAt, 1);
+        users.finish();
+
+        List<UUID> accountIds = new ArrayList<>(profile.accounts);
+        CopyBuffer accounts = CopyBuffer.open(main, "accounts (id, user_id, name, default_stock_fees,"
+                + " default_option_fees, default_margin_rate_usd, default_margin_rate_cad, created_at, updated_at)");
+        for (int i = 0; i < profile.accounts; i++) {
+            UUID accountId = uuid(random);
+            accountIds.add(accountId);
+            accounts.row(accountId, authId, i == 0 ? "Margin" : "Account " + (i + 1), "4.95", "1.25",
+                    "6.2500", "5.4500", joinedAt, joinedAt);
+        }
+        accounts.finish();
+
+        CopyBuffer trades = CopyBuffer.open(main, "trades (" + TRADE_COLUMNS + ")");
+        CopyBuffer history = CopyBuffer.open(historyConnection, "trade_history (" + HISTORY_COLUMNS + ")");
+        long liveTrades = 0;
+        long historyRows = 0;
+        for (int i = 0; i < profile.trades; i++) {
+            SyntheticTrade trade = SyntheticTrade.create(random, profile, authId, accountIds, today);
+            history.row(trade.historyRow(uuid(random), "CREATE", trade.createdAt));
+            historyRows++;
+            Instant actionAt = trade.createdAt;
+            int edits = edits(random, profile.editsPerTrade);
+            for (int edit = 0; edit < edits; edit++) {
+                actionAt = actionAt.plus(Duration.ofMinutes(1 + random.nextInt(240)));
+                trade.edit(random, actionAt);
+                history.row(trade.historyRow(uuid(random), "EDIT", actionAt));
+                historyRows++;
+            }
+            if (random.nextDouble() < DELETED_SHARE) {
+                history.row(trade.historyRow(uuid(random), "DELETE", actionAt.plus(Duration.ofMinutes(5))));
+                historyRows++;
+            } else {
+                trades.row(trade.tradeRow());
+                liveTrades++;
+            }
+        }
+        trades.finish();
+        history.finish();
+
+        try (PreparedStatement statement = main.prepareStatement(
+                "UPDATE users SET trade_count = ? WHERE auth_id = ?")) {
+            statement.setLong(1, liveTrades);
+            statement.setString(2, authId);
+            statement.executeUpdate();
+        }
+        main.commit();
+        historyConnection.commit();
+        log("Seeded %s: %d trades, %d history rows in %d ms",
+                authId, liveTrades, historyRows, Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    private void finish(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (CountedTable table : List.of(CountedTable.USERS, CountedTable.TRADES, CountedTable.TRADE_HISTORY)) {
+                statement.executeUpdate("UPDATE table_row_counts SET row_count = (SELECT COUNT(*) FROM "
+                        + table.tableName() + ") WHERE table_name = '" + table.tableName() + "'");
+            }
+            connection.commit();
+            connection.setAutoCommit(true);
+            statement.execute("ANALYZE users, accounts, trades, trade_history");
+        }
+        log("Refreshed admin row counts and table statistics");
+    }
+
+    /**
+     * Geometric number of edits with the given mean, so most trades have few edits and a long
+     * tail of trades is edited many times.
+     */
+    private static int edits(Random random, double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        double p = 1 / (1 + mean);
+        return (int) Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+    }
+
+    static UUID uuid(Random random) {
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.println(String.format(format, args));
+    }
+
+    private static final class SyntheticTrade {
+        private final UUID id;
+        private final String userId;
+        private final String symbol;
+        private final String currency;
+        private final String assetType;
+        private final String direction;
+        private final UUID accountId;
+        private final String optionType;
+        private final BigDecimal strikePrice;
+        private final LocalDate expiryDate;
+        private final LocalDate openedAt;
+        private final LocalDate closedAt;
+        private final BigDecimal exitPrice;
+        private final BigDecimal marginRate;
+        private final Instant createdAt;
+        private BigDecimal quantity;
+        private BigDecimal entryPrice;
+        private BigDecimal fees;
+        private String notes;
+        private Instant updatedAt;
+
+        private SyntheticTrade(Random random, UserProfile profile, String userId, List<UUID> accountIds, LocalDate today) {
+            boolean option = random.nextDouble() < profile.optionShare;
+            boolean cad = random.nextDouble() < profile.cadShare;
+            this.id = uuid(random);
+            this.userId = userId;
+            this.symbol = STOCKS[random.nextInt(STOCKS.length)];
+            this.currency = cad ? "CAD" : "USD";
+            this.assetType = option ? "OPTION" : "STOCK";
+            this.direction = random.nextInt(5) == 0 ? "SHORT" : "LONG";
+            this.accountId = random.nextInt(10) == 0 ? null : accountIds.get(random.nextInt(accountIds.size()));
+            this.closedAt = today.minusDays(random.nextInt(profile.historyDays));
+            this.openedAt = closedAt.minusDays(option ? random.nextInt(3) : random.nextInt(30));
+            BigDecimal underlying = price(random, 20, 600);
+            if (option) {
+                this.optionType = random.nextBoolean() ? "CALL" : "PUT";
+                this.strikePrice = underlying.setScale(0, RoundingMode.HALF_UP).setScale(4, RoundingMode.UNNECESSARY);
+                this.expiryDate = closedAt.plusDays(random.nextInt(45));
+                this.quantity = BigDecimal.valueOf(1 + random.nextInt(20));
+                this.entryPrice = price(random, 0.05, 15);
+                this.fees = new BigDecimal("1.25").multiply(quantity).setScale(2, RoundingMode.HALF_UP);
+            } else {
+                this.optionType = null;
+                this.strikePrice = null;
+                this.expiryDate = null;
+                this.quantity = random.nextInt(8) == 0
+                        ? BigDecimal.valueOf(random.nextDouble() * 10).setScale(4, RoundingMode.HALF_UP).add(BigDecimal.ONE)
+                        : BigDecimal.valueOf(1 + random.nextInt(500));
+                this.entryPrice = underlying;
+                this.fees = random.nextInt(3) == 0 ? BigDecimal.ZERO.setScale(2) : new BigDecimal("4.95");
+            }
+            this.exitPrice = entryPrice.multiply(BigDecimal.valueOf(0.8 + random.nextDouble() * 0.45))
+                    .setScale(4, RoundingMode.HALF_UP);
+            this.marginRate = random.nextInt(6) == 0 ? new BigDecimal(cad ? "5.4500" : "6.2500") : new BigDecimal("0.0000");
+            this.notes = NOTES[random.nextInt(NOTES.length)];
+            this.createdAt = closedAt.atTime(20, 0).toInstant(ZoneOffset.UTC).plusSeconds(random.nextInt(14_400));
+            this.updatedAt = createdAt;
+        }
+
+        static SyntheticTrade create(Random random, UserProfile profile, String userId, List<UUID> accountIds, LocalDate today) {
+            return new SyntheticTrade(random, profile, userId, accountIds, today);
+        }
+
+        /**
+         * Mostly scale-ins that raise the size and move the average entry, otherwise fee or note
+         * corrections.
+         */
+        void edit(Random random, Instant at) {
+            int kind = random.nextInt(10);
+            if (kind < 6) {
+                BigDecimal added = quantity.divide(BigDecimal.valueOf(2 + random.nextInt(4)), 0, RoundingMode.UP);
+                BigDecimal addPrice = entryPrice.multiply(BigDecimal.valueOf(0.95 + random.nextDouble() * 0.1));
+                BigDecimal total = quantity.add(added);
+                entryPrice = entryPrice.multiply(quantity).add(addPrice.multiply(added))
+                        .divide(total, 4, RoundingMode.HALF_UP);
+                quantity = total;
+            } else if (kind < 8) {
+                fees = fees.add(new BigDecimal("1.00"));
+            } else {
+                notes = NOTES[random.nextInt(NOTES.length)];
+            }
+            updatedAt = at;
+        }
+
+        Object[] tradeRow() {
+            return new Object[] {
+                    id, userId, symbol, currency, assetType, direction, quantity, entryPrice, exitPrice, fees,
+                    marginRate, accountId, optionType, strikePrice, expiryDate, openedAt, closedAt, realizedPnl(),
+                    notes, createdAt, updatedAt
+            };
+        }
+
+        Object[] historyRow(UUID historyId, String action, Instant actionAt) {
+            return new Object[] {
+                    historyId, id, action, userId, symbol, currency, assetType, direction, quantity, entryPrice,
+                    exitPrice, fees, marginRate, accountId, optionType, strikePrice, expiryDate, openedAt, closedAt,
+                    realizedPnl(), notes, createdAt, updatedAt, actionAt
+            };
+        }
+
+        private BigDecimal realizedPnl() {
+            BigDecimal perUnit = "LONG".equals(direction) ? exitPrice.subtract(entryPrice) : entryPrice.subtract(exitPrice);
+            BigDecimal multiplier = "OPTION".equals(assetType) ? BigDecimal.valueOf(100) : BigDecimal.ONE;
+            return perUnit.multiply(quantity).multiply(multiplier).subtract(fees).setScale(2, RoundingMode.HALF_UP);
+        }
+
+        private static BigDecimal price(Random random, double min, double max) {
+            return BigDecimal.valueOf(min + random.nextDouble() * (max - min)).setScale(4, RoundingMode.HALF_UP);
+        }
+    }
+
+    /**
+     * Streams CSV rows into a {@code COPY ... FROM STDIN}, flushing in fixed-size chunks so large
+     * users never sit in memory.
+     */
+    private static final class CopyBuffer {
+        private final CopyIn copy;
+        private final StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 4096);
+
+        private CopyBuffer(CopyIn copy) {
+            this.copy = copy;
+        }
+
+        static CopyBuffer open(Connection connection, String target) throws SQLException {
+            return new CopyBuffer(connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY " + target + " FROM STDIN WITH (FORMAT csv)"));
+        }
+
+        void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                Object value = values[i];
+                if (value instanceof String text) {
+                    buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+                } else if (value instanceof BigDecimal decimal) {
+                    buffer.append(decimal.toPlainString());
+                } else if (value != null) {
+                    buffer.append(value);
+                }
+            }
+            buffer.append('\n');
+            if (buffer.length() >= COPY_BUFFER_CHARS) {
+                flush();
+            }
+        }
+
+        void finish() throws SQLException {
+            flush();
+            copy.endCopy();
+        }
+
+        private void flush() throws SQLException {
+            if (!buffer.isEmpty()) {
+                byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+                copy.writeToCopy(bytes, 0, bytes.length);
+                buffer.setLength(0);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.transactionapi.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Shapes of synthetic users, from occasional traders to accounts with a million closed trades.
+ * The generator and the load driver derive the same auth ids from a profile, so traffic can be
+ * replayed against whatever was seeded.
+ */
+enum UserProfile {
+    CASUAL(40, 1, 0.05, 0.10, 0.2, 730),
+    ACTIVE(2_000, 2, 0.25, 0.30, 1.0, 1_095),
+    POWER(100_000, 4, 0.40, 0.50, 2.0, 1_825),
+    WHALE(1_000_000, 6, 0.50, 0.50, 3.0, 3_650);
+
+    final int trades;
+    final int accounts;
+    final double optionShare;
+    final double cadShare;
+    final double editsPerTrade;
+    final int historyDays;
+
+    UserProfile(int trades, int accounts, double optionShare, double cadShare, double editsPerTrade, int historyDays) {
+        this.trades = trades;
+        this.accounts = accounts;
+        this.optionShare = optionShare;
+        this.cadShare = cadShare;
+        this.editsPerTrade = editsPerTrade;
+        this.historyDays = historyDays;
+    }
+
+    String authId(String prefix, int index) {
+        return prefix + name().toLowerCase(Locale.ROOT) + "-" + index;
+    }
+
+    /**
+     * Parses {@code casual:200,power:2} into user counts per profile, keeping the given order.
+     */
+    static Map<UserProfile, Integer> parseCounts(String value) {
+        Map<UserProfile, Integer> counts = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            String[] parts = trimmed.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected profile:count, got " + trimmed);
+            }
+            counts.put(valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+        }
+        if (counts.isEmpty()) {
+            throw new IllegalArgumentException("At least one profile is required");
+        }
+        return counts;
+    }
+}
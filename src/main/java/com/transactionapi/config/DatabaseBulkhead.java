@@ -0,0 +1,91 @@
+package com.transactionapi.config;
+
+import com.transactionapi.error.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Caps how many requests may be doing database work at once. A caller that can't get a permit
+ * waits up to {@code maxWait}, but only while fewer than {@code maxQueue} callers are already
+ * waiting; past that it is rejected straight away. Either way a full pool turns into a quick
+ * 503 instead of a pile of threads parked in {@code HikariPool.getConnection}.
+ */
+public class DatabaseBulkhead {
+
+    private final Semaphore permits;
+    private final int maxQueue;
+    private final Duration maxWait;
+    private final Duration retryAfter;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Counter queueFullRejections;
+    private final Counter timeoutRejections;
+
+    public DatabaseBulkhead(
+            int maxConcurrent,
+            int maxQueue,
+            Duration maxWait,
+            Duration retryAfter,
+            MeterRegistry meterRegistry
+    ) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxQueue = maxQueue;
+        this.maxWait = maxWait;
+        this.retryAfter = retryAfter;
+        Gauge.builder("db.bulkhead.active", () -> maxConcurrent - permits.availablePermits())
+                .register(meterRegistry);
+        Gauge.builder("db.bulkhead.waiting", waiting, AtomicInteger::get)
+                .register(meterRegistry);
+        this.queueFullRejections = Counter.builder("db.bulkhead.rejections")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.timeoutRejections = Counter.builder("db.bulkhead.rejections")
+                .tag("reason", "timeout")
+                .register(meterRegistry);
+    }
+
+    public void acquire() {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (waiting.incrementAndGet() > maxQueue) {
+            waiting.decrementAndGet();
+            queueFullRejections.increment();
+            throw overloaded();
+        }
+        try {
+            if (!permits.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                timeoutRejections.increment();
+                throw overloaded();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    /** Runs {@code work} under a permit, for database work done outside {@code DatabaseBulkheadFilter}. */
+    public <T> T call(Supplier<T> work) {
+        acquire();
+        try {
+            return work.get();
+        } finally {
+            release();
+        }
+    }
+
+    private ServiceOverloadedException overloaded() {
+        return new ServiceOverloadedException("Server is busy. Please try again shortly.", retryAfter);
+    }
+}
@@ -0,0 +1,24 @@
+package com.transactionapi.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(value = "app.db-bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class DatabaseBulkheadConfig {
+
+    @Bean
+    public DatabaseBulkhead databaseBulkhead(
+            MeterRegistry meterRegistry,
+            @Value("${app.db-bulkhead.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${app.db-bulkhead.max-queue:50}") int maxQueue,
+            @Value("${app.db-bulkhead.max-wait:PT2S}") Duration maxWait,
+            @Value("${app.db-bulkhead.retry-after:PT1S}") Duration retryAfter
+    ) {
+        return new DatabaseBulkhead(maxConcurrent, maxQueue, maxWait, retryAfter, meterRegistry);
+    }
+}
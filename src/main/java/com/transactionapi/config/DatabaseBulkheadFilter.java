@@ -0,0 +1,104 @@
+package com.transactionapi.config;
+
+import com.transactionapi.constants.ApiPaths;
+import com.transactionapi.error.ServiceOverloadedException;
+import com.transactionapi.security.CorsHeaders;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Takes a {@link DatabaseBulkhead} permit before the security chain, whose session, rate-limit and
+ * legal-agreement filters already borrow connections, and holds it while the request is handled on
+ * its servlet thread. Async responses such as streamed exports hand it back when async handling
+ * starts; they read in short chunks and hold no connection while the client drains the stream.
+ * Handlers that take their own permit around the database work, like {@code StaleStatsFallback},
+ * hand the request's back early with {@link #releaseRequestPermit()}. Public share views are left
+ * out: cache hits need no database, and misses take a permit for the load. Runs after
+ * {@code ConcurrencyLimitFilter}; like the concurrency limiter's, its 503 carries CORS headers for
+ * allowed origins.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 30)
+@ConditionalOnProperty(value = "app.db-bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class DatabaseBulkheadFilter extends OncePerRequestFilter {
+
+    private static final String PERMIT_ATTRIBUTE = DatabaseBulkheadFilter.class.getName() + ".permit";
+
+    private final DatabaseBulkhead bulkhead;
+    private final CorsConfigurationSource corsConfigurationSource;
+
+    public DatabaseBulkheadFilter(DatabaseBulkhead bulkhead, CorsConfigurationSource corsConfigurationSource) {
+        this.bulkhead = bulkhead;
+        this.corsConfigurationSource = corsConfigurationSource;
+    }
+
+    /** Hands back the current request's permit, if it holds one. */
+    public static void releaseRequestPermit() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(PERMIT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Permit permit) {
+            permit.release();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith(ApiPaths.API_V1)
+                || path.startsWith(ApiPaths.HEALTH)
+                || path.equals(ApiPaths.AUTH_CSRF)
+                || HttpMethod.GET.matches(request.getMethod()) && path.startsWith(ApiPaths.SHARES + "/")
+                || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        try {
+            bulkhead.acquire();
+        } catch (ServiceOverloadedException ex) {
+            CorsHeaders.addForAllowedOrigin(corsConfigurationSource, request, response);
+            response.setHeader(HttpHeaders.RETRY_AFTER, ex.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+            response.setStatus(ex.getStatusCode().value());
+            response.getWriter().write(ex.getReason());
+            return;
+        }
+
+        Permit permit = new Permit();
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permit.release();
+        }
+    }
+
+    /** Returns the permit once, whether handed back early or when the filter chain returns. */
+    private final class Permit {
+
+        private final AtomicBoolean held = new AtomicBoolean(true);
+
+        void release() {
+            if (held.compareAndSet(true, false)) {
+                bulkhead.release();
+            }
+        }
+    }
+}
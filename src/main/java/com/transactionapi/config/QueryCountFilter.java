@@ -0,0 +1,148 @@
+package com.transactionapi.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Opens a {@link QueryCounter} scope around each request, ahead of the security chain so the
+ * user lookups done by the authentication filters are included. Requests over the threshold are
+ * logged and tagged in {@code http.server.requests.queries}; outside prod the count is also
+ * returned in {@value #HEADER}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Query-Count";
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+    private final boolean exposeHeader;
+
+    public QueryCountFilter(
+            MeterRegistry meterRegistry,
+            Environment environment,
+            @Value("${app.query-count.warn-threshold:20}") int warnThreshold
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+        this.exposeHeader = environment.acceptsProfiles(Profiles.of("local", "test"));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        QueryCounter.start();
+        int count;
+        try {
+            if (exposeHeader) {
+                QueryCountHeaderResponse wrapped = new QueryCountHeaderResponse(response);
+                filterChain.doFilter(request, wrapped);
+                wrapped.writeHeader();
+            } else {
+                filterChain.doFilter(request, response);
+            }
+        } finally {
+            count = QueryCounter.stop();
+        }
+        record(request, count);
+    }
+
+    private void record(HttpServletRequest request, int count) {
+        boolean exceeded = count > warnThreshold;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        DistributionSummary.builder("http.server.requests.queries")
+                .baseUnit("queries")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .tag("exceeded", String.valueOf(exceeded))
+                .register(meterRegistry)
+                .record(count);
+        if (exceeded) {
+            log.warn(
+                    "{} {} ran {} queries (threshold {})",
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    count,
+                    warnThreshold
+            );
+        }
+    }
+
+    /** Stamps the running count on the response just before the body starts, while headers are still writable. */
+    private static final class QueryCountHeaderResponse extends HttpServletResponseWrapper {
+
+        private boolean headerWritten;
+
+        QueryCountHeaderResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        void writeHeader() {
+            if (!headerWritten && !isCommitted()) {
+                setHeader(HEADER, String.valueOf(QueryCounter.current()));
+            }
+            headerWritten = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeader();
+            super.sendRedirect(location);
+        }
+    }
+}
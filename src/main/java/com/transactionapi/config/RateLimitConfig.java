@@ -0,0 +1,49 @@
+package com.transactionapi.config;
+
+import com.transactionapi.security.InMemoryRateLimitBackend;
+import com.transactionapi.security.PostgresRateLimitBackend;
+import com.transactionapi.security.RateLimitBackend;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnProperty(value = "app.rate-limit.backend", havingValue = "memory", matchIfMissing = true)
+    public RateLimitBackend inMemoryRateLimitBackend(
+            @Value("${app.rate-limit.window-ms:60000}") long windowMillis,
+            @Value("${app.rate-limit.max-buckets:10000}") int maxBuckets,
+            @Value("${app.rate-limit.sweep-batch-size:1000}") int sweepBatchSize
+    ) {
+        return new InMemoryRateLimitBackend(windowMillis, maxBuckets, sweepBatchSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "app.rate-limit.backend", havingValue = "postgres")
+    public RateLimitBackend postgresRateLimitBackend(
+            DataSource dataSource,
+            @Value("${app.rate-limit.window-ms:60000}") long windowMillis,
+            @Value("${app.rate-limit.max-buckets:10000}") int maxBuckets,
+            @Value("${app.rate-limit.sweep-batch-size:1000}") int sweepBatchSize,
+            @Value("${app.rate-limit.lease-size:10}") int leaseSize,
+            @Value("${app.rate-limit.lease-wait:PT0.1S}") Duration leaseWait,
+            @Value("${app.rate-limit.query-timeout:PT1S}") Duration queryTimeout
+    ) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.setQueryTimeout((int) Math.max(1, queryTimeout.toSeconds()));
+        return new PostgresRateLimitBackend(
+                new NamedParameterJdbcTemplate(jdbc),
+                windowMillis,
+                leaseSize,
+                leaseWait,
+                new InMemoryRateLimitBackend(windowMillis, maxBuckets, sweepBatchSize)
+        );
+    }
+}
@@ -0,0 +1,76 @@
+package com.transactionapi.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Remembers which users wrote recently so their reads stay on the primary until the replica has
+ * had {@code window} to catch up. The user behind the current thread is set per request by
+ * {@link ReplicaDataSourceConfig} and carried onto async tasks by {@link #taskDecorator()}. Writes
+ * are only remembered by the instance that took them: with several instances, a read routed to
+ * another one can still land on a replica that hasn't replayed the write yet.
+ */
+public class ReadYourWrites {
+
+    private static final ThreadLocal<String> CURRENT_USER = new ThreadLocal<>();
+
+    private final long windowNanos;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWrites(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void recordWrite(String userId) {
+        lastWrites.put(userId, System.nanoTime());
+    }
+
+    public boolean currentUserWroteRecently() {
+        String userId = CURRENT_USER.get();
+        if (userId == null) {
+            return false;
+        }
+        Long at = lastWrites.get(userId);
+        return at != null && System.nanoTime() - at < windowNanos;
+    }
+
+    public int evictExpired() {
+        long now = System.nanoTime();
+        int before = lastWrites.size();
+        lastWrites.values().removeIf(at -> now - at >= windowNanos);
+        return before - lastWrites.size();
+    }
+
+    public TaskDecorator taskDecorator() {
+        return task -> {
+            String userId = CURRENT_USER.get();
+            return () -> {
+                String previous = CURRENT_USER.get();
+                CURRENT_USER.set(userId);
+                try {
+                    task.run();
+                } finally {
+                    restore(previous);
+                }
+            };
+        };
+    }
+
+    static void setCurrentUser(String userId) {
+        CURRENT_USER.set(userId);
+    }
+
+    static void clearCurrentUser() {
+        CURRENT_USER.remove();
+    }
+
+    private static void restore(String previous) {
+        if (previous == null) {
+            CURRENT_USER.remove();
+        } else {
+            CURRENT_USER.set(previous);
+        }
+    }
+}
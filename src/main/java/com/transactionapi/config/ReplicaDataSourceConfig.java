@@ -0,0 +1,181 @@
+package com.transactionapi.config;
+
+import com.transactionapi.constants.ApiPaths;
+import com.transactionapi.security.UserIdResolver;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.http.HttpMethod;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Adds a read replica pool when {@code app.datasource.replica.url} is set. Read-only transactions
+ * are routed there by {@link ReplicaRoutingDataSource}; without a replica URL the single
+ * auto-configured pool is used as before.
+ */
+@Configuration
+@ConditionalOnExpression("'${app.datasource.replica.url:}' != ''")
+public class ReplicaDataSourceConfig {
+
+    private final ReadYourWrites readYourWrites;
+
+    public ReplicaDataSourceConfig(
+            @Value("${app.datasource.replica.read-your-writes-window:PT10S}") Duration readYourWritesWindow
+    ) {
+        this.readYourWrites = new ReadYourWrites(readYourWritesWindow);
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:}") String username,
+            @Value("${app.datasource.replica.password:}") String password,
+            @Value("${app.datasource.replica.maximum-pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int maxPoolSize
+    ) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("transaction-api-replica");
+        replica.setDriverClassName(properties.determineDriverClassName());
+        replica.setJdbcUrl(url);
+        replica.setUsername(StringUtils.hasText(username) ? username : properties.determineUsername());
+        replica.setPassword(StringUtils.hasText(password) ? password : properties.determinePassword());
+        replica.setMaximumPoolSize(maxPoolSize);
+        replica.setMinimumIdle(0);
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites() {
+        return readYourWrites;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${app.datasource.replica.lag-query:}") String lagQuery,
+            @Value("${app.datasource.replica.max-lag:PT5S}") Duration maxLag,
+            MeterRegistry meterRegistry
+    ) {
+        JdbcTemplate jdbc = new JdbcTemplate(replica);
+        jdbc.setQueryTimeout(2);
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(
+                jdbc,
+                StringUtils.hasText(lagQuery) ? lagQuery : ReplicaLagMonitor.POSTGRES_LAG_QUERY,
+                maxLag,
+                meterRegistry
+        );
+        monitor.check();
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReplicaLagMonitor lagMonitor,
+            MeterRegistry meterRegistry
+    ) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, lagMonitor, readYourWrites, meterRegistry)
+        );
+    }
+
+    /** Carries the request's user onto the application task executor, e.g. stats fallback loads. */
+    @Bean
+    public TaskDecorator readYourWritesTaskDecorator() {
+        return readYourWrites.taskDecorator();
+    }
+
+    /** Kept apart from the data source beans, which the user lookup itself depends on. */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnExpression("'${app.datasource.replica.url:}' != ''")
+    static class ReadYourWritesWebConfig implements WebMvcConfigurer {
+
+        private final UserIdResolver userIdResolver;
+        private final ReadYourWrites readYourWrites;
+
+        ReadYourWritesWebConfig(UserIdResolver userIdResolver, ReadYourWrites readYourWrites) {
+            this.userIdResolver = userIdResolver;
+            this.readYourWrites = readYourWrites;
+        }
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new ReadYourWritesInterceptor(userIdResolver, readYourWrites))
+                    .addPathPatterns(ApiPaths.API_V1 + "/**");
+        }
+    }
+
+    /**
+     * Binds the caller to the request thread and marks them as a recent writer for unsafe
+     * methods, both on entry (so reads racing the write stay on the primary) and on completion
+     * (so the window starts after the commit).
+     */
+    static final class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+        private final UserIdResolver userIdResolver;
+        private final ReadYourWrites readYourWrites;
+
+        ReadYourWritesInterceptor(UserIdResolver userIdResolver, ReadYourWrites readYourWrites) {
+            this.userIdResolver = userIdResolver;
+            this.readYourWrites = readYourWrites;
+        }
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            String userId = userIdResolver.resolveAuthId(SecurityContextHolder.getContext().getAuthentication());
+            ReadYourWrites.setCurrentUser(userId);
+            if (userId != null && isWrite(request)) {
+                readYourWrites.recordWrite(userId);
+            }
+            return true;
+        }
+
+        @Override
+        public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            ReadYourWrites.clearCurrentUser();
+        }
+
+        @Override
+        public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+            String userId = userIdResolver.resolveAuthId(SecurityContextHolder.getContext().getAuthentication());
+            if (userId != null && isWrite(request) && response.getStatus() < 400) {
+                readYourWrites.recordWrite(userId);
+            }
+            ReadYourWrites.clearCurrentUser();
+        }
+
+        private static boolean isWrite(HttpServletRequest request) {
+            String method = request.getMethod();
+            return !HttpMethod.GET.matches(method)
+                    && !HttpMethod.HEAD.matches(method)
+                    && !HttpMethod.OPTIONS.matches(method);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.transactionapi.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Polls the replica for its replay lag. The replica only takes reads while the last check
+ * succeeded and reported no more than {@code maxLag}; it starts out unusable until then.
+ */
+public class ReplicaLagMonitor {
+
+    /** Zero when fully replayed, so an idle primary does not read as lag. */
+    static final String POSTGRES_LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END
+            """;
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate replicaJdbc;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(JdbcTemplate replicaJdbc, String lagQuery, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replicaJdbc = replicaJdbc;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        Gauge.builder("db.replica.lag", this, monitor -> monitor.lagSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("db.replica.usable", this, monitor -> monitor.usable ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    public void check() {
+        try {
+            Double lag = replicaJdbc.queryForObject(lagQuery, Double.class);
+            lagSeconds = lag != null ? lag : Double.NaN;
+            boolean nowUsable = lag != null && lag <= maxLagSeconds;
+            if (usable && !nowUsable) {
+                log.warn("Replica lag {}s exceeds {}s, routing reads to primary", lagSeconds, maxLagSeconds);
+            }
+            usable = nowUsable;
+        } catch (DataAccessException ex) {
+            if (usable) {
+                log.warn("Replica lag check failed, routing reads to primary: {}", ex.getMessage());
+            }
+            lagSeconds = Double.NaN;
+            usable = false;
+        }
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+}
@@ -0,0 +1,73 @@
+package com.transactionapi.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for read-only transactions to the replica unless it is lagging or the
+ * current user wrote within the read-your-writes window. Everything else goes to the primary.
+ * Must sit behind a {@code LazyConnectionDataSourceProxy}: the read-only flag is only bound after
+ * the transaction manager has asked for a connection, so routing has to wait for the first
+ * statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWrites readYourWrites;
+    private final Counter readOnly;
+    private final Counter write;
+    private final Counter lagging;
+    private final Counter recentWrite;
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            DataSource replica,
+            ReplicaLagMonitor lagMonitor,
+            ReadYourWrites readYourWrites,
+            MeterRegistry meterRegistry
+    ) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        this.readOnly = routed(meterRegistry, Target.REPLICA, "read_only");
+        this.write = routed(meterRegistry, Target.PRIMARY, "write");
+        this.lagging = routed(meterRegistry, Target.PRIMARY, "lagging");
+        this.recentWrite = routed(meterRegistry, Target.PRIMARY, "recent_write");
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            write.increment();
+            return Target.PRIMARY;
+        }
+        if (!lagMonitor.isUsable()) {
+            lagging.increment();
+            return Target.PRIMARY;
+        }
+        if (readYourWrites.currentUserWroteRecently()) {
+            recentWrite.increment();
+            return Target.PRIMARY;
+        }
+        readOnly.increment();
+        return Target.REPLICA;
+    }
+
+    private static Counter routed(MeterRegistry meterRegistry, Target target, String reason) {
+        return Counter.builder("db.connections.routed")
+                .tag("target", target.name().toLowerCase())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
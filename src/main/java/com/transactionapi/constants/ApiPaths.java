@@ -10,6 +10,7 @@ public final class ApiPaths {
     public static final String TRADES = API_V1 + "/trades";
     public static final String ADMIN = API_V1 + "/admin";
     public static final String ADMIN_USERS = ADMIN + "/users";
+    public static final String ADMIN_METRICS = ADMIN + "/metrics";
     public static final String SHARES = API_V1 + "/shares";
     public static final String USERS = API_V1 + "/users";
     public static final String USER_ME = USERS + "/me";
@@ -0,0 +1,21 @@
+package com.transactionapi.constants;
+
+/**
+ * Tables whose row counts are maintained incrementally in {@code table_row_counts}.
+ */
+public enum CountedTable {
+    USERS("users"),
+    TRADES("trades"),
+    TRADE_HISTORY("trade_history"),
+    SHARE_LINKS("share_links");
+
+    private final String tableName;
+
+    CountedTable(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public String tableName() {
+        return tableName;
+    }
+}
@@ -0,0 +1,13 @@
+package com.transactionapi.constants;
+
+/**
+ * Counters kept per UTC day in {@code daily_metrics}, stored under their enum name.
+ */
+public enum DailyMetric {
+    ACTIVE_USERS,
+    NEW_USERS,
+    TRADE_WRITES,
+    HISTORY_ROWS,
+    SHARE_LINKS_CREATED,
+    SHARE_VIEWS
+}
@@ -2,5 +2,13 @@ package com.transactionapi.constants;
 
 public enum ShareType {
     SUMMARY,
-    TRADES
+    TRADES,
+    /**
+     * Stores only a {@code LiveShareScope}; the summary is rendered from current trades on view.
+     */
+    LIVE_SUMMARY;
+
+    public boolean isLive() {
+        return this == LIVE_SUMMARY;
+    }
 }
@@ -0,0 +1,33 @@
+package com.transactionapi.controller;
+
+import com.transactionapi.constants.ApiPaths;
+import com.transactionapi.dto.AdminMetricsResponse;
+import com.transactionapi.security.UserIdResolver;
+import com.transactionapi.service.AdminMetricsService;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(ApiPaths.ADMIN_METRICS)
+public class AdminMetricsController {
+
+    private final AdminMetricsService adminMetricsService;
+    private final UserIdResolver userIdResolver;
+
+    public AdminMetricsController(AdminMetricsService adminMetricsService, UserIdResolver userIdResolver) {
+        this.adminMetricsService = adminMetricsService;
+        this.userIdResolver = userIdResolver;
+    }
+
+    @GetMapping
+    public AdminMetricsResponse getMetrics(
+            Authentication authentication,
+            @RequestParam(defaultValue = "30") int days
+    ) {
+        userIdResolver.requireAdmin(authentication);
+        return adminMetricsService.getMetrics(days);
+    }
+}
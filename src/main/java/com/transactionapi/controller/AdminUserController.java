@@ -1,57 +1,71 @@
 package com.transactionapi.controller;
 
 import com.transactionapi.constants.ApiPaths;
+import com.transactionapi.dto.AdminUserResponse;
+import com.transactionapi.dto.CursorPageResponse;
 import com.transactionapi.dto.TradeHistoryResponse;
-import com.transactionapi.dto.UserResponse;
-import com.transactionapi.repository.UserRepository;
 import com.transactionapi.security.UserIdResolver;
-import com.transactionapi.service.TradeService;
-import java.util.List;
+import com.transactionapi.service.AdminUserService;
 import java.util.UUID;
-import org.springframework.data.domain.Sort;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(ApiPaths.ADMIN_USERS)
 public class AdminUserController {
 
-    private final UserRepository userRepository;
+    private final AdminUserService adminUserService;
     private final UserIdResolver userIdResolver;
-    private final TradeService tradeService;
 
     public AdminUserController(
-            UserRepository userRepository,
-            UserIdResolver userIdResolver,
-            TradeService tradeService
+            AdminUserService adminUserService,
+            UserIdResolver userIdResolver
     ) {
-        this.userRepository = userRepository;
+        this.adminUserService = adminUserService;
         this.userIdResolver = userIdResolver;
-        this.tradeService = tradeService;
     }
 
     @GetMapping
-    public List<UserResponse> listUsers(Authentication authentication) {
+    public CursorPageResponse<AdminUserResponse> listUsers(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
         userIdResolver.requireAdmin(authentication);
-        return userRepository.findAll(Sort.by(Sort.Direction.DESC, "createdAt")).stream()
-                .map(UserResponse::from)
-                .toList();
+        return adminUserService.listUsers(cursor, size);
     }
 
     @GetMapping("/{userId}/trade-history")
-    public List<TradeHistoryResponse> listUserTradeHistory(
+    public CursorPageResponse<TradeHistoryResponse> listUserTradeHistory(
+            Authentication authentication,
+            @PathVariable UUID userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        userIdResolver.requireAdmin(authentication);
+        return adminUserService.listTradeHistory(adminUserService.requireAuthId(userId), cursor, size);
+    }
+
+    /**
+     * The user's full history as newline-delimited JSON, for exports too large for one page.
+     */
+    @GetMapping(value = "/{userId}/trade-history/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUserTradeHistory(
             Authentication authentication,
             @PathVariable UUID userId
     ) {
         userIdResolver.requireAdmin(authentication);
-        String authId = userRepository.findById(userId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"))
-                .getAuthId();
-        return tradeService.listTradeHistoryForUser(authId);
+        String authId = adminUserService.requireAuthId(userId);
+        StreamingResponseBody body = output -> adminUserService.streamTradeHistory(authId, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 }
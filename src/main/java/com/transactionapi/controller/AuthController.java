@@ -6,11 +6,11 @@ import com.transactionapi.dto.CsrfTokenResponse;
 import com.transactionapi.dto.UserProfileResponse;
 import com.transactionapi.model.User;
 import com.transactionapi.security.AuthenticatedUserPrincipal;
+import com.transactionapi.security.SignedCookieSecurityContextRepository;
 import com.transactionapi.security.UserIdResolver;
 import com.transactionapi.service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import java.util.List;
 import org.springframework.beans.factory.ObjectProvider;
@@ -25,7 +25,6 @@ import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.security.web.authentication.logout.CookieClearingLogoutHandler;
 import org.springframework.security.web.authentication.logout.SecurityContextLogoutHandler;
-import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
 import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.security.web.csrf.CsrfToken;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -42,19 +41,25 @@ public class AuthController {
     private final ObjectProvider<JwtDecoder> jwtDecoderProvider;
     private final UserIdResolver userIdResolver;
     private final UserService userService;
-    private final SecurityContextRepository securityContextRepository = new HttpSessionSecurityContextRepository();
+    private final SecurityContextRepository securityContextRepository;
     private final SecurityContextLogoutHandler securityContextLogoutHandler = new SecurityContextLogoutHandler();
-    private final CookieClearingLogoutHandler cookieClearingLogoutHandler =
-            new CookieClearingLogoutHandler("JSESSIONID", "XSRF-TOKEN");
+    private final CookieClearingLogoutHandler cookieClearingLogoutHandler = new CookieClearingLogoutHandler(
+            "JSESSIONID",
+            "XSRF-TOKEN",
+            SignedCookieSecurityContextRepository.COOKIE_NAME
+    );
 
     public AuthController(
             ObjectProvider<JwtDecoder> jwtDecoderProvider,
             UserIdResolver userIdResolver,
-            UserService userService
+            UserService userService,
+            SecurityContextRepository securityContextRepository
     ) {
         this.jwtDecoderProvider = jwtDecoderProvider;
         this.userIdResolver = userIdResolver;
         this.userService = userService;
+        this.securityContextRepository = securityContextRepository;
+        this.securityContextLogoutHandler.setSecurityContextRepository(securityContextRepository);
     }
 
     @GetMapping("/csrf")
@@ -89,13 +94,14 @@ public class AuthController {
         AuthenticatedUserPrincipal principal = new AuthenticatedUserPrincipal(
                 authId,
                 email,
-                jwt.getClaimAsString("name")
+                jwt.getClaimAsString("name"),
+                userService.hasAcceptedLegalAgreement(user)
         );
         UsernamePasswordAuthenticationToken sessionAuthentication =
                 new UsernamePasswordAuthenticationToken(principal, null, List.of());
 
-        HttpSession session = request.getSession(true);
-        if (!session.isNew()) {
+        // Rotate any pre-login session id; in stateless mode there is no session to rotate.
+        if (request.getSession(false) != null) {
             request.changeSessionId();
         }
 
@@ -5,11 +5,18 @@ import com.transactionapi.dto.CreateShareLinkRequest;
 import com.transactionapi.dto.ShareLinkResponse;
 import com.transactionapi.model.ShareLink;
 import com.transactionapi.security.UserIdResolver;
+import com.transactionapi.service.ShareLinkPayloads;
 import com.transactionapi.service.ShareLinkService;
 import com.transactionapi.service.UserService;
 import jakarta.validation.Valid;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,8 +24,10 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping(ApiPaths.SHARES)
@@ -62,22 +71,74 @@ public class ShareLinkController {
     @GetMapping("/{code}")
     public ResponseEntity<ShareLinkResponse> getShareLink(
             Authentication authentication,
-            @PathVariable String code
+            @PathVariable String code,
+            WebRequest webRequest
     ) {
-        String requestingUserId = null;
-        try {
-            requestingUserId = userIdResolver.requireUserId(authentication);
-        } catch (Exception e) {
-            ShareLink shareLink = shareLinkService.findByCodeRaw(code);
-            if (shareLink != null && shareLink.isRequiresAuth()) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
+        ResponseEntity<ShareLink> resolved = resolveShareLink(authentication, code);
+        ShareLink shareLink = resolved.getBody();
+        if (shareLink == null) {
+            return ResponseEntity.status(resolved.getStatusCode()).build();
         }
 
-        return shareLinkService.getShareLink(code, requestingUserId)
-                .map(this::toResponse)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        // Weak, because the access count in the body changes while the payload does not.
+        String etag = "W/\"" + ShareLinkPayloads.etag(shareLink) + "\"";
+        CacheControl cacheControl = visibility(CacheControl.noCache(), shareLink);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(toResponse(shareLink));
+    }
+
+    /**
+     * Serves the share payload alone. A stored payload never changes for a given code, so it is
+     * cacheable until the link expires; live payloads are revalidated against their ETag instead.
+     * Either is sent as its gzip copy when the client accepts it.
+     */
+    @GetMapping("/{code}/data")
+    public ResponseEntity<byte[]> getShareLinkData(
+            Authentication authentication,
+            @PathVariable String code,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest
+    ) {
+        ResponseEntity<ShareLink> resolved = resolveShareLink(authentication, code);
+        ShareLink shareLink = resolved.getBody();
+        if (shareLink == null) {
+            return ResponseEntity.status(resolved.getStatusCode()).build();
+        }
+
+        byte[] compressed = shareLink.getDataGzip();
+        boolean gzip = compressed != null && acceptsGzip(acceptEncoding);
+        // Each content coding is a different representation, so it gets its own strong ETag.
+        String etag = "\"" + ShareLinkPayloads.etag(shareLink) + (gzip ? "-gzip" : "") + "\"";
+        CacheControl cacheControl;
+        if (shareLink.getShareType().isLive()) {
+            // Live output follows the owner's trades, so clients must revalidate each time.
+            cacheControl = visibility(CacheControl.noCache(), shareLink);
+        } else {
+            long maxAgeSeconds = Math.max(0, Duration.between(Instant.now(), shareLink.getExpiresAt()).toSeconds());
+            cacheControl = visibility(CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)), shareLink).immutable();
+        }
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(compressed);
+        }
+        byte[] body = compressed != null
+                ? ShareLinkPayloads.gunzip(compressed)
+                : shareLink.getData().getBytes(StandardCharsets.UTF_8);
+        return response.body(body);
     }
 
     @GetMapping
@@ -100,6 +161,39 @@ public class ShareLinkController {
         return ResponseEntity.noContent().build();
     }
 
+    private ResponseEntity<ShareLink> resolveShareLink(Authentication authentication, String code) {
+        String requestingUserId = null;
+        try {
+            requestingUserId = userIdResolver.requireUserId(authentication);
+        } catch (Exception e) {
+            ShareLink shareLink = shareLinkService.findByCodeRaw(code);
+            if (shareLink != null && shareLink.isRequiresAuth()) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+        }
+
+        return shareLinkService.getShareLink(code, requestingUserId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static CacheControl visibility(CacheControl cacheControl, ShareLink shareLink) {
+        return shareLink.isRequiresAuth() ? cacheControl.cachePrivate() : cacheControl.cachePublic();
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
     private ShareLinkResponse toResponse(ShareLink shareLink) {
         return new ShareLinkResponse(
                 shareLink.getCode(),
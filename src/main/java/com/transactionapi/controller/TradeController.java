@@ -13,11 +13,14 @@ import com.transactionapi.dto.TradeHistoryResponse;
 import com.transactionapi.dto.TradeRequest;
 import com.transactionapi.dto.TradeResponse;
 import com.transactionapi.security.UserIdResolver;
+import com.transactionapi.service.StaleStatsFallback;
 import com.transactionapi.service.UserService;
 import com.transactionapi.service.TradeService;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.UnaryOperator;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -38,11 +41,18 @@ public class TradeController {
     private final TradeService tradeService;
     private final UserIdResolver userIdResolver;
     private final UserService userService;
+    private final StaleStatsFallback statsFallback;
 
-    public TradeController(TradeService tradeService, UserIdResolver userIdResolver, UserService userService) {
+    public TradeController(
+            TradeService tradeService,
+            UserIdResolver userIdResolver,
+            UserService userService,
+            StaleStatsFallback statsFallback
+    ) {
         this.tradeService = tradeService;
         this.userIdResolver = userIdResolver;
         this.userService = userService;
+        this.statsFallback = statsFallback;
     }
 
     @GetMapping
@@ -125,24 +135,31 @@ public class TradeController {
     }
 
     @GetMapping("/summary")
-    public PnlSummaryResponse summary(
+    public ResponseEntity<PnlSummaryResponse> summary(
             Authentication authentication,
             @RequestParam(required = false) String month
     ) {
         String userId = userIdResolver.requireUserId(authentication);
         userService.ensureUserExists(userId, userIdResolver.resolveEmail(authentication));
-        return tradeService.summarize(userId, parseMonth(month));
+        java.time.YearMonth scopedMonth = parseMonth(month);
+        return served(
+                statsFallback.get("summary", () -> tradeService.summarize(userId, scopedMonth), userId, scopedMonth),
+                PnlSummaryResponse::asStale
+        );
     }
 
     @GetMapping("/stats")
-    public AggregateStatsResponse stats(Authentication authentication) {
+    public ResponseEntity<AggregateStatsResponse> stats(Authentication authentication) {
         String userId = userIdResolver.requireUserId(authentication);
         userService.ensureUserExists(userId, userIdResolver.resolveEmail(authentication));
-        return tradeService.getAggregateStats(userId);
+        return served(
+                statsFallback.get("aggregate_stats", () -> tradeService.getAggregateStats(userId), userId),
+                AggregateStatsResponse::asStale
+        );
     }
 
     @GetMapping("/stats/scoped")
-    public AggregateStatsResponse scopedStats(
+    public ResponseEntity<AggregateStatsResponse> scopedStats(
             Authentication authentication,
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false) String month,
@@ -150,7 +167,16 @@ public class TradeController {
     ) {
         String userId = userIdResolver.requireUserId(authentication);
         userService.ensureUserExists(userId, userIdResolver.resolveEmail(authentication));
-        return tradeService.getScopedAggregateStats(userId, year, parseMonth(month), parseDate(day));
+        java.time.YearMonth scopedMonth = parseMonth(month);
+        java.time.LocalDate scopedDay = parseDate(day);
+        return served(
+                statsFallback.get(
+                        "scoped_stats",
+                        () -> tradeService.getScopedAggregateStats(userId, year, scopedMonth, scopedDay),
+                        userId, year, scopedMonth, scopedDay
+                ),
+                AggregateStatsResponse::asStale
+        );
     }
 
     @GetMapping("/stats/accounts")
@@ -189,6 +215,16 @@ public class TradeController {
         return tradeService.getInferredAccountTradeCounts(userId, year, parseMonth(month), parseDate(day));
     }
 
+    /** Stale copies carry {@code stale: true} and an {@code Age} header in seconds. */
+    private static <T> ResponseEntity<T> served(StaleStatsFallback.Served<T> served, UnaryOperator<T> markStale) {
+        if (!served.stale()) {
+            return ResponseEntity.ok(served.value());
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.AGE, String.valueOf(served.age().toSeconds()))
+                .body(markStale.apply(served.value()));
+    }
+
     private static java.time.YearMonth parseMonth(String value) {
         if (value == null || value.isBlank()) {
             return null;
@@ -3,9 +3,17 @@ package com.transactionapi.controller;
 import com.transactionapi.constants.ApiPaths;
 import com.transactionapi.dto.UserProfileResponse;
 import com.transactionapi.model.User;
+import com.transactionapi.security.AuthenticatedUserPrincipal;
 import com.transactionapi.security.UserIdResolver;
 import com.transactionapi.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.List;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -17,10 +25,16 @@ public class UserController {
 
     private final UserIdResolver userIdResolver;
     private final UserService userService;
+    private final SecurityContextRepository securityContextRepository;
 
-    public UserController(UserIdResolver userIdResolver, UserService userService) {
+    public UserController(
+            UserIdResolver userIdResolver,
+            UserService userService,
+            SecurityContextRepository securityContextRepository
+    ) {
         this.userIdResolver = userIdResolver;
         this.userService = userService;
+        this.securityContextRepository = securityContextRepository;
     }
 
     @GetMapping
@@ -32,10 +46,25 @@ public class UserController {
     }
 
     @PostMapping("/legal-agreement")
-    public UserProfileResponse acceptLegalAgreement(Authentication authentication) {
+    public UserProfileResponse acceptLegalAgreement(
+            Authentication authentication,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) {
         String userId = userIdResolver.requireUserId(authentication);
         String email = userIdResolver.resolveEmail(authentication);
         User user = userService.acceptLegalAgreement(userId, email);
+        if (authentication.getPrincipal() instanceof AuthenticatedUserPrincipal principal) {
+            // Re-issue the session so later requests skip the agreement lookup.
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(new UsernamePasswordAuthenticationToken(
+                    principal.withLegalAccepted(true),
+                    null,
+                    List.of()
+            ));
+            SecurityContextHolder.setContext(context);
+            securityContextRepository.saveContext(context, request, response);
+        }
         return UserProfileResponse.from(user, userIdResolver.isAdmin(authentication));
     }
 }
@@ -0,0 +1,26 @@
+package com.transactionapi.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public record AdminMetricsResponse(
+        List<Day> days,
+        Map<String, Long> tableRows,
+        List<HeavyUser> heaviestUsers
+) {
+    public record Day(
+            LocalDate date,
+            Map<String, Long> metrics
+    ) {
+    }
+
+    public record HeavyUser(
+            UUID id,
+            String authId,
+            String email,
+            long tradeCount
+    ) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.transactionapi.dto;
+
+import com.transactionapi.repository.UserRepository;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record AdminUserResponse(
+        UUID id,
+        String authId,
+        String email,
+        boolean premium,
+        Instant createdAt,
+        Instant updatedAt,
+        long tradeCount,
+        LocalDate lastTradeDate,
+        long historyCount
+) {
+    public static AdminUserResponse from(UserRepository.AdminUserProjection user) {
+        return new AdminUserResponse(
+                user.getId(),
+                user.getAuthId(),
+                user.getEmail(),
+                Boolean.TRUE.equals(user.getPremium()),
+                user.getCreatedAt().toInstant(),
+                user.getUpdatedAt().toInstant(),
+                user.getTradeCount() != null ? user.getTradeCount() : 0,
+                user.getLastTradeDate(),
+                user.getHistoryCount() != null ? user.getHistoryCount() : 0
+        );
+    }
+}
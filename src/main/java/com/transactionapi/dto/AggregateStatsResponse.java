@@ -16,6 +16,15 @@ public record AggregateStatsResponse(
         java.time.LocalDate fxDate,
         Integer year,
         String month,
-        String day
+        String day,
+        boolean stale
 ) {
+
+    /** Same stats flagged as a cached copy served while fresh numbers were unavailable. */
+    public AggregateStatsResponse asStale() {
+        return new AggregateStatsResponse(
+                totalPnl, tradeCount, tradedDays, pnlPercent, bestDay, bestMonth,
+                cadToUsdRate, fxDate, year, month, day, true
+        );
+    }
 }
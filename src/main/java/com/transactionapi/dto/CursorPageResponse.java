@@ -0,0 +1,13 @@
+package com.transactionapi.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset listing. {@code nextCursor} is passed back as {@code cursor} to fetch the
+ * following page and is null on the last one.
+ */
+public record CursorPageResponse<T>(
+        List<T> items,
+        String nextCursor
+) {
+}
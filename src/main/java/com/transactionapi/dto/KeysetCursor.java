@@ -0,0 +1,43 @@
+package com.transactionapi.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Position in a listing ordered by {@code (timestamp desc, id desc)}, encoded as an opaque
+ * base64url token. {@link #FIRST} sorts after every real row, so it selects the first page.
+ */
+public record KeysetCursor(
+        Instant at,
+        UUID id
+) {
+    public static final KeysetCursor FIRST = new KeysetCursor(
+            Instant.parse("9999-12-31T23:59:59Z"),
+            new UUID(-1L, -1L)
+    );
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((at + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length == 2) {
+                return new KeysetCursor(Instant.parse(parts[0]), UUID.fromString(parts[1]));
+            }
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            // Fall through to the bad request below.
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+}
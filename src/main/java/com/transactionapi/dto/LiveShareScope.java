@@ -0,0 +1,14 @@
+package com.transactionapi.dto;
+
+import java.util.UUID;
+
+/**
+ * The trades a live share summarises: an optional year, an optional {@code YYYY-MM} month and an
+ * optional account. Stored as the share link's {@code data} in place of a rendered payload.
+ */
+public record LiveShareScope(
+        Integer year,
+        String month,
+        UUID accountId
+) {
+}
@@ -11,6 +11,12 @@ public record PnlSummaryResponse(
         List<PnlBucketResponse> daily,
         List<PnlBucketResponse> monthly,
         BigDecimal cadToUsdRate,
-        LocalDate fxDate
+        LocalDate fxDate,
+        boolean stale
 ) {
+
+    /** Same summary flagged as a cached copy served while fresh numbers were unavailable. */
+    public PnlSummaryResponse asStale() {
+        return new PnlSummaryResponse(totalPnl, tradeCount, pnlPercent, daily, monthly, cadToUsdRate, fxDate, true);
+    }
 }
@@ -74,7 +74,7 @@ public class ApiExceptionHandler {
         body.put("status", status.value());
         body.put("message", message);
 
-        return ResponseEntity.status(status).body(body);
+        return ResponseEntity.status(status).headers(ex.getHeaders()).body(body);
     }
 
     private ResponseEntity<Map<String, Object>> badRequest(String message) {
@@ -27,7 +27,7 @@ public class ShareLink {
     @UuidGenerator
     private UUID id;
 
-    @Column(nullable = false, unique = true, length = 8)
+    @Column(nullable = false, unique = true, length = 16)
     private String code;
 
     @Column(name = "user_id", nullable = false, length = 128)
@@ -41,6 +41,12 @@ public class ShareLink {
     @Column(nullable = false, columnDefinition = "jsonb")
     private String data;
 
+    @Column(length = 64)
+    private String etag;
+
+    @Column(name = "data_gzip")
+    private byte[] dataGzip;
+
     @Column(name = "requires_auth", nullable = false)
     private boolean requiresAuth = false;
 
@@ -68,6 +74,17 @@ public class ShareLink {
         this.updatedAt = Instant.now();
     }
 
+    /**
+     * Assigns the id and timestamps normally set on persist, for rows written with a native insert.
+     */
+    public void prepareForInsert(Instant now) {
+        if (id == null) {
+            id = UUID.randomUUID();
+        }
+        createdAt = now;
+        updatedAt = now;
+    }
+
     @NonNull
     public UUID getId() {
         return Objects.requireNonNull(id);
@@ -105,6 +122,22 @@ public class ShareLink {
         this.data = data;
     }
 
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    public byte[] getDataGzip() {
+        return dataGzip;
+    }
+
+    public void setDataGzip(byte[] dataGzip) {
+        this.dataGzip = dataGzip;
+    }
+
     public boolean isRequiresAuth() {
         return requiresAuth;
     }
@@ -136,4 +169,36 @@ public class ShareLink {
     public Instant getUpdatedAt() {
         return updatedAt;
     }
+
+    /**
+     * Returns a detached copy reporting {@code accessCount}, so a cached link can be served
+     * without being mutated.
+     */
+    public ShareLink withAccessCount(int accessCount) {
+        ShareLink copy = new ShareLink();
+        copy.id = id;
+        copy.code = code;
+        copy.userId = userId;
+        copy.shareType = shareType;
+        copy.data = data;
+        copy.etag = etag;
+        copy.dataGzip = dataGzip;
+        copy.requiresAuth = requiresAuth;
+        copy.expiresAt = expiresAt;
+        copy.accessCount = accessCount;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        return copy;
+    }
+
+    /**
+     * Returns a detached copy carrying a rendered payload in place of the stored one.
+     */
+    public ShareLink withPayload(String data, String etag, byte[] dataGzip) {
+        ShareLink copy = withAccessCount(accessCount);
+        copy.data = data;
+        copy.etag = etag;
+        copy.dataGzip = dataGzip;
+        return copy;
+    }
 }
@@ -74,6 +74,26 @@ public class User {
     @Column(name = "tax_personal_rate", nullable = false, precision = 5, scale = 2)
     private BigDecimal taxPersonalRate = new BigDecimal("50.00");
 
+    // Bumped with a native update whenever the user's trades change; never written by Hibernate.
+    @Column(
+            name = "data_version",
+            nullable = false,
+            insertable = false,
+            updatable = false,
+            columnDefinition = "bigint default 0 not null"
+    )
+    private long dataVersion;
+
+    // Maintained by the same native update as data_version.
+    @Column(
+            name = "trade_count",
+            nullable = false,
+            insertable = false,
+            updatable = false,
+            columnDefinition = "bigint default 0 not null"
+    )
+    private long tradeCount;
+
     @Column(name = "terms_accepted_at")
     private Instant termsAcceptedAt;
 
@@ -102,6 +122,14 @@ public class User {
         return Objects.requireNonNull(id);
     }
 
+    public long getDataVersion() {
+        return dataVersion;
+    }
+
+    public long getTradeCount() {
+        return tradeCount;
+    }
+
     public String getAuthId() {
         return authId;
     }
@@ -16,8 +16,50 @@ public interface ShareLinkRepository extends JpaRepository<ShareLink, UUID> {
 
     List<ShareLink> findByUserIdOrderByCreatedAtDesc(String userId);
 
+    /**
+     * Inserts the link unless its code is already taken, returning the number of rows inserted.
+     * {@code on conflict do nothing} keeps a duplicate code from aborting the transaction.
+     */
     @Transactional
     @Modifying
-    @Query("DELETE FROM ShareLink s WHERE s.expiresAt < :now")
-    int deleteExpired(@Param("now") Instant now);
+    @Query(value = """
+        insert into share_links (
+            id, code, user_id, share_type, data, etag, data_gzip,
+            requires_auth, expires_at, access_count, created_at, updated_at
+        )
+        values (
+            :id, :code, :userId, :shareType, CAST(:data AS jsonb), :etag, :dataGzip,
+            :requiresAuth, :expiresAt, 0, :createdAt, :createdAt
+        )
+        on conflict do nothing
+        """, nativeQuery = true)
+    int insertIfCodeAbsent(
+            @Param("id") UUID id,
+            @Param("code") String code,
+            @Param("userId") String userId,
+            @Param("shareType") String shareType,
+            @Param("data") String data,
+            @Param("etag") String etag,
+            @Param("dataGzip") byte[] dataGzip,
+            @Param("requiresAuth") boolean requiresAuth,
+            @Param("expiresAt") Instant expiresAt,
+            @Param("createdAt") Instant createdAt
+    );
+
+    /**
+     * Deletes up to {@code limit} expired links, oldest first, walking {@code idx_share_links_expires_at}.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        delete from share_links
+        where id in (
+            select id
+            from share_links
+            where expires_at < :now
+            order by expires_at
+            limit :limit
+        )
+        """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("limit") int limit);
 }
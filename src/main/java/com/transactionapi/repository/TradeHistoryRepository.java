@@ -1,9 +1,13 @@
 package com.transactionapi.repository;
 
 import com.transactionapi.model.TradeHistory;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface TradeHistoryRepository extends JpaRepository<TradeHistory, UUID> {
 
@@ -11,5 +15,24 @@ public interface TradeHistoryRepository extends JpaRepository<TradeHistory, UUID
 
     List<TradeHistory> findByTradeIdAndUserIdOrderByActionAtAsc(UUID tradeId, String userId);
 
+    List<TradeHistory> findByTradeIdAndUserIdAndActionAtGreaterThanEqualOrderByActionAtAsc(
+            UUID tradeId,
+            String userId,
+            Instant since
+    );
+
     List<TradeHistory> findByUserIdOrderByActionAtDesc(String userId);
+
+    @Query("""
+        select h from TradeHistory h
+        where h.userId = :userId
+          and (h.actionAt < :beforeAt or (h.actionAt = :beforeAt and h.id < :beforeId))
+        order by h.actionAt desc, h.id desc
+        """)
+    List<TradeHistory> findPageByUserId(
+            @Param("userId") String userId,
+            @Param("beforeAt") Instant beforeAt,
+            @Param("beforeId") UUID beforeId,
+            Limit limit
+    );
 }
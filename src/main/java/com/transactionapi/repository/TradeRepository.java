@@ -2,6 +2,7 @@ package com.transactionapi.repository;
 
 import com.transactionapi.model.Trade;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -36,6 +37,9 @@ public interface TradeRepository extends JpaRepository<Trade, UUID>, JpaSpecific
     List<Trade> findByUserIdAndClosedAtBetweenOrderByClosedAtDesc(String userId, LocalDate start, LocalDate end);
 
     Optional<Trade> findByIdAndUserId(UUID id, String userId);
+
+    @Query("select t.createdAt from Trade t where t.id = :id and t.userId = :userId")
+    Optional<Instant> findCreatedAtByIdAndUserId(@Param("id") UUID id, @Param("userId") String userId);
     
     @Query("select count(t) from Trade t where t.userId = :userId")
     int countByUserId(@Param("userId") String userId);
@@ -1,10 +1,97 @@
 package com.transactionapi.repository;
 
 import com.transactionapi.model.User;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByAuthId(String authId);
+
+    @Query(value = "select data_version from users where auth_id = :authId", nativeQuery = true)
+    Long findDataVersionByAuthId(@Param("authId") String authId);
+
+    /**
+     * Bumps the user's data version after a change to their trades and adjusts their trade count
+     * by {@code tradeDelta}.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        update users
+        set data_version = data_version + 1,
+            trade_count = trade_count + :tradeDelta
+        where auth_id = :authId
+        """, nativeQuery = true)
+    int recordTradeWrite(@Param("authId") String authId, @Param("tradeDelta") int tradeDelta);
+
+    List<User> findByTradeCountGreaterThanOrderByTradeCountDesc(long tradeCount, Limit limit);
+
+    /**
+     * Users after {@code (beforeAt, beforeId)} in {@code created_at desc, id desc} order, each with
+     * trade and history totals. The order matches {@code idx_users_created_at_id}, so the scan stops
+     * at {@code limit} rows. Trade counts come from the maintained {@code users.trade_count}; the
+     * last trade date and history count are aggregated per user for the page's ids in the same
+     * statement. The id is read as text so it projects to a UUID whatever the driver returns.
+     */
+    @Query(value = """
+        with page as (
+            select id, auth_id, email, premium, created_at, updated_at, trade_count
+            from users
+            where created_at < :beforeAt
+               or (created_at = :beforeAt and id < :beforeId)
+            order by created_at desc, id desc
+            limit :limit
+        )
+        select
+            cast(p.id as varchar) as id,
+            p.auth_id as authId,
+            p.email as email,
+            p.premium as premium,
+            p.created_at as createdAt,
+            p.updated_at as updatedAt,
+            p.trade_count as tradeCount,
+            t.last_trade_date as lastTradeDate,
+            coalesce(h.history_count, 0) as historyCount
+        from page p
+        left join (
+            select user_id, max(closed_at) as last_trade_date
+            from trades
+            where user_id in (select auth_id from page)
+            group by user_id
+        ) t on t.user_id = p.auth_id
+        left join (
+            select user_id, count(*) as history_count
+            from trade_history
+            where user_id in (select auth_id from page)
+            group by user_id
+        ) h on h.user_id = p.auth_id
+        order by p.created_at desc, p.id desc
+        """, nativeQuery = true)
+    List<AdminUserProjection> findAdminPage(
+            @Param("beforeAt") Instant beforeAt,
+            @Param("beforeId") UUID beforeId,
+            @Param("limit") int limit
+    );
+
+    interface AdminUserProjection {
+        UUID getId();
+        String getAuthId();
+        String getEmail();
+        Boolean getPremium();
+        OffsetDateTime getCreatedAt();
+        OffsetDateTime getUpdatedAt();
+        Long getTradeCount();
+        LocalDate getLastTradeDate();
+        Long getHistoryCount();
+    }
 }
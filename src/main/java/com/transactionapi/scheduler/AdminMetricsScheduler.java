@@ -0,0 +1,44 @@
+package com.transactionapi.scheduler;
+
+import com.transactionapi.service.AdminMetricsRecorder;
+import com.transactionapi.service.AdminMetricsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AdminMetricsScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminMetricsScheduler.class);
+    private final AdminMetricsRecorder adminMetricsRecorder;
+    private final AdminMetricsService adminMetricsService;
+    private final int activeUserRetentionDays;
+
+    public AdminMetricsScheduler(
+            AdminMetricsRecorder adminMetricsRecorder,
+            AdminMetricsService adminMetricsService,
+            @Value("${app.admin-metrics.active-user-retention-days:90}") int activeUserRetentionDays
+    ) {
+        this.adminMetricsRecorder = adminMetricsRecorder;
+        this.adminMetricsService = adminMetricsService;
+        this.activeUserRetentionDays = activeUserRetentionDays;
+    }
+
+    @Scheduled(fixedDelayString = "${app.admin-metrics.flush-interval-ms:10000}")
+    public void flushCounters() {
+        int updated = adminMetricsRecorder.flush();
+        if (updated > 0) {
+            log.debug("Flushed {} admin metric counters", updated);
+        }
+    }
+
+    @Scheduled(cron = "0 30 3 * * *", zone = "UTC")
+    public void pruneActiveUsers() {
+        int deleted = adminMetricsService.pruneActiveUsers(activeUserRetentionDays);
+        if (deleted > 0) {
+            log.info("Pruned {} daily active user rows", deleted);
+        }
+    }
+}
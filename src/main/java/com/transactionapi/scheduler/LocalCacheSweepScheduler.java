@@ -0,0 +1,52 @@
+package com.transactionapi.scheduler;
+
+import com.transactionapi.security.CachingJwtDecoder;
+import com.transactionapi.service.LiveShareRenderer;
+import com.transactionapi.service.ShareLinkCache;
+import com.transactionapi.service.StaleStatsFallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops expired entries from the in-memory caches so a full cache never has to be scanned on the
+ * request path.
+ */
+@Component
+public class LocalCacheSweepScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalCacheSweepScheduler.class);
+    private final ShareLinkCache shareLinkCache;
+    private final LiveShareRenderer liveShareRenderer;
+    private final StaleStatsFallback staleStatsFallback;
+    private final ObjectProvider<JwtDecoder> jwtDecoders;
+
+    public LocalCacheSweepScheduler(
+            ShareLinkCache shareLinkCache,
+            LiveShareRenderer liveShareRenderer,
+            StaleStatsFallback staleStatsFallback,
+            ObjectProvider<JwtDecoder> jwtDecoders
+    ) {
+        this.shareLinkCache = shareLinkCache;
+        this.liveShareRenderer = liveShareRenderer;
+        this.staleStatsFallback = staleStatsFallback;
+        this.jwtDecoders = jwtDecoders;
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.sweep-interval-ms:30000}")
+    public void sweepExpiredEntries() {
+        int removed = shareLinkCache.evictExpired()
+                + liveShareRenderer.evictExpired()
+                + staleStatsFallback.evictExpired();
+        removed += jwtDecoders.orderedStream()
+                .filter(CachingJwtDecoder.class::isInstance)
+                .mapToInt(decoder -> ((CachingJwtDecoder) decoder).evictExpired())
+                .sum();
+        if (removed > 0) {
+            log.debug("Evicted {} expired cache entries", removed);
+        }
+    }
+}
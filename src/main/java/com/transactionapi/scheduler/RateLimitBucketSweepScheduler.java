@@ -0,0 +1,31 @@
+package com.transactionapi.scheduler;
+
+import com.transactionapi.security.RateLimitBackend;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RateLimitBucketSweepScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitBucketSweepScheduler.class);
+    private final RateLimitBackend rateLimitBackend;
+
+    public RateLimitBucketSweepScheduler(RateLimitBackend rateLimitBackend) {
+        this.rateLimitBackend = rateLimitBackend;
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:1000}")
+    public void sweepExpiredBuckets() {
+        int removed = rateLimitBackend.sweepExpired();
+        if (removed > 0) {
+            log.debug("Evicted {} expired rate limit buckets", removed);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.sync-interval-ms:5000}")
+    public void syncLeases() {
+        rateLimitBackend.sync();
+    }
+}
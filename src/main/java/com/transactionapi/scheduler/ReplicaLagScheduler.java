@@ -0,0 +1,26 @@
+package com.transactionapi.scheduler;
+
+import com.transactionapi.config.ReadYourWrites;
+import com.transactionapi.config.ReplicaLagMonitor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnExpression("'${app.datasource.replica.url:}' != ''")
+public class ReplicaLagScheduler {
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final ReadYourWrites readYourWrites;
+
+    public ReplicaLagScheduler(ReplicaLagMonitor replicaLagMonitor, ReadYourWrites readYourWrites) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void checkLag() {
+        replicaLagMonitor.check();
+        readYourWrites.evictExpired();
+    }
+}
@@ -0,0 +1,26 @@
+package com.transactionapi.scheduler;
+
+import com.transactionapi.service.ShareLinkAccessCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ShareLinkAccessFlushScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ShareLinkAccessFlushScheduler.class);
+    private final ShareLinkAccessCounter shareLinkAccessCounter;
+
+    public ShareLinkAccessFlushScheduler(ShareLinkAccessCounter shareLinkAccessCounter) {
+        this.shareLinkAccessCounter = shareLinkAccessCounter;
+    }
+
+    @Scheduled(fixedDelayString = "${app.share-links.access-flush-interval-ms:5000}")
+    public void flushAccessCounts() {
+        int updated = shareLinkAccessCounter.flush();
+        if (updated > 0) {
+            log.debug("Flushed access counts for {} share links", updated);
+        }
+    }
+}
@@ -1,26 +1,62 @@
 package com.transactionapi.scheduler;
 
+import com.transactionapi.service.SchedulerLeaseService;
 import com.transactionapi.service.ShareLinkService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 @Component
 public class ShareLinkCleanupScheduler {
 
+    static final String LEASE_NAME = "share-link-cleanup";
     private static final Logger log = LoggerFactory.getLogger(ShareLinkCleanupScheduler.class);
     private final ShareLinkService shareLinkService;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final int batchSize;
+    private final Duration pause;
+    private final Duration timeBudget;
+    private final DistributionSummary deletedPerRun;
+    private final Timer runTimer;
 
-    public ShareLinkCleanupScheduler(ShareLinkService shareLinkService) {
+    public ShareLinkCleanupScheduler(
+            ShareLinkService shareLinkService,
+            SchedulerLeaseService schedulerLeaseService,
+            MeterRegistry meterRegistry,
+            @Value("${app.share-links.cleanup.batch-size:1000}") int batchSize,
+            @Value("${app.share-links.cleanup.pause:PT0.1S}") Duration pause,
+            @Value("${app.share-links.cleanup.time-budget:PT5M}") Duration timeBudget
+    ) {
         this.shareLinkService = shareLinkService;
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.batchSize = Math.max(1, batchSize);
+        this.pause = pause;
+        this.timeBudget = timeBudget;
+        this.deletedPerRun = DistributionSummary.builder("share.links.cleanup.deleted")
+                .description("Expired share links deleted per cleanup run")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("share.links.cleanup")
+                .description("Time spent deleting expired share links")
+                .register(meterRegistry);
     }
 
     // Run daily at 3:00 AM
     @Scheduled(cron = "0 0 3 * * ?")
     public void cleanupExpiredShareLinks() {
+        // Hold the lease past the time budget so a slow final batch cannot overlap another node.
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, timeBudget.plusMinutes(5))) {
+            log.debug("Skipping expired share link cleanup; another instance holds the lease");
+            return;
+        }
         log.info("Starting cleanup of expired share links");
-        int deleted = shareLinkService.deleteExpiredShares();
+        int deleted = runTimer.record(() -> shareLinkService.deleteExpiredShares(batchSize, pause, timeBudget));
+        deletedPerRun.record(deleted);
         log.info("Deleted {} expired share links", deleted);
     }
 }
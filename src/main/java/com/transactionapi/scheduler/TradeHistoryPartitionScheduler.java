@@ -0,0 +1,39 @@
+package com.transactionapi.scheduler;
+
+import com.transactionapi.service.SchedulerLeaseService;
+import com.transactionapi.service.TradeHistoryPartitionService;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TradeHistoryPartitionScheduler {
+
+    static final String LEASE_NAME = "trade-history-partitions";
+    private static final Logger log = LoggerFactory.getLogger(TradeHistoryPartitionScheduler.class);
+    private final TradeHistoryPartitionService partitionService;
+    private final SchedulerLeaseService schedulerLeaseService;
+
+    public TradeHistoryPartitionScheduler(
+            TradeHistoryPartitionService partitionService,
+            SchedulerLeaseService schedulerLeaseService
+    ) {
+        this.partitionService = partitionService;
+        this.schedulerLeaseService = schedulerLeaseService;
+    }
+
+    // Run daily at 2:30 AM; partitions exist months ahead, so a missed run is harmless.
+    @Scheduled(cron = "0 30 2 * * ?")
+    public void createFuturePartitions() {
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, Duration.ofMinutes(10))) {
+            log.debug("Skipping trade history partition check; another instance holds the lease");
+            return;
+        }
+        int created = partitionService.createFuturePartitions();
+        if (created > 0) {
+            log.info("Created {} trade history partitions", created);
+        }
+    }
+}
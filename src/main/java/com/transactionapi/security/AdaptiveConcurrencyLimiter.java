@@ -0,0 +1,104 @@
+package com.transactionapi.security;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TCP Vegas applied to request concurrency. The lowest latency seen recently stands in for the
+ * no-load round trip; {@code limit * (1 - rttNoLoad / rtt)} estimates how many requests are
+ * queueing rather than being served. The limit grows while that queue is short and shrinks once
+ * it is long or when a request fails with a server error, so a slow database pulls the limit
+ * down before threads and connections pile up.
+ *
+ * <p>Each {@link Priority} may only fill its share of the limit, which keeps headroom for writes
+ * and sign-ins when analytics traffic is what is saturating the service.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Priority {
+        CRITICAL(1.0),
+        NORMAL(0.8),
+        SHEDDABLE(0.5);
+
+        private final double share;
+
+        Priority(double share) {
+            this.share = share;
+        }
+    }
+
+    /** Samples between resets of the no-load baseline, per unit of limit. */
+    private static final int PROBE_MULTIPLIER = 30;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private long rttNoLoadNanos;
+    private long samplesSinceProbe;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    /**
+     * Returns the number of requests in flight including this one, or {@code -1} when the request
+     * must be shed. Every successful acquire must be paired with {@link #release}.
+     */
+    public int tryAcquire(Priority priority) {
+        int allowed = Math.max(1, (int) (limit * priority.share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Ends a request that started with {@code inFlightAtStart} requests running. Pass
+     * {@code dropped} for server errors so the limit backs off; {@code rttNanos < 0} skips the
+     * sample entirely, e.g. for async responses whose latency is not the server's.
+     */
+    public void release(int inFlightAtStart, long rttNanos, boolean dropped) {
+        inFlight.decrementAndGet();
+        if (rttNanos < 0) {
+            return;
+        }
+        synchronized (this) {
+            double current = limit;
+            double log = Math.log10(current);
+            double step = Math.max(1.0, log);
+            if (dropped) {
+                limit = Math.max(minLimit, current - step);
+                return;
+            }
+            long rtt = Math.max(1, rttNanos);
+            if (rttNoLoadNanos == 0 || rtt < rttNoLoadNanos || ++samplesSinceProbe >= PROBE_MULTIPLIER * current) {
+                rttNoLoadNanos = rtt;
+                samplesSinceProbe = 0;
+            }
+            double queue = current * (1 - (double) rttNoLoadNanos / rtt);
+            double alpha = 3 * log;
+            double beta = 6 * log;
+            if (queue < alpha && inFlightAtStart * 2 >= current) {
+                limit = Math.min(maxLimit, current + step);
+            } else if (queue > beta) {
+                limit = Math.max(minLimit, current - step);
+            }
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
@@ -5,6 +5,15 @@ import java.io.Serializable;
 public record AuthenticatedUserPrincipal(
         String authId,
         String email,
-        String name
+        String name,
+        boolean legalAccepted
 ) implements Serializable {
+
+    public AuthenticatedUserPrincipal(String authId, String email, String name) {
+        this(authId, email, name, false);
+    }
+
+    public AuthenticatedUserPrincipal withLegalAccepted(boolean accepted) {
+        return new AuthenticatedUserPrincipal(authId, email, name, accepted);
+    }
 }
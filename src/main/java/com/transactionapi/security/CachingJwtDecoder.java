@@ -0,0 +1,109 @@
+package com.transactionapi.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Remembers tokens the delegate has already verified, keyed by a SHA-256 digest of the token so
+ * raw bearer credentials are never held as map keys. Entries expire at the token's {@code exp};
+ * tokens without one are not cached. Only successful decodes are cached, and once
+ * {@code maxEntries} tokens are held new tokens are verified without being cached. Expired
+ * entries are dropped by {@link #evictExpired()} on a schedule, never on the request path.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final int maxEntries;
+    private final Clock clock;
+    private final Map<String, Jwt> cache = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxEntries, MeterRegistry meterRegistry) {
+        this(delegate, maxEntries, meterRegistry, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, int maxEntries, MeterRegistry meterRegistry, Clock clock) {
+        this.delegate = delegate;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.clock = clock;
+        this.hits = Counter.builder("jwt.decode.cache")
+                .tag("result", "hit")
+                .description("Bearer tokens served from the verified-token cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("jwt.decode.cache")
+                .tag("result", "miss")
+                .description("Bearer tokens verified by the underlying decoder")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = digest(token);
+        Instant now = clock.instant();
+        Jwt cached = cache.get(key);
+        if (cached != null) {
+            if (now.isBefore(cached.getExpiresAt())) {
+                hits.increment();
+                return cached;
+            }
+            cache.remove(key, cached);
+        }
+
+        misses.increment();
+        Jwt jwt = delegate.decode(token);
+        if (jwt.getExpiresAt() != null && now.isBefore(jwt.getExpiresAt())) {
+            if (cache.size() < maxEntries) {
+                cache.put(key, jwt);
+            }
+        }
+        return jwt;
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Shuts down the delegate's background refresh, if it has one.
+     */
+    public void shutdown() {
+        if (delegate instanceof RefreshingJwkSetJwtDecoder refreshing) {
+            refreshing.shutdown();
+        }
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    /**
+     * Drops tokens past their {@code exp} and returns how many were removed.
+     */
+    public int evictExpired() {
+        Instant now = clock.instant();
+        int before = cache.size();
+        cache.values().removeIf(jwt -> !now.isBefore(jwt.getExpiresAt()));
+        return Math.max(0, before - cache.size());
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.transactionapi.security;
+
+import com.transactionapi.constants.ApiPaths;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Sheds API requests with 503 once the {@link AdaptiveConcurrencyLimiter} is full. Runs ahead of
+ * the security chain so rejected requests cost no session or user lookups; the 503 carries the CORS
+ * headers that chain would have added. Sign-in and writes are
+ * {@code CRITICAL}, routes on the analytics rate-limit budget are {@code SHEDDABLE}, and other
+ * reads sit in between.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnProperty(value = "app.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final RateLimitRouteTable routes = RateLimitRouteTable.defaults();
+    private final Map<AdaptiveConcurrencyLimiter.Priority, Counter> rejections =
+            new EnumMap<>(AdaptiveConcurrencyLimiter.Priority.class);
+    private final long retryAfterSeconds;
+    private final CorsConfigurationSource corsConfigurationSource;
+
+    public ConcurrencyLimitFilter(
+            MeterRegistry meterRegistry,
+            CorsConfigurationSource corsConfigurationSource,
+            @Value("${app.concurrency-limit.initial:20}") int initialLimit,
+            @Value("${app.concurrency-limit.min:4}") int minLimit,
+            @Value("${app.concurrency-limit.max:200}") int maxLimit,
+            @Value("${app.concurrency-limit.retry-after:PT1S}") Duration retryAfter
+    ) {
+        this.corsConfigurationSource = corsConfigurationSource;
+        this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit);
+        this.retryAfterSeconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        Gauge.builder("concurrency.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .register(meterRegistry);
+        Gauge.builder("concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                .register(meterRegistry);
+        for (AdaptiveConcurrencyLimiter.Priority priority : AdaptiveConcurrencyLimiter.Priority.values()) {
+            rejections.put(priority, Counter.builder("concurrency.limit.rejections")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith(ApiPaths.API_V1)
+                || path.startsWith(ApiPaths.HEALTH)
+                || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter.Priority priority = priorityOf(request);
+        int inFlightAtStart = limiter.tryAcquire(priority);
+        if (inFlightAtStart < 0) {
+            rejections.get(priority).increment();
+            CorsHeaders.addForAllowedOrigin(corsConfigurationSource, request, response);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.getWriter().write("Server is busy. Please try again shortly.");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= 500;
+        } finally {
+            long rtt = request.isAsyncStarted() ? -1 : System.nanoTime() - start;
+            limiter.release(inFlightAtStart, rtt, dropped);
+        }
+    }
+
+    AdaptiveConcurrencyLimiter.Priority priorityOf(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.startsWith(ApiPaths.AUTH) || !isSafe(request.getMethod())) {
+            return AdaptiveConcurrencyLimiter.Priority.CRITICAL;
+        }
+        if (routes.resolve(request.getMethod(), path).budget() == RateLimitBudget.ANALYTICS) {
+            return AdaptiveConcurrencyLimiter.Priority.SHEDDABLE;
+        }
+        return AdaptiveConcurrencyLimiter.Priority.NORMAL;
+    }
+
+    AdaptiveConcurrencyLimiter limiter() {
+        return limiter;
+    }
+
+    private static boolean isSafe(String method) {
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+    }
+}
@@ -0,0 +1,43 @@
+package com.transactionapi.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StringUtils;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+
+/**
+ * Adds CORS response headers to rejections written before the security chain's CORS filter runs,
+ * so a browser client can read the status and {@code Retry-After}. Origins the configuration does
+ * not allow get no headers.
+ */
+public final class CorsHeaders {
+
+    private CorsHeaders() {
+    }
+
+    public static void addForAllowedOrigin(
+            CorsConfigurationSource source,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) {
+        String origin = request.getHeader(HttpHeaders.ORIGIN);
+        CorsConfiguration configuration = origin == null ? null : source.getCorsConfiguration(request);
+        String allowedOrigin = configuration == null ? null : configuration.checkOrigin(origin);
+        if (allowedOrigin == null) {
+            return;
+        }
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, allowedOrigin);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ORIGIN);
+        if (Boolean.TRUE.equals(configuration.getAllowCredentials())) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true");
+        }
+        if (configuration.getExposedHeaders() != null && !configuration.getExposedHeaders().isEmpty()) {
+            response.setHeader(
+                    HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS,
+                    StringUtils.collectionToCommaDelimitedString(configuration.getExposedHeaders())
+            );
+        }
+    }
+}
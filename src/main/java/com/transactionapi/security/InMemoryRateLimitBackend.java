@@ -0,0 +1,157 @@
+package com.transactionapi.security;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-instance rate limit buckets using the generic cell rate algorithm (GCRA).
+ * Each key holds a single theoretical arrival time in nanoseconds that is advanced with CAS,
+ * so memory per key is constant and the check-and-consume step is atomic without locks.
+ * Expired buckets are removed by {@link #sweepExpired()} off the request path; when the map is
+ * full a new key displaces the least active bucket from a small sample rather than being rejected.
+ */
+public class InMemoryRateLimitBackend implements RateLimitBackend {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private final long windowNanos;
+    private final int maxBuckets;
+    private final int sweepBatchSize;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private Iterator<Map.Entry<String, AtomicLong>> sweepCursor;
+    private final Object evictionLock = new Object();
+    private Iterator<Map.Entry<String, AtomicLong>> evictionCursor;
+
+    public InMemoryRateLimitBackend(long windowMillis, int maxBuckets, int sweepBatchSize) {
+        this(windowMillis, maxBuckets, sweepBatchSize, System::nanoTime);
+    }
+
+    InMemoryRateLimitBackend(long windowMillis, int maxBuckets, int sweepBatchSize, LongSupplier nanoClock) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, windowMillis));
+        this.maxBuckets = Math.max(1, maxBuckets);
+        this.sweepBatchSize = Math.max(1, sweepBatchSize);
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, int limit, int cost) {
+        if (limit <= 0) {
+            return RateLimitDecision.denied(0, 0, 0, TimeUnit.NANOSECONDS.toMillis(windowNanos));
+        }
+        long now = nanoClock.getAsLong();
+
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) {
+                evictLeastActiveBucket(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(EMPTY));
+        }
+
+        // Each unit of cost pushes the theoretical arrival time forward by one emission interval;
+        // the request is allowed while that time stays within one window of now.
+        long emissionInterval = Math.max(1, windowNanos / limit);
+        long increment = emissionInterval * Math.max(1, cost);
+        while (true) {
+            long tat = bucket.get();
+            long start = tat == EMPTY || tat - now < 0 ? now : tat;
+            long nextTat = start + increment;
+            if (nextTat - now > windowNanos) {
+                return RateLimitDecision.denied(
+                        limit,
+                        remaining(windowNanos - (start - now), emissionInterval, limit),
+                        toMillisCeil(start - now),
+                        toMillisCeil(nextTat - now - windowNanos)
+                );
+            }
+            if (bucket.compareAndSet(tat, nextTat)) {
+                return RateLimitDecision.allowed(
+                        limit,
+                        remaining(windowNanos - (nextTat - now), emissionInterval, limit),
+                        toMillisCeil(nextTat - now)
+                );
+            }
+        }
+    }
+
+    /**
+     * Removes expired buckets, visiting at most {@code sweepBatchSize} entries per call and resuming
+     * where the previous call stopped.
+     */
+    @Override
+    public synchronized int sweepExpired() {
+        long now = nanoClock.getAsLong();
+        int removed = 0;
+        for (int visited = 0; visited < sweepBatchSize && !buckets.isEmpty(); visited++) {
+            if (sweepCursor == null || !sweepCursor.hasNext()) {
+                sweepCursor = buckets.entrySet().iterator();
+                if (!sweepCursor.hasNext()) {
+                    break;
+                }
+            }
+            Map.Entry<String, AtomicLong> entry = sweepCursor.next();
+            if (isExpired(entry.getValue(), now) && buckets.remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    // The sampled bucket with the earliest arrival time is either already idle or has seen the least
+    // traffic recently, so a flood of one-off keys displaces itself before it displaces heavy users
+    // whose limits are still in force.
+    private void evictLeastActiveBucket(long now) {
+        synchronized (evictionLock) {
+            Map.Entry<String, AtomicLong> victim = selectEvictionVictim(now);
+            if (victim != null) {
+                buckets.remove(victim.getKey(), victim.getValue());
+            }
+        }
+    }
+
+    private Map.Entry<String, AtomicLong> selectEvictionVictim(long now) {
+        Map.Entry<String, AtomicLong> victim = null;
+        long victimTat = 0;
+        for (int sampled = 0; sampled < EVICTION_SAMPLE_SIZE; sampled++) {
+            if (evictionCursor == null || !evictionCursor.hasNext()) {
+                evictionCursor = buckets.entrySet().iterator();
+                if (!evictionCursor.hasNext()) {
+                    return null;
+                }
+            }
+            Map.Entry<String, AtomicLong> entry = evictionCursor.next();
+            if (isExpired(entry.getValue(), now)) {
+                return entry;
+            }
+            long tat = entry.getValue().get();
+            if (victim == null || tat - victimTat < 0) {
+                victim = entry;
+                victimTat = tat;
+            }
+        }
+        return victim;
+    }
+
+    private static int remaining(long headroomNanos, long emissionInterval, int limit) {
+        return (int) Math.min(limit, headroomNanos / emissionInterval);
+    }
+
+    private static long toMillisCeil(long nanos) {
+        return (nanos + 999_999) / 1_000_000;
+    }
+
+    private static boolean isExpired(AtomicLong bucket, long now) {
+        long tat = bucket.get();
+        return tat == EMPTY || tat - now <= 0;
+    }
+}
@@ -1,6 +1,7 @@
 package com.transactionapi.security;
 
 import com.nimbusds.jose.JWSAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
@@ -25,6 +26,7 @@ import org.springframework.util.StringUtils;
 public class JwtConfig {
 
     private final ObjectProvider<DynamoJwkSetReader> dynamoJwkSetReaderProvider;
+    private final MeterRegistry meterRegistry;
 
     @Value("${app.security.jwt.issuer-uri:https://accounts.google.com}")
     private String issuerUri;
@@ -47,13 +49,32 @@ public class JwtConfig {
     @Value("${app.security.jwt.jwk-refresh-interval:PT15M}")
     private Duration jwkRefreshInterval;
 
-    public JwtConfig(ObjectProvider<DynamoJwkSetReader> dynamoJwkSetReaderProvider) {
+    @Value("${app.security.jwt.jwk-max-stale:PT15M}")
+    private Duration jwkMaxStale;
+
+    @Value("${app.security.jwt.jwk-min-forced-refresh-interval:PT30S}")
+    private Duration jwkMinForcedRefreshInterval;
+
+    @Value("${app.security.jwt.cache-size:10000}")
+    private int jwtCacheSize;
+
+    public JwtConfig(ObjectProvider<DynamoJwkSetReader> dynamoJwkSetReaderProvider, MeterRegistry meterRegistry) {
         this.dynamoJwkSetReaderProvider = dynamoJwkSetReaderProvider;
+        this.meterRegistry = meterRegistry;
     }
 
-    @Bean
+    @Bean(destroyMethod = "shutdown")
     @ConditionalOnProperty(value = "app.security.jwt.enabled", havingValue = "true")
     public JwtDecoder jwtDecoder() {
+        JwtDecoder decoder = verifyingJwtDecoder();
+        CachingJwtDecoder cachingDecoder = new CachingJwtDecoder(decoder, jwtCacheSize, meterRegistry);
+        if (decoder instanceof RefreshingJwkSetJwtDecoder refreshing) {
+            refreshing.addKeySetChangeListener(cachingDecoder::clear);
+        }
+        return cachingDecoder;
+    }
+
+    private JwtDecoder verifyingJwtDecoder() {
         OAuth2TokenValidator<Jwt> validator = jwtValidator();
         String source = normalizeJwkSource(jwkSource);
         return switch (source) {
@@ -78,7 +99,10 @@ public class JwtConfig {
                         () -> inlineJwkSet,
                         parseJwsAlgorithms(jwsAlgorithms),
                         jwkRefreshInterval,
-                        validator
+                        jwkMaxStale,
+                        jwkMinForcedRefreshInterval,
+                        validator,
+                        meterRegistry
                 );
             }
             case "dynamo" -> {
@@ -89,7 +113,10 @@ public class JwtConfig {
                         reader::getJwkSet,
                         parseJwsAlgorithms(jwsAlgorithms),
                         jwkRefreshInterval,
-                        validator
+                        jwkMaxStale,
+                        jwkMinForcedRefreshInterval,
+                        validator,
+                        meterRegistry
                 );
             }
             default -> throw new IllegalStateException("Unsupported JWT JWK source: " + jwkSource);
@@ -37,6 +37,9 @@ public class LegalAgreementFilter extends OncePerRequestFilter {
     @Value("${app.security.header-name:X-User-Id}")
     private String headerName;
 
+    @Value("${app.security.session.mode:server}")
+    private String sessionMode;
+
     public LegalAgreementFilter(
             Environment environment,
             UserIdResolver userIdResolver,
@@ -67,8 +70,18 @@ public class LegalAgreementFilter extends OncePerRequestFilter {
             filterChain.doFilter(request, response);
             return;
         }
-
         String authId = userIdResolver.requireUserId(authentication);
+        // Signed session cookies carry the acceptance, so skip the user lookup but still count the visit.
+        if (
+                isStatelessSession()
+                        && authentication.getPrincipal() instanceof AuthenticatedUserPrincipal principal
+                        && principal.legalAccepted()
+        ) {
+            userService.recordActivity(authId);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         String email = userIdResolver.resolveEmail(authentication);
         User user = userService.getOrCreateUser(authId, email);
         if (userService.hasAcceptedLegalAgreement(user)) {
@@ -105,6 +118,10 @@ public class LegalAgreementFilter extends OncePerRequestFilter {
         return isHeaderAuthProfile() && StringUtils.hasText(request.getHeader(headerName));
     }
 
+    private boolean isStatelessSession() {
+        return "stateless".equalsIgnoreCase(sessionMode);
+    }
+
     private boolean isHeaderAuthProfile() {
         return allowHeaderAuth && environment.acceptsProfiles(Profiles.of("local", "test"));
     }
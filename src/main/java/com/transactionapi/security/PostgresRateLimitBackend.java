@@ -0,0 +1,315 @@
+package com.transactionapi.security;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+/**
+ * Cluster-wide fixed-window buckets stored in the UNLOGGED {@code rate_limit_buckets} table.
+ * Each instance leases up to {@code leaseSize} units per key with a single upsert and serves
+ * them locally, so most checks never leave the JVM. Leases left idle between syncs are handed
+ * back so other instances can use them, and exhausted keys re-check the table about once a second.
+ *
+ * <p>Upserts run on a small dedicated pool, never on the request thread: a lease is topped up in
+ * the background once it runs low, and a request that finds it empty waits at most
+ * {@code leaseWait} for the refill. If the refill can't be had in time, or the database fails, the
+ * local fallback backend answers instead; after a failure it answers every request until the next
+ * successful {@link #sync()}, so an outage costs one failed upsert per sync interval rather than one
+ * per request.
+ */
+public class PostgresRateLimitBackend implements RateLimitBackend {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresRateLimitBackend.class);
+    private static final int MAX_CONCURRENT_REFILLS = 4;
+    private static final long EXHAUSTED_RECHECK_MILLIS = 1_000;
+
+    // Both SET expressions read the pre-update row, so last_grant is exactly what this call added.
+    private static final String LEASE_SQL = """
+            insert into rate_limit_buckets as b (bucket_key, window_start, used, last_grant)
+            values (:key, :windowStart, least(:lease, :limit), least(:lease, :limit))
+            on conflict (bucket_key) do update set
+                last_grant = case when b.window_start >= excluded.window_start
+                    then greatest(0, least(:lease, :limit - b.used))
+                    else least(:lease, :limit) end,
+                used = case when b.window_start >= excluded.window_start
+                    then b.used + greatest(0, least(:lease, :limit - b.used))
+                    else least(:lease, :limit) end,
+                window_start = greatest(b.window_start, excluded.window_start)
+            returning last_grant, used
+            """;
+
+    private static final String RELEASE_SQL = """
+            update rate_limit_buckets
+            set used = greatest(0, used - :returned)
+            where bucket_key = :key and window_start = :windowStart
+            """;
+
+    private static final String DELETE_EXPIRED_SQL = """
+            delete from rate_limit_buckets where window_start < :windowStart
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final long windowMillis;
+    private final int leaseSize;
+    private final Duration leaseWait;
+    private final RateLimitBackend fallback;
+    private final Clock clock;
+    private final ThreadPoolExecutor refills;
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+    private volatile boolean down;
+
+    public PostgresRateLimitBackend(
+            NamedParameterJdbcTemplate jdbc,
+            long windowMillis,
+            int leaseSize,
+            Duration leaseWait,
+            RateLimitBackend fallback
+    ) {
+        this(jdbc, windowMillis, leaseSize, leaseWait, fallback, Clock.systemUTC());
+    }
+
+    PostgresRateLimitBackend(
+            NamedParameterJdbcTemplate jdbc,
+            long windowMillis,
+            int leaseSize,
+            Duration leaseWait,
+            RateLimitBackend fallback,
+            Clock clock
+    ) {
+        this.jdbc = jdbc;
+        this.windowMillis = Math.max(1, windowMillis);
+        this.leaseSize = Math.max(1, leaseSize);
+        this.leaseWait = leaseWait;
+        this.fallback = fallback;
+        this.clock = clock;
+        this.refills = new ThreadPoolExecutor(
+                MAX_CONCURRENT_REFILLS,
+                MAX_CONCURRENT_REFILLS,
+                30,
+                TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                Thread.ofVirtual().name("rate-limit-lease-", 0).factory()
+        );
+        this.refills.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, int limit, int cost) {
+        long now = clock.millis();
+        long windowStart = windowStart(now);
+        long resetMillis = windowStart + windowMillis - now;
+        if (limit <= 0) {
+            return RateLimitDecision.denied(0, 0, resetMillis, resetMillis);
+        }
+        if (down) {
+            return fallback.tryAcquire(key, limit, cost);
+        }
+        int units = Math.max(1, cost);
+        Lease lease = leases.computeIfAbsent(key, k -> new Lease());
+        CompletableFuture<Void> refill;
+        lease.lock.lock();
+        try {
+            if (lease.windowStart != windowStart) {
+                lease.windowStart = windowStart;
+                lease.remaining = 0;
+                lease.sharedRemaining = limit;
+                lease.recheckAt = 0;
+                lease.refill = null;
+            }
+            lease.touched = true;
+            if (lease.remaining >= units) {
+                lease.remaining -= units;
+                if (lease.remaining < Math.min(leaseSize, limit) / 2 && now >= lease.recheckAt) {
+                    startRefill(key, windowStart, limit, units, lease);
+                }
+                return RateLimitDecision.allowed(limit, lease.remaining + lease.sharedRemaining, resetMillis);
+            }
+            if (now < lease.recheckAt) {
+                return RateLimitDecision.denied(limit, lease.remaining + lease.sharedRemaining, resetMillis, resetMillis);
+            }
+            refill = startRefill(key, windowStart, limit, units, lease);
+        } finally {
+            lease.lock.unlock();
+        }
+
+        if (refill == null || !awaitRefill(refill)) {
+            return fallback.tryAcquire(key, limit, cost);
+        }
+        lease.lock.lock();
+        try {
+            if (lease.windowStart != windowStart) {
+                return fallback.tryAcquire(key, limit, cost);
+            }
+            if (lease.remaining < units) {
+                lease.recheckAt = now + EXHAUSTED_RECHECK_MILLIS;
+                return RateLimitDecision.denied(limit, lease.remaining + lease.sharedRemaining, resetMillis, resetMillis);
+            }
+            lease.remaining -= units;
+            return RateLimitDecision.allowed(limit, lease.remaining + lease.sharedRemaining, resetMillis);
+        } finally {
+            lease.lock.unlock();
+        }
+    }
+
+    @Override
+    public int sweepExpired() {
+        long windowStart = windowStart(clock.millis());
+        int before = leases.size();
+        leases.entrySet().removeIf(entry -> {
+            Lease lease = entry.getValue();
+            lease.lock.lock();
+            try {
+                return lease.windowStart < windowStart;
+            } finally {
+                lease.lock.unlock();
+            }
+        });
+        return before - leases.size() + fallback.sweepExpired();
+    }
+
+    @Override
+    public void sync() {
+        long windowStart = windowStart(clock.millis());
+        List<SqlParameterSource> releases = new ArrayList<>();
+        leases.forEach((key, lease) -> {
+            lease.lock.lock();
+            try {
+                if (!lease.touched && lease.refill == null && lease.windowStart == windowStart && lease.remaining > 0) {
+                    releases.add(new MapSqlParameterSource()
+                            .addValue("key", key)
+                            .addValue("windowStart", windowStart)
+                            .addValue("returned", lease.remaining));
+                    lease.remaining = 0;
+                }
+                lease.touched = false;
+                lease.recheckAt = 0;
+            } finally {
+                lease.lock.unlock();
+            }
+        });
+        try {
+            if (!releases.isEmpty()) {
+                jdbc.batchUpdate(RELEASE_SQL, releases.toArray(SqlParameterSource[]::new));
+            }
+            jdbc.update(DELETE_EXPIRED_SQL, new MapSqlParameterSource("windowStart", windowStart));
+            if (down) {
+                log.info("Rate limit database reachable again, resuming shared limits");
+                down = false;
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Rate limit lease sync failed: {}", ex.getMessage());
+        }
+    }
+
+    public void shutdown() {
+        refills.shutdownNow();
+    }
+
+    /** Starts a refill unless one is already running; returns it, or null if the pool is full. Call under the lease lock. */
+    private CompletableFuture<Void> startRefill(String key, long windowStart, int limit, int units, Lease lease) {
+        if (lease.refill != null) {
+            return lease.refill;
+        }
+        int requested = Math.max(Math.min(leaseSize, limit), units - lease.remaining);
+        CompletableFuture<Void> refill = new CompletableFuture<>();
+        try {
+            refills.execute(() -> {
+                try {
+                    acquireLease(key, windowStart, limit, requested, lease);
+                    refill.complete(null);
+                } catch (RuntimeException ex) {
+                    refill.completeExceptionally(ex);
+                } finally {
+                    lease.lock.lock();
+                    try {
+                        if (lease.refill == refill) {
+                            lease.refill = null;
+                        }
+                    } finally {
+                        lease.lock.unlock();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            return null;
+        }
+        lease.refill = refill;
+        return refill;
+    }
+
+    private boolean awaitRefill(CompletableFuture<Void> refill) {
+        try {
+            refill.get(leaseWait.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException | ExecutionException ex) {
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void acquireLease(String key, long windowStart, int limit, int requested, Lease lease) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("key", key)
+                .addValue("windowStart", windowStart)
+                .addValue("lease", requested)
+                .addValue("limit", limit);
+        int[] granted = new int[2];
+        try {
+            jdbc.query(LEASE_SQL, params, rs -> {
+                granted[0] = rs.getInt("last_grant");
+                granted[1] = rs.getInt("used");
+            });
+        } catch (DataAccessException ex) {
+            if (!down) {
+                log.warn("Rate limit lease failed, using local limits until the next sync: {}", ex.getMessage());
+                down = true;
+            }
+            throw ex;
+        }
+        lease.lock.lock();
+        try {
+            if (lease.windowStart == windowStart) {
+                lease.remaining += granted[0];
+                lease.sharedRemaining = Math.max(0, limit - granted[1]);
+                if (granted[0] == 0) {
+                    lease.recheckAt = clock.millis() + EXHAUSTED_RECHECK_MILLIS;
+                }
+            }
+        } finally {
+            lease.lock.unlock();
+        }
+    }
+
+    private long windowStart(long now) {
+        return now - Math.floorMod(now, windowMillis);
+    }
+
+    private static final class Lease {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long windowStart = Long.MIN_VALUE;
+        private int remaining;
+        private int sharedRemaining;
+        private long recheckAt;
+        private boolean touched;
+        private CompletableFuture<Void> refill;
+    }
+}
@@ -0,0 +1,25 @@
+package com.transactionapi.security;
+
+/**
+ * Storage for rate limit buckets. Implementations decide whether counts are kept per instance
+ * or shared across the cluster.
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Consumes {@code cost} units from the bucket for {@code key}, which holds {@code limit} units
+     * per window. Denied requests consume nothing.
+     */
+    RateLimitDecision tryAcquire(String key, int limit, int cost);
+
+    /**
+     * Drops idle per-key state. Called periodically with bounded work per call.
+     */
+    int sweepExpired();
+
+    /**
+     * Reconciles local state with shared storage. No-op for backends without shared state.
+     */
+    default void sync() {
+    }
+}
@@ -0,0 +1,22 @@
+package com.transactionapi.security;
+
+/**
+ * Independent per-window budgets. Each client has one bucket per budget, so heavy analytics
+ * calls cannot starve ordinary reads and writes.
+ */
+public enum RateLimitBudget {
+    READ("read"),
+    WRITE("write"),
+    ANALYTICS("analytics"),
+    PUBLIC_SHARE("ip");
+
+    private final String keyPrefix;
+
+    RateLimitBudget(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+
+    public String bucketKey(String subject) {
+        return keyPrefix + ":" + subject;
+    }
+}
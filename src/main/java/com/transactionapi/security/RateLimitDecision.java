@@ -0,0 +1,28 @@
+package com.transactionapi.security;
+
+/**
+ * Outcome of a rate limit check. Times are milliseconds from now: {@code resetMillis} until the
+ * budget is fully replenished and {@code retryAfterMillis} until a denied request could succeed.
+ */
+public record RateLimitDecision(
+        boolean allowed,
+        int limit,
+        int remaining,
+        long resetMillis,
+        long retryAfterMillis
+) {
+
+    public static RateLimitDecision allowed(int limit, int remaining, long resetMillis) {
+        return new RateLimitDecision(true, limit, Math.max(0, remaining), Math.max(0, resetMillis), 0);
+    }
+
+    public static RateLimitDecision denied(int limit, int remaining, long resetMillis, long retryAfterMillis) {
+        return new RateLimitDecision(
+                false,
+                limit,
+                Math.max(0, remaining),
+                Math.max(0, resetMillis),
+                Math.max(0, retryAfterMillis)
+        );
+    }
+}
@@ -0,0 +1,10 @@
+package com.transactionapi.security;
+
+/**
+ * Budget a route draws from and how many units one request costs.
+ */
+public record RateLimitRoute(RateLimitBudget budget, int cost) {
+
+    public static final RateLimitRoute DEFAULT_READ = new RateLimitRoute(RateLimitBudget.READ, 1);
+    public static final RateLimitRoute DEFAULT_WRITE = new RateLimitRoute(RateLimitBudget.WRITE, 1);
+}
@@ -0,0 +1,91 @@
+package com.transactionapi.security;
+
+import com.transactionapi.constants.ApiPaths;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.StringUtils;
+
+/**
+ * Maps request method and path to a {@link RateLimitRoute}. Patterns are compiled once into a
+ * segment tree, so a lookup is a walk over the path segments with no regex evaluation.
+ * Literal segments win over {@code {variable}} segments. Unlisted routes cost one unit from the
+ * read budget for safe methods and from the write budget otherwise.
+ */
+public class RateLimitRouteTable {
+
+    private final Map<HttpMethod, Node> roots = new HashMap<>();
+
+    public static RateLimitRouteTable defaults() {
+        return new RateLimitRouteTable()
+                .route(HttpMethod.GET, ApiPaths.SHARES + "/{code}", RateLimitBudget.PUBLIC_SHARE, 1)
+                .route(HttpMethod.GET, ApiPaths.SHARES + "/{code}/data", RateLimitBudget.PUBLIC_SHARE, 1)
+                .route(HttpMethod.POST, ApiPaths.SHARES, RateLimitBudget.WRITE, 2)
+                .route(HttpMethod.GET, ApiPaths.TRADES, RateLimitBudget.READ, 2)
+                .route(HttpMethod.GET, ApiPaths.TRADES + "/paged", RateLimitBudget.READ, 2)
+                .route(HttpMethod.GET, ApiPaths.TRADES + "/{tradeId}/history", RateLimitBudget.READ, 2)
+                .route(HttpMethod.GET, ApiPaths.TRADES + "/summary", RateLimitBudget.ANALYTICS, 2)
+                .route(HttpMethod.GET, ApiPaths.TRADES + "/stats", RateLimitBudget.ANALYTICS, 2)
+                .route(HttpMethod.GET, ApiPaths.TRADES + "/stats/scoped", RateLimitBudget.ANALYTICS, 3)
+                .route(HttpMethod.GET, ApiPaths.TRADES + "/stats/accounts", RateLimitBudget.ANALYTICS, 3)
+                .route(HttpMethod.GET, ApiPaths.TRADES + "/stats/counts", RateLimitBudget.ANALYTICS, 3)
+                .route(HttpMethod.GET, ApiPaths.TRADES + "/stats/inferred-account-counts", RateLimitBudget.ANALYTICS, 10)
+                .route(HttpMethod.GET, ApiPaths.ADMIN_METRICS, RateLimitBudget.ANALYTICS, 5)
+                .route(HttpMethod.GET, ApiPaths.ADMIN_USERS, RateLimitBudget.ANALYTICS, 5)
+                .route(HttpMethod.GET, ApiPaths.ADMIN_USERS + "/{userId}/trade-history", RateLimitBudget.ANALYTICS, 5)
+                .route(HttpMethod.GET, ApiPaths.ADMIN_USERS + "/{userId}/trade-history/stream", RateLimitBudget.ANALYTICS, 20);
+    }
+
+    public RateLimitRouteTable route(HttpMethod method, String pattern, RateLimitBudget budget, int cost) {
+        Node node = roots.computeIfAbsent(method, m -> new Node());
+        for (String segment : StringUtils.tokenizeToStringArray(pattern, "/")) {
+            if (segment.startsWith("{") && segment.endsWith("}")) {
+                if (node.variable == null) {
+                    node.variable = new Node();
+                }
+                node = node.variable;
+            } else {
+                node = node.literals.computeIfAbsent(segment, s -> new Node());
+            }
+        }
+        node.route = new RateLimitRoute(budget, Math.max(1, cost));
+        return this;
+    }
+
+    public RateLimitRoute resolve(String method, String path) {
+        HttpMethod httpMethod = method == null ? HttpMethod.GET : HttpMethod.valueOf(method);
+        Node root = roots.get(httpMethod);
+        RateLimitRoute route = null;
+        if (root != null && path != null) {
+            route = match(root, StringUtils.tokenizeToStringArray(path, "/"), 0);
+        }
+        if (route != null) {
+            return route;
+        }
+        return isSafe(httpMethod) ? RateLimitRoute.DEFAULT_READ : RateLimitRoute.DEFAULT_WRITE;
+    }
+
+    private RateLimitRoute match(Node node, String[] segments, int index) {
+        if (index == segments.length) {
+            return node.route;
+        }
+        Node literal = node.literals.get(segments[index]);
+        if (literal != null) {
+            RateLimitRoute route = match(literal, segments, index + 1);
+            if (route != null) {
+                return route;
+            }
+        }
+        return node.variable == null ? null : match(node.variable, segments, index + 1);
+    }
+
+    private static boolean isSafe(HttpMethod method) {
+        return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method);
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private Node variable;
+        private RateLimitRoute route;
+    }
+}
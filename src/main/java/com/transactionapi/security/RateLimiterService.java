@@ -1,73 +1,47 @@
 package com.transactionapi.security;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class RateLimiterService {
 
-    private final int maxRequests;
-    private final int maxPublicShareRequests;
-    private final long windowMillis;
-    private final int maxBuckets;
-    private final Map<String, ConcurrentLinkedDeque<Long>> buckets = new ConcurrentHashMap<>();
+    private final RateLimitBackend backend;
+    private final Map<RateLimitBudget, Integer> limits = new EnumMap<>(RateLimitBudget.class);
+    private final Map<RateLimitBudget, Counter> rejections = new EnumMap<>(RateLimitBudget.class);
 
     public RateLimiterService(
-            @Value("${app.rate-limit.per-minute:100}") int maxRequests,
-            @Value("${app.rate-limit.public-share-per-minute:20}") int maxPublicShareRequests,
-            @Value("${app.rate-limit.window-ms:60000}") long windowMillis,
-            @Value("${app.rate-limit.max-buckets:10000}") int maxBuckets
+            RateLimitBackend backend,
+            MeterRegistry meterRegistry,
+            @Value("${app.rate-limit.per-minute:100}") int maxReadRequests,
+            @Value("${app.rate-limit.write-per-minute:60}") int maxWriteRequests,
+            @Value("${app.rate-limit.analytics-per-minute:60}") int maxAnalyticsRequests,
+            @Value("${app.rate-limit.public-share-per-minute:20}") int maxPublicShareRequests
     ) {
-        this.maxRequests = maxRequests;
-        this.maxPublicShareRequests = maxPublicShareRequests;
-        this.windowMillis = windowMillis;
-        this.maxBuckets = Math.max(1, maxBuckets);
-    }
-
-    public boolean allow(String userId) {
-        return allowWithLimit(userId, maxRequests);
-    }
-
-    public boolean allowPublicShare(String ipAddress) {
-        return allowWithLimit("ip:" + ipAddress, maxPublicShareRequests);
-    }
-
-    private boolean allowWithLimit(String key, int limit) {
-        long now = System.currentTimeMillis();
-        long cutoff = now - windowMillis;
-
-        ConcurrentLinkedDeque<Long> deque = buckets.get(key);
-        if (deque == null) {
-            cleanupExpiredBuckets(cutoff);
-            if (buckets.size() >= maxBuckets) {
-                return false;
-            }
-            deque = buckets.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+        this.backend = backend;
+        limits.put(RateLimitBudget.READ, maxReadRequests);
+        limits.put(RateLimitBudget.WRITE, maxWriteRequests);
+        limits.put(RateLimitBudget.ANALYTICS, maxAnalyticsRequests);
+        limits.put(RateLimitBudget.PUBLIC_SHARE, maxPublicShareRequests);
+        for (RateLimitBudget budget : RateLimitBudget.values()) {
+            rejections.put(budget, Counter.builder("rate.limit.rejections")
+                    .tag("budget", budget.name().toLowerCase(Locale.ROOT))
+                    .tag("key", budget == RateLimitBudget.PUBLIC_SHARE ? "ip" : "user")
+                    .description("Requests rejected because their rate limit bucket was empty")
+                    .register(meterRegistry));
         }
-
-        while (!deque.isEmpty() && deque.peekFirst() < cutoff) {
-            deque.pollFirst();
-        }
-
-        if (deque.size() >= limit) {
-            return false;
-        }
-
-        deque.addLast(now);
-        return true;
     }
 
-    private void cleanupExpiredBuckets(long cutoff) {
-        buckets.forEach((bucketKey, deque) -> {
-            while (!deque.isEmpty() && deque.peekFirst() < cutoff) {
-                deque.pollFirst();
-            }
-            if (deque.isEmpty()) {
-                buckets.remove(bucketKey, deque);
-            }
-        });
+    public RateLimitDecision acquire(String subject, RateLimitBudget budget, int cost) {
+        RateLimitDecision decision = backend.tryAcquire(budget.bucketKey(subject), limits.get(budget), cost);
+        if (!decision.allowed()) {
+            rejections.get(budget).increment();
+        }
+        return decision;
     }
 }
@@ -1,12 +1,12 @@
 package com.transactionapi.security;
 
-import com.transactionapi.constants.ApiPaths;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,6 +18,7 @@ public class RateLimitingFilter extends OncePerRequestFilter {
 
     private final RateLimiterService rateLimiterService;
     private final UserIdResolver userIdResolver;
+    private final RateLimitRouteTable routes = RateLimitRouteTable.defaults();
 
     @Value("${app.rate-limit.trust-forwarded-headers:false}")
     private boolean trustForwardedHeaders;
@@ -33,22 +34,21 @@ public class RateLimitingFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain
     ) throws ServletException, IOException {
-        String requestPath = request.getRequestURI();
-        String method = request.getMethod();
+        RateLimitRoute route = routes.resolve(request.getMethod(), request.getRequestURI());
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         // Public share endpoint: IP-based rate limiting for unauthenticated, user-based for authenticated
-        if ("GET".equals(method) && requestPath != null && requestPath.matches(ApiPaths.SHARES + "/[^/]+")) {
+        if (route.budget() == RateLimitBudget.PUBLIC_SHARE) {
             if (authentication == null || !authentication.isAuthenticated()) {
                 String ipAddress = getClientIp(request);
-                if (!rateLimiterService.allowPublicShare(ipAddress)) {
-                    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-                    response.getWriter().write("Too many requests. Please try again later.");
+                RateLimitDecision decision = rateLimiterService.acquire(ipAddress, RateLimitBudget.PUBLIC_SHARE, route.cost());
+                if (!applyDecision(decision, response, "Too many requests. Please try again later.")) {
                     return;
                 }
                 filterChain.doFilter(request, response);
                 return;
             }
+            route = new RateLimitRoute(RateLimitBudget.READ, route.cost());
         }
 
         if (authentication == null || !authentication.isAuthenticated()) {
@@ -64,15 +64,35 @@ public class RateLimitingFilter extends OncePerRequestFilter {
             return;
         }
 
-        if (!rateLimiterService.allow(userId)) {
-            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-            response.getWriter().write("Too many requests");
+        RateLimitDecision decision = rateLimiterService.acquire(userId, route.budget(), route.cost());
+        if (!applyDecision(decision, response, "Too many requests")) {
             return;
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private boolean applyDecision(
+            RateLimitDecision decision,
+            HttpServletResponse response,
+            String message
+    ) throws IOException {
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(decision.resetMillis())));
+        if (decision.allowed()) {
+            return true;
+        }
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, toSeconds(decision.retryAfterMillis()))));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.getWriter().write(message);
+        return false;
+    }
+
+    private static long toSeconds(long millis) {
+        return (millis + 999) / 1000;
+    }
+
     private String getClientIp(HttpServletRequest request) {
         if (!trustForwardedHeaders) {
             return request.getRemoteAddr() != null ? request.getRemoteAddr() : "unknown";
@@ -1,84 +1,268 @@
 package com.transactionapi.security;
 
 import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
 import com.nimbusds.jose.proc.JWSVerificationKeySelector;
 import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTParser;
+import com.nimbusds.jwt.SignedJWT;
 import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.text.ParseException;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.oauth2.core.OAuth2TokenValidator;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 
+/**
+ * Decodes tokens against a JWKS loaded from a supplier. The key set is refreshed in the
+ * background once it is within the last fifth of {@code refreshInterval}, and requests keep using
+ * the cached set while that refresh runs. If refreshes keep failing, the set is trusted for
+ * {@code maxStale} past {@code refreshInterval}; after that each request reloads synchronously and
+ * is rejected when the reload fails. A token whose {@code kid} is not in the cached set forces a
+ * synchronous refresh, at most once per {@code minForcedRefreshInterval}, so malformed or forged
+ * tokens cannot drive JWKS fetches. Loads run under a lock rather than a monitor so a slow fetch
+ * doesn't pin virtual threads.
+ */
 public class RefreshingJwkSetJwtDecoder implements JwtDecoder {
 
+    private static final Logger log = LoggerFactory.getLogger(RefreshingJwkSetJwtDecoder.class);
+
     private final Supplier<String> jwkSetSupplier;
     private final Set<JWSAlgorithm> jwsAlgorithms;
     private final Duration refreshInterval;
+    private final Duration refreshAhead;
+    private final Duration maxStale;
+    private final Duration minForcedRefreshInterval;
     private final OAuth2TokenValidator<Jwt> jwtValidator;
+    private final Executor refreshExecutor;
     private final Clock clock;
+    private final Timer fetchTimer;
+    private final Counter fetchFailures;
+    private final Counter forcedRefreshes;
+    private final AtomicBoolean refreshInFlight = new AtomicBoolean();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final List<Runnable> keySetChangeListeners = new CopyOnWriteArrayList<>();
     private volatile CachedDecoder cachedDecoder;
+    private volatile Instant lastForcedRefresh = Instant.MIN;
+    private volatile Instant nextBackgroundAttempt = Instant.MIN;
 
     public RefreshingJwkSetJwtDecoder(
             Supplier<String> jwkSetSupplier,
             Set<JWSAlgorithm> jwsAlgorithms,
             Duration refreshInterval,
-            OAuth2TokenValidator<Jwt> jwtValidator
+            Duration maxStale,
+            Duration minForcedRefreshInterval,
+            OAuth2TokenValidator<Jwt> jwtValidator,
+            MeterRegistry meterRegistry
     ) {
-        this(jwkSetSupplier, jwsAlgorithms, refreshInterval, jwtValidator, Clock.systemUTC());
+        this(
+                jwkSetSupplier,
+                jwsAlgorithms,
+                refreshInterval,
+                maxStale,
+                minForcedRefreshInterval,
+                jwtValidator,
+                meterRegistry,
+                Executors.newSingleThreadExecutor(Thread.ofPlatform().name("jwks-refresh").daemon().factory()),
+                Clock.systemUTC()
+        );
     }
 
     RefreshingJwkSetJwtDecoder(
             Supplier<String> jwkSetSupplier,
             Set<JWSAlgorithm> jwsAlgorithms,
             Duration refreshInterval,
+            Duration maxStale,
+            Duration minForcedRefreshInterval,
             OAuth2TokenValidator<Jwt> jwtValidator,
+            MeterRegistry meterRegistry,
+            Executor refreshExecutor,
             Clock clock
     ) {
         this.jwkSetSupplier = jwkSetSupplier;
         this.jwsAlgorithms = jwsAlgorithms;
         this.refreshInterval = refreshInterval;
+        this.refreshAhead = refreshInterval.dividedBy(5);
+        this.maxStale = maxStale;
+        this.minForcedRefreshInterval = minForcedRefreshInterval;
         this.jwtValidator = jwtValidator;
+        this.refreshExecutor = refreshExecutor;
         this.clock = clock;
+        this.fetchTimer = Timer.builder("jwks.fetch")
+                .description("Time spent loading and parsing the JWKS")
+                .register(meterRegistry);
+        this.fetchFailures = Counter.builder("jwks.fetch.failures")
+                .description("JWKS loads that failed")
+                .register(meterRegistry);
+        this.forcedRefreshes = Counter.builder("jwks.refresh.forced")
+                .description("Synchronous JWKS refreshes triggered by an unknown key id")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stops the background refresh thread. Called when the owning bean is destroyed.
+     */
+    public void shutdown() {
+        if (refreshExecutor instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Registers a callback run after a refresh loads a key set that differs from the previous one.
+     */
+    public void addKeySetChangeListener(Runnable listener) {
+        keySetChangeListeners.add(listener);
     }
 
     @Override
     public Jwt decode(String token) throws JwtException {
-        NimbusJwtDecoder decoder = getDecoder(false);
-        try {
-            return decoder.decode(token);
-        } catch (JwtException ex) {
-            NimbusJwtDecoder refreshed = getDecoder(true);
-            if (refreshed != decoder) {
-                return refreshed.decode(token);
-            }
-            throw ex;
+        CachedDecoder current = currentDecoder();
+        String keyId = keyId(token);
+        if (keyId != null && !current.keyIds().contains(keyId)) {
+            current = forceRefresh(current);
         }
+        return current.decoder().decode(token);
     }
 
-    private NimbusJwtDecoder getDecoder(boolean forceRefresh) {
+    private CachedDecoder currentDecoder() {
         CachedDecoder current = cachedDecoder;
         Instant now = clock.instant();
-        if (!forceRefresh && current != null && now.isBefore(current.refreshAfter())) {
-            return current.decoder();
+        if (current == null || !now.isBefore(current.expiresAt())) {
+            return loadExpired();
+        }
+        if (!now.isBefore(current.refreshAfter().minus(refreshAhead)) && !now.isBefore(nextBackgroundAttempt)) {
+            refreshInBackground();
+        }
+        return current;
+    }
+
+    private void refreshInBackground() {
+        if (!refreshInFlight.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                loadLock.lock();
+                try {
+                    load();
+                } catch (JwtException ex) {
+                    nextBackgroundAttempt = clock.instant().plus(minForcedRefreshInterval);
+                    log.warn("Background JWKS refresh failed, keeping cached keys until they expire: {}", ex.getMessage());
+                } finally {
+                    loadLock.unlock();
+                    refreshInFlight.set(false);
+                }
+            });
+        } catch (RuntimeException ex) {
+            refreshInFlight.set(false);
+            log.warn("Unable to schedule JWKS refresh: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Loads the key set when there is none or it is past {@code maxStale}. A failed reload drops the
+     * expired set, and tells listeners so tokens verified with it stop being served from caches.
+     */
+    private CachedDecoder loadExpired() {
+        loadLock.lock();
+        try {
+            CachedDecoder current = cachedDecoder;
+            if (current != null && clock.instant().isBefore(current.expiresAt())) {
+                return current;
+            }
+            try {
+                return load();
+            } catch (JwtException ex) {
+                if (current != null) {
+                    cachedDecoder = null;
+                    log.warn("JWKS refresh failed past max staleness, rejecting tokens: {}", ex.getMessage());
+                    keySetChangeListeners.forEach(Runnable::run);
+                }
+                throw ex;
+            }
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private CachedDecoder forceRefresh(CachedDecoder seen) {
+        loadLock.lock();
+        try {
+            CachedDecoder current = cachedDecoder;
+            if (current != seen && current != null) {
+                return current;
+            }
+            if (current == null) {
+                return load();
+            }
+            Instant now = clock.instant();
+            if (now.isBefore(lastForcedRefresh.plus(minForcedRefreshInterval))) {
+                return current;
+            }
+            lastForcedRefresh = now;
+            forcedRefreshes.increment();
+            try {
+                return load();
+            } catch (JwtException ex) {
+                log.warn("Forced JWKS refresh failed, keeping cached keys until they expire: {}", ex.getMessage());
+                return current;
+            }
+        } finally {
+            loadLock.unlock();
         }
-        synchronized (this) {
-            current = cachedDecoder;
-            now = clock.instant();
-            if (!forceRefresh && current != null && now.isBefore(current.refreshAfter())) {
-                return current.decoder();
+    }
+
+    // Callers hold loadLock so loads never overlap.
+    private CachedDecoder load() {
+        Timer.Sample sample = Timer.start();
+        try {
+            String jwks = loadJwkSet();
+            JWKSet jwkSet = parseJwkSet(jwks);
+            CachedDecoder previous = cachedDecoder;
+            CachedDecoder loaded = new CachedDecoder(
+                    buildDecoder(jwkSet),
+                    jwks,
+                    jwkSet.getKeys().stream()
+                            .map(JWK::getKeyID)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toUnmodifiableSet()),
+                    clock.instant().plus(refreshInterval),
+                    clock.instant().plus(refreshInterval).plus(maxStale)
+            );
+            cachedDecoder = loaded;
+            if (previous != null && !previous.jwks().equals(jwks)) {
+                keySetChangeListeners.forEach(Runnable::run);
             }
-            NimbusJwtDecoder decoder = buildDecoder(loadJwkSet());
-            cachedDecoder = new CachedDecoder(decoder, now.plus(refreshInterval));
-            return decoder;
+            return loaded;
+        } catch (JwtException ex) {
+            fetchFailures.increment();
+            throw ex;
+        } finally {
+            sample.stop(fetchTimer);
         }
     }
 
@@ -90,14 +274,15 @@ public class RefreshingJwkSetJwtDecoder implements JwtDecoder {
         }
     }
 
-    private NimbusJwtDecoder buildDecoder(String jwks) {
-        JWKSet jwkSet;
+    private JWKSet parseJwkSet(String jwks) {
         try {
-            jwkSet = JWKSet.parse(jwks);
+            return JWKSet.parse(jwks);
         } catch (ParseException ex) {
             throw new JwtException("Invalid JWKS JSON", ex);
         }
+    }
 
+    private NimbusJwtDecoder buildDecoder(JWKSet jwkSet) {
         DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
         jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(
                 jwsAlgorithms,
@@ -109,6 +294,16 @@ public class RefreshingJwkSetJwtDecoder implements JwtDecoder {
         return decoder;
     }
 
-    private record CachedDecoder(NimbusJwtDecoder decoder, Instant refreshAfter) {
+    private static String keyId(String token) {
+        try {
+            JWT jwt = JWTParser.parse(token);
+            return jwt instanceof SignedJWT signed ? signed.getHeader().getKeyID() : null;
+        } catch (ParseException ex) {
+            return null;
+        }
+    }
+
+    private record CachedDecoder(NimbusJwtDecoder decoder, String jwks, Set<String> keyIds, Instant refreshAfter,
+            Instant expiresAt) {
     }
 }
@@ -7,6 +7,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.config.Customizer;
@@ -17,6 +18,8 @@ import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 import org.springframework.security.web.csrf.CsrfTokenRequestAttributeHandler;
 import org.springframework.security.web.util.matcher.RequestMatcher;
@@ -25,6 +28,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -52,6 +56,24 @@ public class SecurityConfig {
     @Value("${server.servlet.session.cookie.secure:true}")
     private boolean sessionCookieSecure;
 
+    @Value("${server.servlet.session.cookie.same-site:lax}")
+    private String sessionCookieSameSite;
+
+    @Value("${server.servlet.session.timeout:PT2H}")
+    private Duration sessionTimeout;
+
+    @Value("${app.security.session.mode:server}")
+    private String sessionMode;
+
+    @Value("${app.security.session.signing-keys:}")
+    private String sessionSigningKeys;
+
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     private final ObjectProvider<JwtDecoder> jwtDecoderProvider;
 
     public SecurityConfig(
@@ -69,18 +91,25 @@ public class SecurityConfig {
     }
 
     @Bean
-    SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            SecurityContextRepository securityContextRepository
+    ) throws Exception {
         http.csrf(csrf -> csrf
                 .csrfTokenRepository(cookieCsrfTokenRepository())
                 .csrfTokenRequestHandler(new CsrfTokenRequestAttributeHandler())
                 .requireCsrfProtectionMatcher(csrfProtectionMatcher())
         );
         http.cors(Customizer.withDefaults());
-        http.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED));
+        http.securityContext(context -> context.securityContextRepository(securityContextRepository));
+        http.sessionManagement(session -> session.sessionCreationPolicy(
+                isStatelessSessionMode() ? SessionCreationPolicy.STATELESS : SessionCreationPolicy.IF_REQUIRED
+        ));
         http.authorizeHttpRequests(auth -> auth
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                .requestMatchers(managementPortMatcher()).permitAll()
                 .requestMatchers("/", ApiPaths.HEALTH, ApiPaths.AUTH_CSRF, ApiPaths.AUTH_LOGIN, ApiPaths.AUTH_LOGOUT).permitAll()
-                .requestMatchers(HttpMethod.GET, ApiPaths.SHARES + "/*").permitAll()
+                .requestMatchers(HttpMethod.GET, ApiPaths.SHARES + "/*", ApiPaths.SHARES + "/*/data").permitAll()
                 .anyRequest().authenticated()
         );
         http.exceptionHandling(ex -> ex
@@ -98,6 +127,23 @@ public class SecurityConfig {
         return http.build();
     }
 
+    @Bean
+    SecurityContextRepository securityContextRepository() {
+        if (isStatelessSessionMode()) {
+            return new SignedCookieSecurityContextRepository(
+                    sessionSigningKeys,
+                    sessionTimeout,
+                    sessionCookieSecure,
+                    sessionCookieSameSite
+            );
+        }
+        return new HttpSessionSecurityContextRepository();
+    }
+
+    private boolean isStatelessSessionMode() {
+        return "stateless".equalsIgnoreCase(sessionMode);
+    }
+
     private CookieCsrfTokenRepository cookieCsrfTokenRepository() {
         CookieCsrfTokenRepository repository = CookieCsrfTokenRepository.withHttpOnlyFalse();
         repository.setCookiePath("/");
@@ -107,6 +153,17 @@ public class SecurityConfig {
         return repository;
     }
 
+    /**
+     * Actuator endpoints are only served on the separate management port, which is not routed
+     * publicly, so scrapes there need no credentials. Nothing is opened when management shares the
+     * application port.
+     */
+    private RequestMatcher managementPortMatcher() {
+        return request -> managementPort > 0
+                && managementPort != serverPort
+                && request.getLocalPort() == managementPort;
+    }
+
     private RequestMatcher csrfProtectionMatcher() {
         return request -> {
             String method = request.getMethod();
@@ -131,6 +188,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList(allowedOrigins));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "X-XSRF-TOKEN", "X-User-Id"));
+        configuration.setExposedHeaders(List.of(HttpHeaders.RETRY_AFTER));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -32,6 +32,12 @@ public class SecurityStartupValidator {
     @Value("${server.servlet.session.cookie.same-site:lax}")
     private String sessionCookieSameSite;
 
+    @Value("${app.security.session.mode:server}")
+    private String sessionMode;
+
+    @Value("${app.security.session.signing-keys:}")
+    private String sessionSigningKeys;
+
     public SecurityStartupValidator(Environment environment) {
         this.environment = environment;
     }
@@ -61,6 +67,15 @@ public class SecurityStartupValidator {
         if (!isValidSameSite(sessionCookieSameSite)) {
             problems.add("server.servlet.session.cookie.same-site must be lax, strict, or none");
         }
+        if ("stateless".equalsIgnoreCase(sessionMode)) {
+            try {
+                SignedCookieSecurityContextRepository.parseSigningKeys(sessionSigningKeys);
+            } catch (IllegalStateException ex) {
+                problems.add("app.security.session.signing-keys: " + ex.getMessage());
+            }
+        } else if (sessionMode != null && !"server".equalsIgnoreCase(sessionMode)) {
+            problems.add("app.security.session.mode must be server or stateless");
+        }
 
         if (!problems.isEmpty()) {
             throw new IllegalStateException(
@@ -0,0 +1,307 @@
+package com.transactionapi.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.DeferredSecurityContext;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Keeps the browser session in an HMAC-signed cookie instead of an {@code HttpSession}, so any
+ * instance can authenticate a request without shared storage or I/O. The token is
+ * {@code kid.payload.signature}, where the payload is base64url JSON holding the
+ * {@link AuthenticatedUserPrincipal} and its issue and expiry times.
+ *
+ * <p>Signing keys are configured as {@code kid:base64-secret} pairs. The first key signs new
+ * tokens and every listed key is accepted for verification, so a key can be rotated by
+ * prepending the new one and removing the old one after a session timeout has passed.
+ *
+ * <p>The timeout is an idle timeout: once more than half of a cookie's lifetime has passed, loading
+ * it re-issues the cookie on the current response with a fresh expiry.
+ */
+public class SignedCookieSecurityContextRepository implements SecurityContextRepository {
+
+    public static final String COOKIE_NAME = "SESSION_TOKEN";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int MIN_KEY_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final Map<String, SecretKeySpec> keys;
+    private final String activeKeyId;
+    private final Duration timeout;
+    private final boolean secureCookie;
+    private final String sameSite;
+    private final Clock clock;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public SignedCookieSecurityContextRepository(
+            String signingKeys,
+            Duration timeout,
+            boolean secureCookie,
+            String sameSite
+    ) {
+        this(signingKeys, timeout, secureCookie, sameSite, Clock.systemUTC());
+    }
+
+    SignedCookieSecurityContextRepository(
+            String signingKeys,
+            Duration timeout,
+            boolean secureCookie,
+            String sameSite,
+            Clock clock
+    ) {
+        this.keys = parseSigningKeys(signingKeys);
+        this.activeKeyId = keys.keySet().iterator().next();
+        this.timeout = timeout;
+        this.secureCookie = secureCookie;
+        this.sameSite = sameSite;
+        this.clock = clock;
+    }
+
+    /**
+     * Parses {@code kid:base64-secret} pairs, keeping their order. Fails if none are given or any
+     * secret is shorter than 256 bits.
+     */
+    public static Map<String, SecretKeySpec> parseSigningKeys(String signingKeys) {
+        Map<String, SecretKeySpec> parsed = new LinkedHashMap<>();
+        if (StringUtils.hasText(signingKeys)) {
+            for (String entry : signingKeys.split(",")) {
+                String trimmed = entry.trim();
+                int separator = trimmed.indexOf(':');
+                if (separator <= 0 || trimmed.substring(0, separator).contains(".")) {
+                    throw new IllegalStateException("Session signing keys must be kid:base64-secret pairs");
+                }
+                byte[] secret;
+                try {
+                    secret = Base64.getDecoder().decode(trimmed.substring(separator + 1));
+                } catch (IllegalArgumentException ex) {
+                    throw new IllegalStateException("Session signing key is not valid base64", ex);
+                }
+                if (secret.length < MIN_KEY_BYTES) {
+                    throw new IllegalStateException("Session signing keys must be at least 256 bits");
+                }
+                parsed.put(trimmed.substring(0, separator), new SecretKeySpec(secret, HMAC_ALGORITHM));
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalStateException("At least one session signing key is required");
+        }
+        return Collections.unmodifiableMap(parsed);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public SecurityContext loadContext(HttpRequestResponseHolder requestResponseHolder) {
+        return loadDeferredContext(requestResponseHolder.getRequest()).get();
+    }
+
+    @Override
+    public DeferredSecurityContext loadDeferredContext(HttpServletRequest request) {
+        return new LazyContext(() -> readPrincipal(request));
+    }
+
+    @Override
+    public void saveContext(SecurityContext context, HttpServletRequest request, HttpServletResponse response) {
+        Authentication authentication = context == null ? null : context.getAuthentication();
+        if (authentication == null) {
+            if (readCookie(request) != null) {
+                writeCookie(response, "", Duration.ZERO);
+            }
+            return;
+        }
+        if (authentication.getPrincipal() instanceof AuthenticatedUserPrincipal principal) {
+            writeCookie(response, sign(principal), timeout);
+        }
+    }
+
+    @Override
+    public boolean containsContext(HttpServletRequest request) {
+        String token = readCookie(request);
+        return token != null && verify(token) != null;
+    }
+
+    String sign(AuthenticatedUserPrincipal principal) {
+        Instant issuedAt = clock.instant();
+        SessionClaims claims = new SessionClaims(
+                principal.authId(),
+                principal.email(),
+                principal.name(),
+                principal.legalAccepted(),
+                issuedAt.getEpochSecond(),
+                issuedAt.plus(timeout).getEpochSecond()
+        );
+        String payload;
+        try {
+            payload = ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to encode session", ex);
+        }
+        String signed = activeKeyId + "." + payload;
+        return signed + "." + ENCODER.encodeToString(hmac(keys.get(activeKeyId), signed));
+    }
+
+    AuthenticatedUserPrincipal verify(String token) {
+        SessionClaims claims = verifiedClaims(token);
+        return claims == null ? null : claims.principal();
+    }
+
+    private SessionClaims verifiedClaims(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length != 3) {
+            return null;
+        }
+        SecretKeySpec key = keys.get(parts[0]);
+        if (key == null) {
+            return null;
+        }
+        byte[] expected = hmac(key, parts[0] + "." + parts[1]);
+        byte[] actual;
+        try {
+            actual = DECODER.decode(parts[2]);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return null;
+        }
+        SessionClaims claims;
+        try {
+            claims = objectMapper.readValue(DECODER.decode(parts[1]), SessionClaims.class);
+        } catch (IllegalArgumentException | IOException ex) {
+            return null;
+        }
+        if (claims.sub() == null || clock.instant().getEpochSecond() >= claims.exp()) {
+            return null;
+        }
+        return claims;
+    }
+
+    private SecurityContext readPrincipal(HttpServletRequest request) {
+        String token = readCookie(request);
+        SessionClaims claims = token == null ? null : verifiedClaims(token);
+        if (claims == null) {
+            return null;
+        }
+        AuthenticatedUserPrincipal principal = claims.principal();
+        if (clock.instant().getEpochSecond() - claims.iat() > timeout.toSeconds() / 2) {
+            renew(principal);
+        }
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+        return context;
+    }
+
+    /**
+     * Re-issues the cookie on the response bound to the current request, if there is one that has
+     * not been committed yet.
+     */
+    private void renew(AuthenticatedUserPrincipal principal) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        HttpServletResponse response = attributes instanceof ServletRequestAttributes servletAttributes
+                ? servletAttributes.getResponse()
+                : null;
+        if (response != null && !response.isCommitted()) {
+            writeCookie(response, sign(principal), timeout);
+        }
+    }
+
+    private String readCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName()) && StringUtils.hasText(cookie.getValue())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    private void writeCookie(HttpServletResponse response, String value, Duration maxAge) {
+        ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, value)
+                .httpOnly(true)
+                .secure(secureCookie)
+                .sameSite(sameSite)
+                .path("/")
+                .maxAge(maxAge)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private static byte[] hmac(SecretKeySpec key, String value) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(value.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to sign session", ex);
+        }
+    }
+
+    private record SessionClaims(String sub, String email, String name, boolean legal, long iat, long exp) {
+
+        private AuthenticatedUserPrincipal principal() {
+            return new AuthenticatedUserPrincipal(sub, email, name, legal);
+        }
+    }
+
+    private static final class LazyContext implements DeferredSecurityContext {
+
+        private final Supplier<SecurityContext> loader;
+        private SecurityContext context;
+        private boolean generated;
+
+        private LazyContext(Supplier<SecurityContext> loader) {
+            this.loader = loader;
+        }
+
+        @Override
+        public SecurityContext get() {
+            if (context == null) {
+                context = loader.get();
+                if (context == null) {
+                    context = SecurityContextHolder.createEmptyContext();
+                    generated = true;
+                }
+            }
+            return context;
+        }
+
+        @Override
+        public boolean isGenerated() {
+            get();
+            return generated;
+        }
+    }
+}
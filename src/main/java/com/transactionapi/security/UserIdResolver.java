@@ -119,7 +119,7 @@ public class UserIdResolver {
         return null;
     }
 
-    private String resolveAuthId(Authentication authentication) {
+    public String resolveAuthId(Authentication authentication) {
         if (authentication instanceof JwtAuthenticationToken jwtAuth) {
             Jwt jwt = jwtAuth.getToken();
             if (StringUtils.hasText(jwt.getSubject())) {
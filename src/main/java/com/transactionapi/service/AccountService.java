@@ -3,6 +3,7 @@ package com.transactionapi.service;
 import com.transactionapi.dto.AccountRequest;
 import com.transactionapi.model.Account;
 import com.transactionapi.repository.AccountRepository;
+import com.transactionapi.repository.UserRepository;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
@@ -16,9 +17,11 @@ import org.springframework.web.server.ResponseStatusException;
 public class AccountService {
 
     private final AccountRepository accountRepository;
+    private final UserRepository userRepository;
 
-    public AccountService(AccountRepository accountRepository) {
+    public AccountService(AccountRepository accountRepository, UserRepository userRepository) {
         this.accountRepository = accountRepository;
+        this.userRepository = userRepository;
     }
 
     public List<Account> listAccounts(String userId) {
@@ -67,5 +70,7 @@ public class AccountService {
         Account account = accountRepository.findByIdAndUserId(accountId, userId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found"));
         accountRepository.delete(account);
+        // Trades in the account are unassigned by the foreign key, which changes live share output.
+        userRepository.recordTradeWrite(userId, 0);
     }
 }
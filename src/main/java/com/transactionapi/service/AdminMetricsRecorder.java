@@ -0,0 +1,219 @@
+package com.transactionapi.service;
+
+import com.transactionapi.constants.CountedTable;
+import com.transactionapi.constants.DailyMetric;
+import jakarta.annotation.PreDestroy;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Buffers platform counters in memory and adds them to {@code daily_metrics},
+ * {@code table_row_counts} and {@code daily_active_users} on {@link #flush()}, so the admin
+ * metrics never need a full-table aggregate and no request contends on a shared counter row.
+ * Changes made inside a transaction are counted only once it commits. Counts that fail to flush
+ * are kept for the next attempt; counts still buffered when the process dies are lost.
+ */
+@Component
+public class AdminMetricsRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminMetricsRecorder.class);
+    private static final String ENSURE_METRIC_SQL = """
+            insert into daily_metrics (metric_date, metric, metric_value)
+            values (?, ?, 0)
+            on conflict do nothing
+            """;
+    private static final String ADD_METRIC_SQL =
+            "update daily_metrics set metric_value = metric_value + ? where metric_date = ? and metric = ?";
+    private static final String ADD_ROWS_SQL =
+            "update table_row_counts set row_count = row_count + ? where table_name = ?";
+    private static final String ACTIVE_USER_SQL = """
+            insert into daily_active_users (activity_date, user_id)
+            values (?, ?)
+            on conflict do nothing
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<MetricKey, LongAdder> pendingMetrics = new ConcurrentHashMap<>();
+    private final Map<CountedTable, LongAdder> pendingRows = new ConcurrentHashMap<>();
+    private final Set<ActiveUser> pendingActiveUsers = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<SeenUsers> seenUsers = new AtomicReference<>(new SeenUsers(today()));
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public AdminMetricsRecorder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void increment(DailyMetric metric) {
+        add(metric, 1);
+    }
+
+    public void add(DailyMetric metric, long delta) {
+        MetricKey key = new MetricKey(today(), metric);
+        afterCommit(() -> pendingMetrics.computeIfAbsent(key, k -> new LongAdder()).add(delta));
+    }
+
+    public void adjustRows(CountedTable table, long delta) {
+        afterCommit(() -> pendingRows.computeIfAbsent(table, k -> new LongAdder()).add(delta));
+    }
+
+    /**
+     * Marks {@code userId} active today. Users already seen today by this instance are skipped
+     * without touching the database.
+     */
+    public void recordActiveUser(String userId) {
+        LocalDate today = today();
+        SeenUsers seen = seenUsers.get();
+        if (!seen.day().equals(today)) {
+            seenUsers.compareAndSet(seen, new SeenUsers(today));
+            seen = seenUsers.get();
+        }
+        if (seen.userIds().add(userId)) {
+            pendingActiveUsers.add(new ActiveUser(today, userId));
+        }
+    }
+
+    /**
+     * Writes buffered counts and returns how many counter rows were updated.
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            flushActiveUsers();
+            return flushMetrics() + flushRows();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private void flushActiveUsers() {
+        List<ActiveUser> batch = new ArrayList<>(pendingActiveUsers);
+        if (batch.isEmpty()) {
+            return;
+        }
+        pendingActiveUsers.removeAll(batch);
+        try {
+            int[] inserted = jdbcTemplate.batchUpdate(
+                    ACTIVE_USER_SQL,
+                    batch.stream().map(user -> new Object[] {Date.valueOf(user.day()), user.userId()}).toList()
+            );
+            // Only users new to the table count, so instances that saw the same user agree.
+            for (int i = 0; i < inserted.length; i++) {
+                if (inserted[i] > 0) {
+                    pendingMetrics.computeIfAbsent(
+                            new MetricKey(batch.get(i).day(), DailyMetric.ACTIVE_USERS),
+                            k -> new LongAdder()
+                    ).increment();
+                }
+            }
+        } catch (DataAccessException ex) {
+            pendingActiveUsers.addAll(batch);
+            log.warn("Unable to flush active users, retrying later: {}", ex.getMessage());
+        }
+    }
+
+    private int flushMetrics() {
+        List<Object[]> ensure = new ArrayList<>();
+        List<Object[]> add = new ArrayList<>();
+        pendingMetrics.forEach((key, counter) -> {
+            long delta = counter.sumThenReset();
+            if (delta != 0) {
+                ensure.add(new Object[] {Date.valueOf(key.day()), key.metric().name()});
+                add.add(new Object[] {delta, Date.valueOf(key.day()), key.metric().name()});
+            } else {
+                pendingMetrics.computeIfPresent(key, (k, current) -> current.sum() == 0 ? null : current);
+            }
+        });
+        if (add.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(ENSURE_METRIC_SQL, ensure);
+            jdbcTemplate.batchUpdate(ADD_METRIC_SQL, add);
+            return add.size();
+        } catch (DataAccessException ex) {
+            for (Object[] row : add) {
+                MetricKey key = new MetricKey(((Date) row[1]).toLocalDate(), DailyMetric.valueOf((String) row[2]));
+                pendingMetrics.computeIfAbsent(key, k -> new LongAdder()).add((long) row[0]);
+            }
+            log.warn("Unable to flush daily metrics, retrying later: {}", ex.getMessage());
+            return 0;
+        }
+    }
+
+    private int flushRows() {
+        List<Object[]> batch = new ArrayList<>();
+        pendingRows.forEach((table, counter) -> {
+            long delta = counter.sumThenReset();
+            if (delta != 0) {
+                batch.add(new Object[] {delta, table.tableName()});
+            }
+        });
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(ADD_ROWS_SQL, batch);
+            return batch.size();
+        } catch (DataAccessException ex) {
+            for (Object[] row : batch) {
+                CountedTable table = CountedTable.valueOf(((String) row[1]).toUpperCase(Locale.ROOT));
+                pendingRows.computeIfAbsent(table, k -> new LongAdder()).add((long) row[0]);
+            }
+            log.warn("Unable to flush table row counts, retrying later: {}", ex.getMessage());
+            return 0;
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+    private record MetricKey(LocalDate day, DailyMetric metric) {
+    }
+
+    private record ActiveUser(LocalDate day, String userId) {
+    }
+
+    private record SeenUsers(LocalDate day, Set<String> userIds) {
+        private SeenUsers(LocalDate day) {
+            this(day, ConcurrentHashMap.newKeySet());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.transactionapi.service;
+
+import com.transactionapi.constants.DailyMetric;
+import com.transactionapi.dto.AdminMetricsResponse;
+import com.transactionapi.model.User;
+import com.transactionapi.repository.UserRepository;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reads the counters kept by {@link AdminMetricsRecorder}. Every query is a primary key range or
+ * an index-ordered top-N, so the cost does not grow with the size of the data tables.
+ */
+@Service
+public class AdminMetricsService {
+
+    private static final int MAX_DAYS = 366;
+    private static final int HEAVIEST_USERS = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+
+    public AdminMetricsService(JdbcTemplate jdbcTemplate, UserRepository userRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+    }
+
+    public AdminMetricsResponse getMetrics(int days) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDate from = today.minusDays(Math.min(Math.max(days, 1), MAX_DAYS) - 1L);
+
+        Map<LocalDate, Map<String, Long>> byDay = new TreeMap<>();
+        for (LocalDate day = today; !day.isBefore(from); day = day.minusDays(1)) {
+            Map<String, Long> metrics = new LinkedHashMap<>();
+            for (DailyMetric metric : DailyMetric.values()) {
+                metrics.put(metric.name(), 0L);
+            }
+            byDay.put(day, metrics);
+        }
+        jdbcTemplate.query(
+                "select metric_date, metric, metric_value from daily_metrics where metric_date between ? and ?",
+                rs -> {
+                    Map<String, Long> metrics = byDay.get(rs.getDate("metric_date").toLocalDate());
+                    if (metrics != null) {
+                        metrics.put(rs.getString("metric"), rs.getLong("metric_value"));
+                    }
+                },
+                Date.valueOf(from),
+                Date.valueOf(today)
+        );
+
+        Map<String, Long> tableRows = new TreeMap<>();
+        jdbcTemplate.query(
+                "select table_name, row_count from table_row_counts",
+                rs -> {
+                    tableRows.put(rs.getString("table_name"), rs.getLong("row_count"));
+                }
+        );
+
+        List<AdminMetricsResponse.HeavyUser> heaviestUsers = userRepository
+                .findByTradeCountGreaterThanOrderByTradeCountDesc(0, Limit.of(HEAVIEST_USERS))
+                .stream()
+                .map(AdminMetricsService::toHeavyUser)
+                .toList();
+
+        List<AdminMetricsResponse.Day> dayList = byDay.entrySet().stream()
+                .map(entry -> new AdminMetricsResponse.Day(entry.getKey(), entry.getValue()))
+                .toList()
+                .reversed();
+        return new AdminMetricsResponse(dayList, tableRows, heaviestUsers);
+    }
+
+    /**
+     * Drops per-user activity rows older than {@code retentionDays}; the daily totals are kept.
+     */
+    public int pruneActiveUsers(int retentionDays) {
+        LocalDate cutoff = LocalDate.now(ZoneOffset.UTC).minusDays(retentionDays);
+        return jdbcTemplate.update("delete from daily_active_users where activity_date < ?", Date.valueOf(cutoff));
+    }
+
+    private static AdminMetricsResponse.HeavyUser toHeavyUser(User user) {
+        return new AdminMetricsResponse.HeavyUser(user.getId(), user.getAuthId(), user.getEmail(), user.getTradeCount());
+    }
+}
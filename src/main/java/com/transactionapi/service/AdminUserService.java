@@ -0,0 +1,112 @@
+package com.transactionapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.transactionapi.dto.AdminUserResponse;
+import com.transactionapi.dto.CursorPageResponse;
+import com.transactionapi.dto.KeysetCursor;
+import com.transactionapi.dto.TradeHistoryResponse;
+import com.transactionapi.model.TradeHistory;
+import com.transactionapi.repository.TradeHistoryRepository;
+import com.transactionapi.repository.UserRepository;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Admin listings, paged by keyset on {@code (timestamp desc, id desc)} so every page costs the
+ * same however deep the admin scrolls.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AdminUserService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int STREAM_CHUNK_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final TradeHistoryRepository tradeHistoryRepository;
+    private final ObjectMapper objectMapper;
+
+    public AdminUserService(
+            UserRepository userRepository,
+            TradeHistoryRepository tradeHistoryRepository,
+            ObjectMapper objectMapper
+    ) {
+        this.userRepository = userRepository;
+        this.tradeHistoryRepository = tradeHistoryRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public CursorPageResponse<AdminUserResponse> listUsers(String cursor, int size) {
+        int boundedSize = boundSize(size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        List<AdminUserResponse> rows = userRepository.findAdminPage(position.at(), position.id(), boundedSize + 1)
+                .stream()
+                .map(AdminUserResponse::from)
+                .toList();
+        if (rows.size() <= boundedSize) {
+            return new CursorPageResponse<>(rows, null);
+        }
+        List<AdminUserResponse> items = rows.subList(0, boundedSize);
+        AdminUserResponse last = items.get(boundedSize - 1);
+        return new CursorPageResponse<>(items, new KeysetCursor(last.createdAt(), last.id()).encode());
+    }
+
+    public String requireAuthId(UUID userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"))
+                .getAuthId();
+    }
+
+    public CursorPageResponse<TradeHistoryResponse> listTradeHistory(String authId, String cursor, int size) {
+        int boundedSize = boundSize(size);
+        List<TradeHistory> rows = historyAfter(authId, KeysetCursor.decode(cursor), boundedSize + 1);
+        String nextCursor = null;
+        if (rows.size() > boundedSize) {
+            rows = rows.subList(0, boundedSize);
+            nextCursor = cursorOf(rows.get(boundedSize - 1)).encode();
+        }
+        return new CursorPageResponse<>(rows.stream().map(TradeHistoryResponse::from).toList(), nextCursor);
+    }
+
+    /**
+     * Writes a user's whole history as newline-delimited JSON, newest first. Rows are read in
+     * chunks, each in its own short read, so no connection is held while the client drains the
+     * response and memory stays bounded by one chunk.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamTradeHistory(String authId, OutputStream output) throws IOException {
+        KeysetCursor position = KeysetCursor.FIRST;
+        while (true) {
+            List<TradeHistory> chunk = historyAfter(authId, position, STREAM_CHUNK_SIZE);
+            for (TradeHistory history : chunk) {
+                output.write(objectMapper.writeValueAsBytes(TradeHistoryResponse.from(history)));
+                output.write('\n');
+            }
+            output.flush();
+            if (chunk.size() < STREAM_CHUNK_SIZE) {
+                return;
+            }
+            position = cursorOf(chunk.get(chunk.size() - 1));
+        }
+    }
+
+    private List<TradeHistory> historyAfter(String authId, KeysetCursor position, int limit) {
+        return tradeHistoryRepository.findPageByUserId(authId, position.at(), position.id(), Limit.of(limit));
+    }
+
+    private static KeysetCursor cursorOf(TradeHistory history) {
+        return new KeysetCursor(history.getActionAt(), history.getId());
+    }
+
+    private static int boundSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+}
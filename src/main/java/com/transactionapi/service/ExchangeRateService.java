@@ -3,6 +3,8 @@ package com.transactionapi.service;
 import com.transactionapi.constants.Currency;
 import com.transactionapi.model.ExchangeRate;
 import com.transactionapi.repository.ExchangeRateRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -44,11 +46,13 @@ public class ExchangeRateService {
     private final AtomicReference<LocalDate> lastUpdated = new AtomicReference<>();
     private final String fxSource;
     private final DynamoExchangeRateReader dynamoReader;
+    private final MeterRegistry meterRegistry;
 
     public ExchangeRateService(
             RestTemplateBuilder builder,
             ExchangeRateRepository exchangeRateRepository,
             ObjectProvider<DynamoExchangeRateReader> dynamoReaderProvider,
+            MeterRegistry meterRegistry,
             @Value("${app.fx.source:http}") String fxSource,
             @Value("${app.fx.cad-usd.url:https://bcd-api-dca-ipa.cbsa-asfc.cloud-nuage.canada.ca/exchange-rate-lambda/exchange-rates}") String endpoint,
             @Value("${app.fx.cad-usd.fallback:0.732}") BigDecimal fallbackRate,
@@ -57,6 +61,7 @@ public class ExchangeRateService {
     ) {
         this.exchangeRateRepository = exchangeRateRepository;
         this.dynamoReader = dynamoReaderProvider.getIfAvailable();
+        this.meterRegistry = meterRegistry;
         this.fxSource = normalizeSource(fxSource);
         this.endpoint = endpoint;
         this.fallbackRate = fallbackRate.setScale(3, RoundingMode.HALF_UP);
@@ -91,17 +96,19 @@ public class ExchangeRateService {
 
     @Scheduled(cron = "0 30 2 * * *")
     public void refreshDaily() {
-        if (useDynamo()) {
-            refreshFromDynamo();
-            return;
-        }
-        refreshFromEndpoint();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = useDynamo() ? refreshFromDynamo() : refreshFromEndpoint();
+        sample.stop(Timer.builder("fx.refresh")
+                .tag("source", fxSource)
+                .tag("outcome", outcome)
+                .description("Time spent refreshing the CAD/USD rate")
+                .register(meterRegistry));
     }
 
-    private void refreshFromDynamo() {
+    private String refreshFromDynamo() {
         if (dynamoReader == null) {
             log.warn("FX source set to dynamo but no DynamoExchangeRateReader bean found; keeping cached {}", cadToUsd.get());
-            return;
+            return "unavailable";
         }
         try {
             log.info("Refreshing CAD/USD rate from DynamoDB");
@@ -113,15 +120,17 @@ public class ExchangeRateService {
                 lastUpdated.set(quote.date());
                 persistRateQuote(new RateQuote(rate, quote.date()));
                 log.info("CAD/USD rate updated to {} on {}", rate, quote.date());
-            } else {
-                log.warn("No usable CAD/USD item in DynamoDB, keeping cached {}", cadToUsd.get());
+                return "updated";
             }
+            log.warn("No usable CAD/USD item in DynamoDB, keeping cached {}", cadToUsd.get());
+            return "missing";
         } catch (Exception ex) {
             log.warn("Unable to refresh CAD/USD from DynamoDB, keeping cached {}", cadToUsd.get(), ex);
+            return "failed";
         }
     }
 
-    private void refreshFromEndpoint() {
+    private String refreshFromEndpoint() {
         try {
             log.info("Refreshing CAD/USD rate from {}", endpoint);
             Map<?, ?> response = restTemplate.getForObject(endpoint, Map.class);
@@ -131,11 +140,13 @@ public class ExchangeRateService {
                 lastUpdated.set(quote.date());
                 persistRateQuote(quote);
                 log.info("CAD/USD rate updated to {} on {}", quote.rate(), quote.date());
-            } else {
-                log.warn("CAD/USD response missing usable rate, keeping cached {}", cadToUsd.get());
+                return "updated";
             }
+            log.warn("CAD/USD response missing usable rate, keeping cached {}", cadToUsd.get());
+            return "missing";
         } catch (Exception ex) {
             log.warn("Unable to refresh CAD/USD rate, keeping cached value {}", cadToUsd.get(), ex);
+            return "failed";
         }
     }
 
@@ -0,0 +1,170 @@
+package com.transactionapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.transactionapi.dto.LiveShareScope;
+import com.transactionapi.model.ShareLink;
+import com.transactionapi.repository.AccountRepository;
+import com.transactionapi.repository.UserRepository;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Renders live share links from the owner's current trades. Output is cached per code and keyed by
+ * the owner's data version plus the exchange rate, so a link costs one summary per change to the
+ * underlying data however many people view it. Concurrent views of a stale entry share a single
+ * render, and once {@code maxEntries} links are held new renders are served without being cached.
+ */
+@Component
+public class LiveShareRenderer {
+
+    private final TradeService tradeService;
+    private final UserRepository userRepository;
+    private final AccountRepository accountRepository;
+    private final ExchangeRateService exchangeRateService;
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+    private final Map<String, Rendered> rendered = new ConcurrentHashMap<>();
+
+    public LiveShareRenderer(
+            TradeService tradeService,
+            UserRepository userRepository,
+            AccountRepository accountRepository,
+            ExchangeRateService exchangeRateService,
+            ObjectMapper objectMapper,
+            @Value("${app.share-links.cache-max-entries:10000}") int maxEntries
+    ) {
+        this.tradeService = tradeService;
+        this.userRepository = userRepository;
+        this.accountRepository = accountRepository;
+        this.exchangeRateService = exchangeRateService;
+        this.objectMapper = objectMapper;
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * Validates a submitted scope against the owner's accounts and returns it as the JSON to store.
+     */
+    public String normalizeScope(String userId, String data) {
+        LiveShareScope scope = parseScope(data);
+        YearMonth month = parseMonth(scope);
+        if (scope.year() != null && month != null && month.getYear() != scope.year()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Live share month must fall in its year");
+        }
+        if (scope.accountId() != null && accountRepository.findByIdAndUserId(scope.accountId(), userId).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Account not found");
+        }
+        try {
+            return objectMapper.writeValueAsString(scope);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to encode live share scope", ex);
+        }
+    }
+
+    /**
+     * Returns a copy of {@code link} carrying the summary for its scope as of the owner's current
+     * data, with the ETag and gzip copy of that summary.
+     */
+    public ShareLink render(ShareLink link) {
+        String version = currentDataVersion(link.getUserId()) + ":" + exchangeRateService.cadToUsd().toPlainString();
+        CompletableFuture<Payload> claimed = new CompletableFuture<>();
+        Rendered entry = rendered.get(link.getCode());
+        if (entry == null || !entry.version().equals(version)) {
+            Rendered candidate = new Rendered(version, link.getExpiresAt(), claimed);
+            entry = entry == null && rendered.size() >= maxEntries
+                    ? candidate
+                    : rendered.compute(link.getCode(), (code, existing) ->
+                            existing != null && existing.version().equals(version) ? existing : candidate);
+        }
+
+        if (entry.payload() == claimed) {
+            try {
+                claimed.complete(renderPayload(link));
+            } catch (RuntimeException ex) {
+                rendered.remove(link.getCode(), entry);
+                claimed.completeExceptionally(ex);
+            }
+        }
+
+        Payload payload;
+        try {
+            payload = entry.payload().join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+        return link.withPayload(payload.data(), payload.etag(), payload.gzip());
+    }
+
+    public void invalidate(String code) {
+        rendered.remove(code);
+    }
+
+    public int evictExpired() {
+        Instant now = Instant.now();
+        int before = rendered.size();
+        rendered.values().removeIf(entry -> entry.expiresAt().isBefore(now));
+        return Math.max(0, before - rendered.size());
+    }
+
+    int size() {
+        return rendered.size();
+    }
+
+    private Payload renderPayload(ShareLink link) {
+        LiveShareScope scope = parseScope(link.getData());
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(tradeService.summarizeScope(
+                    link.getUserId(),
+                    scope.year(),
+                    parseMonth(scope),
+                    scope.accountId()
+            ));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to render live share", ex);
+        }
+        return new Payload(data, ShareLinkPayloads.etag(data), ShareLinkPayloads.gzip(data));
+    }
+
+    private long currentDataVersion(String userId) {
+        Long version = userRepository.findDataVersionByAuthId(userId);
+        return version != null ? version : 0L;
+    }
+
+    private LiveShareScope parseScope(String data) {
+        try {
+            return objectMapper.readValue(data, LiveShareScope.class);
+        } catch (JsonProcessingException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid live share scope");
+        }
+    }
+
+    private static YearMonth parseMonth(LiveShareScope scope) {
+        if (scope.month() == null) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(scope.month());
+        } catch (DateTimeException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Live share month must be YYYY-MM");
+        }
+    }
+
+    private record Payload(String data, String etag, byte[] gzip) {
+    }
+
+    private record Rendered(String version, Instant expiresAt, CompletableFuture<Payload> payload) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.transactionapi.service;
+
+import java.time.Duration;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Elects a single instance to run a scheduled job by holding a time-limited row in
+ * {@code scheduler_leases}. A lease is taken when it is free, expired, or already held by this
+ * instance, and lapses on its own if the holder dies, so no instance is stuck waiting on a crashed
+ * one for longer than the lease duration.
+ *
+ * <p>Lease times come from the database clock so skew between instances cannot hand the lease to
+ * two of them. Leases are not released after a run: a job whose cron fires a little later on
+ * another instance finds the lease still held and skips, so the lease duration must cover that
+ * spread as well as the run itself.
+ */
+@Service
+public class SchedulerLeaseService {
+
+    private static final String INSERT_SQL = """
+            insert into scheduler_leases (name, owner, lease_until)
+            values (?, ?, current_timestamp + cast(? as bigint) * interval '0.001' second)
+            on conflict do nothing
+            """;
+    private static final String TAKE_SQL = """
+            update scheduler_leases
+            set owner = ?, lease_until = current_timestamp + cast(? as bigint) * interval '0.001' second
+            where name = ?
+              and (lease_until < current_timestamp or owner = ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String owner = UUID.randomUUID().toString();
+
+    public SchedulerLeaseService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean tryAcquire(String name, Duration leaseDuration) {
+        long leaseMillis = leaseDuration.toMillis();
+        if (jdbcTemplate.update(INSERT_SQL, name, owner, leaseMillis) == 1) {
+            return true;
+        }
+        return jdbcTemplate.update(TAKE_SQL, owner, leaseMillis, name, owner) == 1;
+    }
+}
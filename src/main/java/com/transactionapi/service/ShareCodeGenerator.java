@@ -0,0 +1,65 @@
+package com.transactionapi.service;
+
+import java.security.SecureRandom;
+import java.util.random.RandomGenerator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates random share codes and lengthens them as the code space fills. A random code
+ * collides with probability equal to the fraction of codes already taken, so the observed
+ * collision rate is a direct occupancy estimate: once at least two collisions exceed one in a
+ * thousand recent attempts, new codes get one more character, up to {@link #MAX_LENGTH}.
+ */
+@Component
+public class ShareCodeGenerator {
+
+    static final int MIN_LENGTH = 8;
+    static final int MAX_LENGTH = 16;
+    private static final String CODE_CHARS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final long WINDOW = 10_000;
+
+    private final RandomGenerator random;
+    private volatile int length = MIN_LENGTH;
+    private long attempts;
+    private long collisions;
+
+    public ShareCodeGenerator() {
+        this(new SecureRandom());
+    }
+
+    ShareCodeGenerator(RandomGenerator random) {
+        this.random = random;
+    }
+
+    public String next() {
+        int codeLength = length;
+        StringBuilder code = new StringBuilder(codeLength);
+        for (int i = 0; i < codeLength; i++) {
+            code.append(CODE_CHARS.charAt(random.nextInt(CODE_CHARS.length())));
+        }
+        return code.toString();
+    }
+
+    /**
+     * Records whether an insert with a generated code hit an existing one.
+     */
+    public synchronized void recordAttempt(boolean collided) {
+        attempts++;
+        if (collided) {
+            collisions++;
+        }
+        if (collisions >= 2 && collisions * 1000 > attempts && length < MAX_LENGTH) {
+            length++;
+            attempts = 0;
+            collisions = 0;
+        } else if (attempts >= WINDOW) {
+            // Halve both counts so the estimate follows recent occupancy.
+            attempts /= 2;
+            collisions /= 2;
+        }
+    }
+
+    int length() {
+        return length;
+    }
+}
@@ -0,0 +1,103 @@
+package com.transactionapi.service;
+
+import com.transactionapi.model.ShareLink;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds recently served share links by code so repeat views skip the database. Entries are
+ * dropped when the link expires, when it is deleted on this instance, and after {@code ttl}, which
+ * bounds how long a link deleted on another instance can still be served. Missing codes are never
+ * cached, and once {@code maxEntries} links are held new links are served without being cached
+ * until the scheduled sweep makes room.
+ */
+@Component
+public class ShareLinkCache {
+
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Map<String, CachedShareLink> entries = new ConcurrentHashMap<>();
+
+    public ShareLinkCache(
+            @Value("${app.share-links.cache-ttl:PT1M}") Duration ttl,
+            @Value("${app.share-links.cache-max-entries:10000}") int maxEntries
+    ) {
+        this.ttl = ttl;
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    public Optional<CachedShareLink> get(String code, Function<String, Optional<ShareLink>> loader) {
+        Instant now = Instant.now();
+        CachedShareLink cached = entries.get(code);
+        if (cached != null) {
+            if (cached.isFresh(now)) {
+                return Optional.of(cached);
+            }
+            entries.remove(code, cached);
+        }
+
+        Optional<CachedShareLink> loaded = loader.apply(code)
+                .filter(link -> !link.getExpiresAt().isBefore(now))
+                .map(link -> new CachedShareLink(link, now.plus(ttl)));
+        loaded.ifPresent(link -> {
+            if (entries.size() < maxEntries) {
+                entries.put(code, link);
+            }
+        });
+        return loaded;
+    }
+
+    public void invalidate(String code) {
+        entries.remove(code);
+    }
+
+    public int evictExpired() {
+        Instant now = Instant.now();
+        int before = entries.size();
+        entries.values().removeIf(cached -> !cached.isFresh(now));
+        return Math.max(0, before - entries.size());
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * A cached link plus the views served from it since it was loaded, so responses can report a
+     * running access count without touching the shared entity.
+     */
+    public static final class CachedShareLink {
+
+        private final ShareLink link;
+        private final Instant staleAt;
+        private final LongAdder views = new LongAdder();
+
+        private CachedShareLink(ShareLink link, Instant staleAt) {
+            this.link = link;
+            this.staleAt = staleAt;
+        }
+
+        public ShareLink link() {
+            return link;
+        }
+
+        /**
+         * Counts a view and returns the access count to report for it.
+         */
+        public int recordAccess() {
+            views.increment();
+            return (int) Math.min(Integer.MAX_VALUE, link.getAccessCount() + views.sum());
+        }
+
+        private boolean isFresh(Instant now) {
+            return now.isBefore(staleAt) && !link.getExpiresAt().isBefore(now);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.transactionapi.service;
+
+import com.transactionapi.model.ShareLink;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Derives the cacheable forms of a share payload. Both are computed once from the data as
+ * submitted, because the {@code jsonb} column normalises whitespace and key order on read.
+ */
+public final class ShareLinkPayloads {
+
+    private ShareLinkPayloads() {
+    }
+
+    public static String etag(String data) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(data.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * Returns the stored ETag, or one computed from the current data for links created before
+     * ETags were stored.
+     */
+    public static String etag(ShareLink shareLink) {
+        return shareLink.getEtag() != null ? shareLink.getEtag() : etag(shareLink.getData());
+    }
+
+    public static byte[] gzip(String data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(data.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static byte[] gunzip(byte[] compressed) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return gzip.readAllBytes();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
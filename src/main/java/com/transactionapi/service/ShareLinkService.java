@@ -1,30 +1,55 @@
 package com.transactionapi.service;
 
+import com.transactionapi.config.DatabaseBulkhead;
+import com.transactionapi.constants.CountedTable;
+import com.transactionapi.constants.DailyMetric;
 import com.transactionapi.constants.ShareType;
 import com.transactionapi.model.ShareLink;
 import com.transactionapi.repository.ShareLinkRepository;
-import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @Transactional
 public class ShareLinkService {
 
-    private static final String CODE_CHARS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-    private static final int CODE_LENGTH = 8;
     private static final int MAX_CODE_GENERATION_ATTEMPTS = 10;
     private static final long MAX_EXPIRY_DAYS = 90;
-    private static final SecureRandom RANDOM = new SecureRandom();
 
     private final ShareLinkRepository shareLinkRepository;
-
-    public ShareLinkService(ShareLinkRepository shareLinkRepository) {
+    private final ShareLinkCache shareLinkCache;
+    private final ShareLinkAccessCounter shareLinkAccessCounter;
+    private final ShareCodeGenerator shareCodeGenerator;
+    private final LiveShareRenderer liveShareRenderer;
+    private final AdminMetricsRecorder adminMetricsRecorder;
+    private final ObjectProvider<DatabaseBulkhead> bulkhead;
+
+    public ShareLinkService(
+            ShareLinkRepository shareLinkRepository,
+            ShareLinkCache shareLinkCache,
+            ShareLinkAccessCounter shareLinkAccessCounter,
+            ShareCodeGenerator shareCodeGenerator,
+            LiveShareRenderer liveShareRenderer,
+            AdminMetricsRecorder adminMetricsRecorder,
+            ObjectProvider<DatabaseBulkhead> bulkhead
+    ) {
         this.shareLinkRepository = shareLinkRepository;
+        this.shareLinkCache = shareLinkCache;
+        this.shareLinkAccessCounter = shareLinkAccessCounter;
+        this.shareCodeGenerator = shareCodeGenerator;
+        this.liveShareRenderer = liveShareRenderer;
+        this.adminMetricsRecorder = adminMetricsRecorder;
+        this.bulkhead = bulkhead;
     }
 
     public ShareLink createShareLink(
@@ -41,41 +66,89 @@ public class ShareLinkService {
             expiryDays = MAX_EXPIRY_DAYS;
         }
 
-        Instant expiresAt = Instant.now().plus(expiryDays, ChronoUnit.DAYS);
-        String code = generateUniqueCode();
+        if (shareType.isLive()) {
+            // Live links store only their scope; the summary is rendered on view.
+            data = liveShareRenderer.normalizeScope(userId, data);
+        }
+
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(expiryDays, ChronoUnit.DAYS);
 
         ShareLink shareLink = new ShareLink();
-        shareLink.setCode(code);
         shareLink.setUserId(userId);
         shareLink.setShareType(shareType);
         shareLink.setData(data);
+        shareLink.setEtag(ShareLinkPayloads.etag(data));
+        shareLink.setDataGzip(ShareLinkPayloads.gzip(data));
         shareLink.setRequiresAuth(requiresAuth);
         shareLink.setExpiresAt(expiresAt);
+        shareLink.prepareForInsert(now);
 
-        return shareLinkRepository.save(shareLink);
+        // Insert directly and retry on a taken code instead of checking availability first.
+        for (int attempt = 0; attempt < MAX_CODE_GENERATION_ATTEMPTS; attempt++) {
+            shareLink.setCode(shareCodeGenerator.next());
+            boolean inserted = shareLinkRepository.insertIfCodeAbsent(
+                    shareLink.getId(),
+                    shareLink.getCode(),
+                    userId,
+                    shareType.name(),
+                    data,
+                    shareLink.getEtag(),
+                    shareLink.getDataGzip(),
+                    requiresAuth,
+                    expiresAt,
+                    now
+            ) == 1;
+            shareCodeGenerator.recordAttempt(!inserted);
+            if (inserted) {
+                adminMetricsRecorder.increment(DailyMetric.SHARE_LINKS_CREATED);
+                adminMetricsRecorder.adjustRows(CountedTable.SHARE_LINKS, 1);
+                return shareLink;
+            }
+        }
+        throw new IllegalStateException(
+            "Failed to generate unique share code after " + MAX_CODE_GENERATION_ATTEMPTS + " attempts"
+        );
     }
 
+    // Served from the cache without a transaction or bulkhead permit, so hot links need no connection;
+    // public views skip DatabaseBulkheadFilter and take a permit only to load. Not read-only:
+    // viewers are never the writer, so a lagging replica would refill the cache with deleted links.
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ShareLink findByCodeRaw(String code) {
-        return shareLinkRepository.findByCode(code)
-                .filter(link -> !link.getExpiresAt().isBefore(Instant.now()))
+        return shareLinkCache.get(code, this::load)
+                .map(ShareLinkCache.CachedShareLink::link)
                 .orElse(null);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<ShareLink> getShareLink(String code, String requestingUserId) {
-        return shareLinkRepository.findByCode(code)
-                .filter(link -> !link.getExpiresAt().isBefore(Instant.now()))
-                .filter(link -> {
+        return shareLinkCache.get(code, this::load)
+                .filter(cached -> {
+                    ShareLink link = cached.link();
                     if (!link.isRequiresAuth()) {
                         return true;
                     }
                     return link.getUserId().equals(requestingUserId);
                 })
-                .map(link -> {
-                    link.setAccessCount(link.getAccessCount() + 1);
-                    return shareLinkRepository.save(link);
+                .map(cached -> {
+                    shareLinkAccessCounter.increment(code);
+                    adminMetricsRecorder.increment(DailyMetric.SHARE_VIEWS);
+                    ShareLink link = cached.link().withAccessCount(cached.recordAccess());
+                    return link.getShareType().isLive() ? guarded(() -> liveShareRenderer.render(link)) : link;
                 });
     }
 
+    private Optional<ShareLink> load(String code) {
+        return guarded(() -> shareLinkRepository.findByCode(code));
+    }
+
+    private <T> T guarded(Supplier<T> work) {
+        DatabaseBulkhead permits = bulkhead.getIfAvailable();
+        return permits == null ? work.get() : permits.call(work);
+    }
+
+    @Transactional(readOnly = true)
     public List<ShareLink> getUserShareLinks(String userId) {
         return shareLinkRepository.findByUserIdOrderByCreatedAtDesc(userId);
     }
@@ -83,31 +156,50 @@ public class ShareLinkService {
     public void deleteShareLink(String code, String userId) {
         shareLinkRepository.findByCode(code)
                 .filter(link -> link.getUserId().equals(userId))
-                .ifPresent(shareLinkRepository::delete);
-    }
-
-    public int deleteExpiredShares() {
-        return shareLinkRepository.deleteExpired(Instant.now());
+                .ifPresent(link -> {
+                    shareLinkRepository.delete(link);
+                    adminMetricsRecorder.adjustRows(CountedTable.SHARE_LINKS, -1);
+                    invalidateAfterCommit(code);
+                });
     }
 
-    private String generateUniqueCode() {
-        for (int attempt = 0; attempt < MAX_CODE_GENERATION_ATTEMPTS; attempt++) {
-            String code = generateCode();
-            if (shareLinkRepository.findByCode(code).isEmpty()) {
-                return code;
+    /**
+     * Deletes expired links in batches of {@code batchSize}, each in its own short transaction,
+     * sleeping {@code pause} between batches. Stops when a batch comes back short, when
+     * {@code timeBudget} is spent, or when the thread is interrupted, and returns the rows deleted.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int deleteExpiredShares(int batchSize, Duration pause, Duration timeBudget) {
+        Instant now = Instant.now();
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+        int deleted = 0;
+        while (true) {
+            int batch = shareLinkRepository.deleteExpiredBatch(now, batchSize);
+            adminMetricsRecorder.adjustRows(CountedTable.SHARE_LINKS, -batch);
+            deleted += batch;
+            if (batch < batchSize || System.nanoTime() - deadline >= 0) {
+                return deleted;
+            }
+            try {
+                Thread.sleep(pause);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return deleted;
             }
         }
-        throw new IllegalStateException(
-            "Failed to generate unique share code after " + MAX_CODE_GENERATION_ATTEMPTS + 
-            " attempts. Consider increasing MAX_CODE_GENERATION_ATTEMPTS or expanding CODE_CHARS if collisions are frequent."
-        );
     }
 
-    private String generateCode() {
-        StringBuilder code = new StringBuilder(CODE_LENGTH);
-        for (int i = 0; i < CODE_LENGTH; i++) {
-            code.append(CODE_CHARS.charAt(RANDOM.nextInt(CODE_CHARS.length())));
+    // Invalidate again after commit so a concurrent read cannot re-cache the deleted row.
+    private void invalidateAfterCommit(String code) {
+        shareLinkCache.invalidate(code);
+        liveShareRenderer.invalidate(code);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    shareLinkCache.invalidate(code);
+                }
+            });
         }
-        return code.toString();
     }
 }
@@ -0,0 +1,80 @@
+package com.transactionapi.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses identical concurrent calls into one. The first caller for a key runs the loader and
+ * everyone arriving while it is still running waits on the same future and gets the same result
+ * or exception. Nothing is kept once the call finishes, so this never serves stale data.
+ */
+final class SingleFlight {
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final String meterName;
+    private final MeterRegistry meterRegistry;
+
+    SingleFlight(String meterName, MeterRegistry meterRegistry) {
+        this.meterName = meterName;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T execute(String operation, Supplier<T> loader, Object... args) {
+        Key key = new Key(operation, Arrays.asList(args));
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            count(operation, "follower");
+            return (T) await(leader);
+        }
+
+        count(operation, "leader");
+        try {
+            T result = loader.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    private static Object await(CompletableFuture<Object> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    private void count(String operation, String role) {
+        Counter.builder(meterName)
+                .tag("operation", operation)
+                .tag("role", role)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private record Key(String operation, List<Object> args) {
+    }
+}
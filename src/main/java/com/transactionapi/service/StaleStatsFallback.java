@@ -0,0 +1,208 @@
+package com.transactionapi.service;
+
+import com.transactionapi.config.DatabaseBulkhead;
+import com.transactionapi.config.DatabaseBulkheadFilter;
+import com.transactionapi.config.QueryCounter;
+import com.transactionapi.error.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+/**
+ * Keeps the last good dashboard response per user and scope so it can stand in when fresh numbers
+ * can't be had: the database call failed, the bulkhead turned it away, or it ran past
+ * {@code latencyBudget}. In the slow case the load keeps going in the background and replaces the
+ * copy when it lands. Loads run on a dedicated pool of {@code maxConcurrentLoads} threads that
+ * rejects rather than queues, so when slow loads hold every thread the copy is served at once.
+ * Task decorators and the request's {@link QueryCounter} scope are carried onto the pool. The
+ * request's own bulkhead permit is handed back before the load takes one. Copies older than
+ * {@code maxStale} are never served, and once
+ * {@code maxEntries} are held new scopes are not remembered until the scheduled sweep makes room.
+ */
+@Component
+public class StaleStatsFallback {
+
+    private static final Logger log = LoggerFactory.getLogger(StaleStatsFallback.class);
+
+    private final ThreadPoolExecutor executor;
+    private final List<TaskDecorator> taskDecorators;
+    private final ObjectProvider<DatabaseBulkhead> bulkhead;
+    private final MeterRegistry meterRegistry;
+    private final Duration latencyBudget;
+    private final Duration maxStale;
+    private final int maxEntries;
+    private final Map<Key, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    public StaleStatsFallback(
+            ObjectProvider<DatabaseBulkhead> bulkhead,
+            ObjectProvider<TaskDecorator> taskDecorators,
+            MeterRegistry meterRegistry,
+            @Value("${app.stats-fallback.latency-budget:PT2S}") Duration latencyBudget,
+            @Value("${app.stats-fallback.max-stale:PT15M}") Duration maxStale,
+            @Value("${app.stats-fallback.max-entries:10000}") int maxEntries,
+            @Value("${app.stats-fallback.max-concurrent-loads:16}") int maxConcurrentLoads
+    ) {
+        int threads = Math.max(1, maxConcurrentLoads);
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                30,
+                TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                Thread.ofVirtual().name("stats-fallback-", 0).factory()
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+        this.taskDecorators = taskDecorators.orderedStream().toList();
+        this.bulkhead = bulkhead;
+        this.meterRegistry = meterRegistry;
+        this.latencyBudget = latencyBudget;
+        this.maxStale = maxStale;
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    public <T> Served<T> get(String operation, Supplier<T> loader, Object... args) {
+        // The load takes its own permit, so a full bulkhead can be answered with the copy.
+        DatabaseBulkheadFilter.releaseRequestPermit();
+        Key key = new Key(operation, Arrays.asList(args));
+        Snapshot cached = usable(key);
+        if (cached == null) {
+            T value = guarded(loader);
+            remember(key, value);
+            return new Served<>(value, null);
+        }
+
+        CompletableFuture<T> load = new CompletableFuture<>();
+        try {
+            executor.execute(decorate(() -> {
+                try {
+                    load.complete(guarded(loader));
+                } catch (Throwable ex) {
+                    load.completeExceptionally(ex);
+                }
+            }));
+        } catch (RejectedExecutionException ex) {
+            return stale(operation, "busy", cached);
+        }
+        load.thenAccept(value -> remember(key, value));
+        try {
+            return new Served<>(load.get(latencyBudget.toMillis(), TimeUnit.MILLISECONDS), null);
+        } catch (TimeoutException ex) {
+            return stale(operation, "slow", cached);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return stale(operation, "interrupted", cached);
+        } catch (ExecutionException ex) {
+            if (isUnavailable(ex.getCause())) {
+                log.warn("Serving stale {} after database failure: {}", operation, ex.getCause().getMessage());
+                return stale(operation, "failed", cached);
+            }
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public int evictExpired() {
+        Instant now = Instant.now();
+        int before = snapshots.size();
+        snapshots.values().removeIf(snapshot -> snapshot.isExpired(now, maxStale));
+        return Math.max(0, before - snapshots.size());
+    }
+
+    int size() {
+        return snapshots.size();
+    }
+
+    private <T> T guarded(Supplier<T> loader) {
+        DatabaseBulkhead permits = bulkhead.getIfAvailable();
+        return permits == null ? loader.get() : permits.call(loader);
+    }
+
+    private Runnable decorate(Runnable task) {
+        Runnable decorated = QueryCounter.propagate(task);
+        for (TaskDecorator decorator : taskDecorators) {
+            decorated = decorator.decorate(decorated);
+        }
+        return decorated;
+    }
+
+    private Snapshot usable(Key key) {
+        Snapshot cached = snapshots.get(key);
+        if (cached != null && cached.isExpired(Instant.now(), maxStale)) {
+            snapshots.remove(key, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    private void remember(Key key, Object value) {
+        if (snapshots.size() >= maxEntries && !snapshots.containsKey(key)) {
+            return;
+        }
+        snapshots.put(key, new Snapshot(value, Instant.now()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Served<T> stale(String operation, String reason, Snapshot cached) {
+        Counter.builder("stats.fallback.served")
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        return new Served<>((T) cached.value(), Duration.between(cached.storedAt(), Instant.now()));
+    }
+
+    private static boolean isUnavailable(Throwable ex) {
+        return ex instanceof DataAccessException
+                || ex instanceof TransactionException
+                || ex instanceof ServiceOverloadedException;
+    }
+
+    /**
+     * A response and, when it came from the fallback copy, how old that copy is.
+     */
+    public record Served<T>(T value, Duration age) {
+
+        public boolean stale() {
+            return age != null;
+        }
+    }
+
+    private record Key(String operation, List<Object> args) {
+    }
+
+    private record Snapshot(Object value, Instant storedAt) {
+
+        boolean isExpired(Instant now, Duration maxStale) {
+            return now.isAfter(storedAt.plus(maxStale));
+        }
+    }
+}
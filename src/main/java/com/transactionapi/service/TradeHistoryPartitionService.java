@@ -0,0 +1,51 @@
+package com.transactionapi.service;
+
+import java.sql.DatabaseMetaData;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps monthly {@code trade_history} partitions created ahead of time through the
+ * {@code create_trade_history_partitions} function from the Postgres partitioning migration.
+ * Does nothing on other databases, where the table is not partitioned.
+ */
+@Service
+public class TradeHistoryPartitionService {
+
+    private static final String CREATE_SQL = "select create_trade_history_partitions(current_date, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private volatile Boolean postgres;
+
+    public TradeHistoryPartitionService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.trade-history.partitions.months-ahead:3}") int monthsAhead
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = Math.max(1, monthsAhead);
+    }
+
+    public int createFuturePartitions() {
+        if (!isPostgres()) {
+            return 0;
+        }
+        Integer created = jdbcTemplate.queryForObject(CREATE_SQL, Integer.class, monthsAhead);
+        return created != null ? created : 0;
+    }
+
+    private boolean isPostgres() {
+        Boolean cached = postgres;
+        if (cached == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+                DatabaseMetaData metaData = connection.getMetaData();
+                return metaData.getDatabaseProductName();
+            });
+            cached = "PostgreSQL".equals(product);
+            postgres = cached;
+        }
+        return cached;
+    }
+}
@@ -1,7 +1,9 @@
 package com.transactionapi.service;
 
 import com.transactionapi.constants.AssetType;
+import com.transactionapi.constants.CountedTable;
 import com.transactionapi.constants.Currency;
+import com.transactionapi.constants.DailyMetric;
 import com.transactionapi.constants.TradeDirection;
 import com.transactionapi.constants.TradeHistoryAction;
 import com.transactionapi.constants.TradeSortDirection;
@@ -22,6 +24,9 @@ import com.transactionapi.model.TradeHistory;
 import com.transactionapi.repository.AccountRepository;
 import com.transactionapi.repository.TradeHistoryRepository;
 import com.transactionapi.repository.TradeRepository;
+import com.transactionapi.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.criteria.Predicate;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -29,6 +34,7 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -36,6 +42,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -45,7 +52,10 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -61,17 +71,32 @@ public class TradeService {
     private final TradeHistoryRepository tradeHistoryRepository;
     private final AccountRepository accountRepository;
     private final ExchangeRateService exchangeRateService;
+    private final UserRepository userRepository;
+    private final AdminMetricsRecorder adminMetricsRecorder;
+    private final MeterRegistry meterRegistry;
+    private final SingleFlight statsFlights;
+    private final TransactionTemplate readOnlyTransaction;
 
     public TradeService(
             TradeRepository tradeRepository,
             TradeHistoryRepository tradeHistoryRepository,
             AccountRepository accountRepository,
-            ExchangeRateService exchangeRateService
+            ExchangeRateService exchangeRateService,
+            UserRepository userRepository,
+            AdminMetricsRecorder adminMetricsRecorder,
+            MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager
     ) {
         this.tradeRepository = tradeRepository;
         this.tradeHistoryRepository = tradeHistoryRepository;
         this.accountRepository = accountRepository;
         this.exchangeRateService = exchangeRateService;
+        this.userRepository = userRepository;
+        this.adminMetricsRecorder = adminMetricsRecorder;
+        this.meterRegistry = meterRegistry;
+        this.statsFlights = new SingleFlight("trade.stats.calls", meterRegistry);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     public TradeResponse createTrade(TradeRequest request, String userId) {
@@ -80,6 +105,7 @@ public class TradeService {
         applyRequest(trade, request, userId);
         Trade saved = tradeRepository.saveAndFlush(trade);
         recordHistory(saved, TradeHistoryAction.CREATE);
+        recordTradeWrite(userId, 1);
         return toResponse(saved);
     }
 
@@ -89,17 +115,21 @@ public class TradeService {
         applyRequest(trade, request, userId);
         Trade saved = tradeRepository.saveAndFlush(trade);
         recordHistory(saved, TradeHistoryAction.EDIT);
+        recordTradeWrite(userId, 0);
         return toResponse(saved);
     }
 
+    @Transactional(readOnly = true)
     public PagedResponse<TradeResponse> listTrades(String userId, int page, int size) {
         return listTrades(userId, page, size, null, null, null, null);
     }
 
+    @Transactional(readOnly = true)
     public PagedResponse<TradeResponse> listTrades(String userId, int page, int size, YearMonth month) {
         return listTrades(userId, page, size, month, null, null, null);
     }
 
+    @Transactional(readOnly = true)
     public PagedResponse<TradeResponse> listTrades(
             String userId,
             int page,
@@ -110,6 +140,7 @@ public class TradeService {
         return listTrades(userId, page, size, month, day, null, null);
     }
 
+    @Transactional(readOnly = true)
     public PagedResponse<TradeResponse> listTrades(
             String userId,
             int page,
@@ -122,6 +153,7 @@ public class TradeService {
         return listTrades(userId, page, size, month, day, sortBy, sortDirection, List.of(), false, null);
     }
 
+    @Transactional(readOnly = true)
     public PagedResponse<TradeResponse> listTrades(
             String userId,
             int page,
@@ -141,7 +173,7 @@ public class TradeService {
                 buildTradeFilterSpecification(userId, month, day, accountIds, includeUnassignedAccounts, symbolQuery),
                 pageable
         );
-        List<TradeResponse> items = result.getContent().stream()
+        List<TradeResponse> items = recordRowsRead("list", CountedTable.TRADES, result.getContent()).stream()
                 .map(this::toResponse)
                 .toList();
         return new PagedResponse<>(
@@ -235,24 +267,32 @@ public class TradeService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Trade not found"));
         recordHistory(trade, TradeHistoryAction.DELETE);
         tradeRepository.delete(trade);
+        recordTradeWrite(userId, -1);
     }
 
+    @Transactional(readOnly = true)
     public List<TradeHistoryResponse> listTradeHistory(@NonNull UUID tradeId, String userId) {
-        return tradeHistoryRepository.findByTradeIdAndUserIdOrderByActionAtAsc(
-                        Objects.requireNonNull(tradeId),
-                        userId
-                ).stream()
+        Objects.requireNonNull(tradeId);
+        // History is written after its trade, so bounding by the trade's creation lets Postgres skip
+        // older trade_history partitions. Deleted trades have no row left and scan every month.
+        List<TradeHistory> history = tradeRepository.findCreatedAtByIdAndUserId(tradeId, userId)
+                .map(createdAt -> tradeHistoryRepository.findByTradeIdAndUserIdAndActionAtGreaterThanEqualOrderByActionAtAsc(
+                        tradeId,
+                        userId,
+                        createdAt
+                ))
+                .orElseGet(() -> tradeHistoryRepository.findByTradeIdAndUserIdOrderByActionAtAsc(tradeId, userId));
+        return history.stream()
                 .map(TradeHistoryResponse::from)
                 .toList();
     }
 
-    public List<TradeHistoryResponse> listTradeHistoryForUser(String userId) {
-        return tradeHistoryRepository.findByUserIdOrderByActionAtDesc(userId).stream()
-                .map(TradeHistoryResponse::from)
-                .toList();
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PnlSummaryResponse summarize(String userId, YearMonth month) {
+        return coalesce("summary", () -> loadSummary(userId, month), userId, month);
     }
 
-    public PnlSummaryResponse summarize(String userId, YearMonth month) {
+    private PnlSummaryResponse loadSummary(String userId, YearMonth month) {
         List<Trade> trades;
         if (month != null) {
             LocalDate start = month.atDay(1);
@@ -261,6 +301,36 @@ public class TradeService {
         } else {
             trades = tradeRepository.findAllForUser(userId);
         }
+        return summarizeTrades(recordRowsRead("summary", CountedTable.TRADES, trades));
+    }
+
+    /**
+     * Summary of the trades in a live share's scope: a month, else a whole year, optionally narrowed
+     * to one account. With no scope at all this is the same as {@link #summarize(String, YearMonth)}.
+     */
+    @Transactional(readOnly = true)
+    public PnlSummaryResponse summarizeScope(String userId, Integer year, YearMonth month, UUID accountId) {
+        Specification<Trade> specification = buildTradeFilterSpecification(
+                userId,
+                month,
+                null,
+                accountId != null ? List.of(accountId) : null,
+                false,
+                null
+        );
+        if (month == null && year != null) {
+            LocalDate start = LocalDate.of(year, 1, 1);
+            LocalDate end = start.plusYears(1).minusDays(1);
+            specification = specification.and((root, query, criteriaBuilder) ->
+                    criteriaBuilder.between(root.get("closedAt"), start, end));
+        }
+        return summarizeTrades(recordRowsRead("live_summary", CountedTable.TRADES, tradeRepository.findAll(
+                specification,
+                Sort.by(Sort.Direction.DESC, TradeSortField.CLOSED_AT.propertyName())
+        )));
+    }
+
+    PnlSummaryResponse summarizeTrades(List<Trade> trades) {
         BigDecimal cadToUsdRate = exchangeRateService.cadToUsd();
         BigDecimal total = sumPnl(trades, cadToUsdRate);
         BigDecimal totalNotional = sumNotional(trades, cadToUsdRate);
@@ -311,7 +381,8 @@ public class TradeService {
                 daily,
                 monthly,
                 cadToUsdRate,
-                exchangeRateService.lastUpdatedOn()
+                exchangeRateService.lastUpdatedOn(),
+                false
         );
     }
 
@@ -320,7 +391,12 @@ public class TradeService {
      * This is optimized for performance and doesn't load all trades into memory.
      * All values are converted to USD using the current exchange rate.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AggregateStatsResponse getAggregateStats(String userId) {
+        return coalesce("aggregate_stats", () -> loadAggregateStats(userId), userId);
+    }
+
+    private AggregateStatsResponse loadAggregateStats(String userId) {
         BigDecimal cadToUsdRate = exchangeRateService.cadToUsd();
         
         // Use database aggregation instead of loading all trades
@@ -377,7 +453,8 @@ public class TradeService {
                 exchangeRateService.lastUpdatedOn(),
                 null,
                 null,
-                null
+                null,
+                false
         );
     }
 
@@ -386,7 +463,16 @@ public class TradeService {
      * When month is provided, best day is computed for that month.
      * When day is provided, best day is that exact day.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AggregateStatsResponse getScopedAggregateStats(String userId, Integer year, YearMonth month, LocalDate day) {
+        return coalesce(
+                "scoped_stats",
+                () -> loadScopedAggregateStats(userId, year, month, day),
+                userId, year, month, day
+        );
+    }
+
+    private AggregateStatsResponse loadScopedAggregateStats(String userId, Integer year, YearMonth month, LocalDate day) {
         int scopedYear = resolveScopedYear(userId, year, month, day);
         YearMonth yearStart = YearMonth.of(scopedYear, 1);
         LocalDate startDate = yearStart.atDay(1);
@@ -457,22 +543,25 @@ public class TradeService {
                 exchangeRateService.lastUpdatedOn(),
                 scopedYear,
                 scopedMonth != null ? scopedMonth.toString() : null,
-                day != null ? day.toString() : null
+                day != null ? day.toString() : null,
+                false
         );
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<AccountStatsResponse> getAccountStats(String userId, Integer year) {
+        return coalesce("account_stats", () -> loadAccountStats(userId, year), userId, year);
+    }
+
+    private List<AccountStatsResponse> loadAccountStats(String userId, Integer year) {
         int scopedYear = year != null ? year : resolveScopedYear(userId, null, null, null);
         LocalDate startDate = LocalDate.of(scopedYear, 1, 1);
         LocalDate endDate = startDate.plusYears(1).minusDays(1);
         BigDecimal cadToUsdRate = exchangeRateService.cadToUsd();
         Map<UUID, String> accountNames = accountRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
                 .collect(Collectors.toMap(Account::getId, Account::getName));
-        List<Trade> trades = tradeRepository.findByUserIdAndClosedAtBetweenOrderByClosedAtDesc(
-                userId,
-                startDate,
-                endDate
-        );
+        List<Trade> trades = recordRowsRead("account_stats", CountedTable.TRADES,
+                tradeRepository.findByUserIdAndClosedAtBetweenOrderByClosedAtDesc(userId, startDate, endDate));
 
         Map<UUID, List<Trade>> tradesByAccount = new HashMap<>();
         trades.forEach(trade -> tradesByAccount.computeIfAbsent(trade.getAccountId(), ignored -> new ArrayList<>()).add(trade));
@@ -518,6 +607,7 @@ public class TradeService {
         );
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public TradeCountStatsResponse getTradeCountStats(
             String userId,
             Integer year,
@@ -525,6 +615,21 @@ public class TradeService {
             LocalDate day,
             UUID accountId,
             boolean unassigned
+    ) {
+        return coalesce(
+                "trade_counts",
+                () -> loadTradeCountStats(userId, year, month, day, accountId, unassigned),
+                userId, year, month, day, accountId, unassigned
+        );
+    }
+
+    private TradeCountStatsResponse loadTradeCountStats(
+            String userId,
+            Integer year,
+            YearMonth month,
+            LocalDate day,
+            UUID accountId,
+            boolean unassigned
     ) {
         int scopedYear = resolveScopedYear(userId, year, month, day);
         YearMonth scopedMonth = month != null
@@ -535,10 +640,8 @@ public class TradeService {
         LocalDate scopedDay = day != null ? day : LocalDate.now();
         LocalDate yearStart = LocalDate.of(scopedYear, 1, 1);
         LocalDate yearEnd = yearStart.plusYears(1);
-        List<Trade> scopedTrades = tradeRepository.findByUserIdAndClosedAtBetweenOrderByClosedAtDesc(
-                userId,
-                yearStart,
-                yearEnd.minusDays(1)
+        List<Trade> scopedTrades = recordRowsRead("trade_counts", CountedTable.TRADES,
+                tradeRepository.findByUserIdAndClosedAtBetweenOrderByClosedAtDesc(userId, yearStart, yearEnd.minusDays(1))
         ).stream()
                 .filter(trade -> accountMatches(trade.getAccountId(), accountId, unassigned))
                 .toList();
@@ -590,11 +693,25 @@ public class TradeService {
                 .orElse("Deleted account");
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<InferredAccountTradeCountsResponse> getInferredAccountTradeCounts(
             String userId,
             Integer year,
             YearMonth month,
             LocalDate day
+    ) {
+        return coalesce(
+                "inferred_counts",
+                () -> loadInferredAccountTradeCounts(userId, year, month, day),
+                userId, year, month, day
+        );
+    }
+
+    private List<InferredAccountTradeCountsResponse> loadInferredAccountTradeCounts(
+            String userId,
+            Integer year,
+            YearMonth month,
+            LocalDate day
     ) {
         int scopedYear = year != null ? year : resolveScopedYear(userId, null, month, day);
         YearMonth scopedMonth = month != null
@@ -603,9 +720,19 @@ public class TradeService {
         LocalDate scopedDay = day != null ? day : LocalDate.now();
         Map<UUID, String> accountNames = accountRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
                 .collect(Collectors.toMap(Account::getId, Account::getName));
-        Map<UUID, List<TradeHistory>> byTrade = tradeHistoryRepository.findByUserIdOrderByActionAtDesc(userId).stream()
+        Map<UUID, List<TradeHistory>> byTrade = recordRowsRead("inferred_counts", CountedTable.TRADE_HISTORY,
+                tradeHistoryRepository.findByUserIdOrderByActionAtDesc(userId)).stream()
                 .collect(Collectors.groupingBy(TradeHistory::getTradeId));
+        return inferAccountTradeCounts(byTrade, scopedYear, scopedMonth, scopedDay, accountNames);
+    }
 
+    List<InferredAccountTradeCountsResponse> inferAccountTradeCounts(
+            Map<UUID, List<TradeHistory>> byTrade,
+            int scopedYear,
+            YearMonth scopedMonth,
+            LocalDate scopedDay,
+            Map<UUID, String> accountNames
+    ) {
         Map<UUID, InferredAccountTradeCountsAccumulator> byAccount = new HashMap<>();
         for (List<TradeHistory> rawHistory : byTrade.values()) {
             List<TradeHistory> history = rawHistory.stream()
@@ -916,11 +1043,44 @@ public class TradeService {
         trade.setRealizedPnl(calculatePnl(trade));
     }
 
+    private void recordTradeWrite(String userId, int tradeDelta) {
+        userRepository.recordTradeWrite(userId, tradeDelta);
+        adminMetricsRecorder.increment(DailyMetric.TRADE_WRITES);
+        if (tradeDelta != 0) {
+            adminMetricsRecorder.adjustRows(CountedTable.TRADES, tradeDelta);
+        }
+    }
+
+    /**
+     * Runs a dashboard read once for all identical concurrent callers. Callers come in without a
+     * transaction so followers don't hold a pooled connection while they wait; the leader opens a
+     * read-only one for the whole computation.
+     */
+    private <T> T coalesce(String operation, Supplier<T> loader, Object... args) {
+        return statsFlights.execute(operation, () -> readOnlyTransaction.execute(status -> loader.get()), args);
+    }
+
+    /**
+     * Records how many entities a read hydrated, so calls that pull a user's whole history show up
+     * next to the ones that page.
+     */
+    private <T extends Collection<?>> T recordRowsRead(String operation, CountedTable table, T rows) {
+        DistributionSummary.builder("trade.rows.read")
+                .tag("operation", operation)
+                .tag("table", table.tableName())
+                .description("Entities loaded per service call")
+                .register(meterRegistry)
+                .record(rows.size());
+        return rows;
+    }
+
     private void recordHistory(Trade trade, TradeHistoryAction action) {
         tradeHistoryRepository.save(TradeHistory.fromTrade(trade, action));
+        adminMetricsRecorder.increment(DailyMetric.HISTORY_ROWS);
+        adminMetricsRecorder.adjustRows(CountedTable.TRADE_HISTORY, 1);
     }
 
-    private BigDecimal calculatePnl(Trade trade) {
+    BigDecimal calculatePnl(Trade trade) {
         BigDecimal movement = trade.getExitPrice().subtract(trade.getEntryPrice());
         if (trade.getDirection() == TradeDirection.SHORT) {
             movement = movement.negate();
@@ -932,7 +1092,7 @@ public class TradeService {
         return gross.subtract(fees).subtract(marginFee).setScale(2, RoundingMode.HALF_UP);
     }
 
-    private BigDecimal calculateMarginFee(Trade trade) {
+    BigDecimal calculateMarginFee(Trade trade) {
         BigDecimal marginRate = trade.getMarginRate();
         if (marginRate == null || marginRate.compareTo(BigDecimal.ZERO) <= 0) {
             return BigDecimal.ZERO;
@@ -1,7 +1,9 @@
 package com.transactionapi.service;
 
+import com.transactionapi.constants.CountedTable;
 import com.transactionapi.constants.DashboardWidget;
 import com.transactionapi.constants.Currency;
+import com.transactionapi.constants.DailyMetric;
 import com.transactionapi.constants.PnlDisplayMode;
 import com.transactionapi.constants.ThemeMode;
 import com.transactionapi.constants.TradeSortDirection;
@@ -20,9 +22,11 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final AdminMetricsRecorder adminMetricsRecorder;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, AdminMetricsRecorder adminMetricsRecorder) {
         this.userRepository = userRepository;
+        this.adminMetricsRecorder = adminMetricsRecorder;
     }
 
     public void ensureUserExists(String authId, String email) {
@@ -30,6 +34,7 @@ public class UserService {
     }
 
     public User getOrCreateUser(String authId, String email) {
+        recordActivity(authId);
         return userRepository.findByAuthId(authId).map(existing -> {
             if (email != null && !email.isBlank() && !email.equalsIgnoreCase(existing.getEmail())) {
                 existing.setEmail(email);
@@ -42,10 +47,16 @@ public class UserService {
             if (email != null && !email.isBlank()) {
                 user.setEmail(email);
             }
+            adminMetricsRecorder.increment(DailyMetric.NEW_USERS);
+            adminMetricsRecorder.adjustRows(CountedTable.USERS, 1);
             return userRepository.save(user);
         });
     }
 
+    public void recordActivity(String authId) {
+        adminMetricsRecorder.recordActiveUser(authId);
+    }
+
     public User acceptLegalAgreement(String authId, String email) {
         User user = getOrCreateUser(authId, email);
         Instant now = Instant.now();
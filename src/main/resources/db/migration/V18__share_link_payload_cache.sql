@@ -0,0 +1,2 @@
+ALTER TABLE share_links ADD COLUMN etag VARCHAR(64);
+ALTER TABLE share_links ADD COLUMN data_gzip BYTEA;
@@ -0,0 +1,2 @@
+ALTER TABLE share_links
+    ALTER COLUMN code TYPE VARCHAR(16);
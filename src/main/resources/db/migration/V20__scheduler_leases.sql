@@ -0,0 +1,5 @@
+CREATE TABLE scheduler_leases (
+    name VARCHAR(64) PRIMARY KEY,
+    owner VARCHAR(64) NOT NULL,
+    lease_until TIMESTAMP WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,27 @@
+CREATE TABLE daily_metrics (
+    metric_date DATE NOT NULL,
+    metric VARCHAR(32) NOT NULL,
+    metric_value BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (metric_date, metric)
+);
+
+CREATE TABLE daily_active_users (
+    activity_date DATE NOT NULL,
+    user_id VARCHAR(128) NOT NULL,
+    PRIMARY KEY (activity_date, user_id)
+);
+
+CREATE TABLE table_row_counts (
+    table_name VARCHAR(64) PRIMARY KEY,
+    row_count BIGINT NOT NULL
+);
+
+-- One-off counts to seed the incremental totals.
+INSERT INTO table_row_counts (table_name, row_count) SELECT 'users', COUNT(*) FROM users;
+INSERT INTO table_row_counts (table_name, row_count) SELECT 'trades', COUNT(*) FROM trades;
+INSERT INTO table_row_counts (table_name, row_count) SELECT 'trade_history', COUNT(*) FROM trade_history;
+INSERT INTO table_row_counts (table_name, row_count) SELECT 'share_links', COUNT(*) FROM share_links;
+
+ALTER TABLE users ADD COLUMN trade_count BIGINT NOT NULL DEFAULT 0;
+UPDATE users SET trade_count = (SELECT COUNT(*) FROM trades t WHERE t.user_id = users.auth_id);
+CREATE INDEX idx_users_trade_count ON users(trade_count DESC);
@@ -0,0 +1,12 @@
+-- Every trade query filters on user_id first, so the single-column user_id and closed_at indexes
+-- only add write cost next to (user_id, closed_at); nothing filters on currency.
+DROP INDEX IF EXISTS idx_trades_user_id;
+DROP INDEX IF EXISTS idx_trades_closed_at;
+DROP INDEX IF EXISTS idx_trades_user_currency_closed;
+
+-- Trade list filtered to accounts, ordered by close date.
+CREATE INDEX IF NOT EXISTS idx_trades_user_account_closed ON trades(user_id, account_id, closed_at);
+
+-- History of one trade, read in action order from the trade's creation time.
+DROP INDEX IF EXISTS idx_trade_history_trade_id;
+CREATE INDEX IF NOT EXISTS idx_trade_history_trade_action_at ON trade_history(trade_id, action_at);
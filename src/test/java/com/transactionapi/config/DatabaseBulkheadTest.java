@@ -0,0 +1,130 @@
+package com.transactionapi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.transactionapi.constants.ApiPaths;
+import com.transactionapi.error.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class DatabaseBulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void rejectsWithRetryAfterOnceQueueIsFull() {
+        DatabaseBulkhead bulkhead = bulkhead(1, 0, Duration.ofSeconds(5));
+        bulkhead.acquire();
+
+        assertThatThrownBy(bulkhead::acquire)
+                .isInstanceOfSatisfying(ServiceOverloadedException.class, ex -> {
+                    assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                    assertThat(ex.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+                });
+        assertThat(rejections("queue_full")).isEqualTo(1);
+        assertThat(meterRegistry.get("db.bulkhead.active").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsWaitersThatOutliveMaxWait() {
+        DatabaseBulkhead bulkhead = bulkhead(1, 5, Duration.ofMillis(20));
+        bulkhead.acquire();
+
+        assertThatThrownBy(bulkhead::acquire).isInstanceOf(ServiceOverloadedException.class);
+        assertThat(rejections("timeout")).isEqualTo(1);
+        assertThat(meterRegistry.get("db.bulkhead.waiting").gauge().value()).isZero();
+    }
+
+    @Test
+    void queuedCallerProceedsWhenPermitIsReleased() throws Exception {
+        DatabaseBulkhead bulkhead = bulkhead(1, 5, Duration.ofSeconds(5));
+        bulkhead.acquire();
+
+        CompletableFuture<Void> waiter = CompletableFuture.runAsync(bulkhead::acquire);
+        bulkhead.release();
+
+        waiter.get(2, TimeUnit.SECONDS);
+        assertThat(rejections("queue_full") + rejections("timeout")).isZero();
+    }
+
+    @Test
+    void filterRejectsWithRetryAfterWithoutRunningTheChain() throws Exception {
+        DatabaseBulkhead bulkhead = bulkhead(1, 0, Duration.ofMillis(20));
+        bulkhead.acquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean ran = new AtomicBoolean();
+
+        new DatabaseBulkheadFilter(bulkhead, req -> null).doFilter(
+                new MockHttpServletRequest("GET", ApiPaths.TRADES), response, (req, res) -> ran.set(true));
+
+        assertThat(ran).isFalse();
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+    }
+
+    @Test
+    void filterReleasesPermitWhenAsyncHandlingStarts() throws Exception {
+        DatabaseBulkhead bulkhead = bulkhead(1, 0, Duration.ofMillis(20));
+        DatabaseBulkheadFilter filter = new DatabaseBulkheadFilter(bulkhead, req -> null);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", ApiPaths.API_V1 + "/admin/users/1/trade-history");
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        assertThat(request.isAsyncStarted()).isTrue();
+        bulkhead.acquire();
+        assertThatThrownBy(bulkhead::acquire).isInstanceOf(ServiceOverloadedException.class);
+    }
+
+    @Test
+    void handlerCanHandBackTheRequestPermitOnce() throws Exception {
+        DatabaseBulkhead bulkhead = bulkhead(1, 0, Duration.ofMillis(20));
+        DatabaseBulkheadFilter filter = new DatabaseBulkheadFilter(bulkhead, req -> null);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", ApiPaths.TRADES + "/stats");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes((MockHttpServletRequest) req));
+            try {
+                DatabaseBulkheadFilter.releaseRequestPermit();
+                DatabaseBulkheadFilter.releaseRequestPermit();
+                bulkhead.call(() -> true);
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        });
+
+        bulkhead.acquire();
+        assertThatThrownBy(bulkhead::acquire).isInstanceOf(ServiceOverloadedException.class);
+    }
+
+    @Test
+    void publicShareViewsSkipTheFilter() throws Exception {
+        DatabaseBulkhead bulkhead = bulkhead(1, 0, Duration.ofMillis(20));
+        bulkhead.acquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new DatabaseBulkheadFilter(bulkhead, req -> null).doFilter(
+                new MockHttpServletRequest("GET", ApiPaths.SHARES + "/abcd1234/data"), response, (req, res) -> { });
+
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    private DatabaseBulkhead bulkhead(int maxConcurrent, int maxQueue, Duration maxWait) {
+        return new DatabaseBulkhead(maxConcurrent, maxQueue, maxWait, Duration.ofMillis(1500), meterRegistry);
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.get("db.bulkhead.rejections").tag("reason", reason).counter().count();
+    }
+}
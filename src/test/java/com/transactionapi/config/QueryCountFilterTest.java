@@ -0,0 +1,77 @@
+package com.transactionapi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+class QueryCountFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void stampsCountBeforeBodyIsWrittenAndTagsRequestsOverThreshold() throws Exception {
+        QueryCountFilter filter = new QueryCountFilter(meterRegistry, environment("test"), 2);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, new MockFilterChain(servletRunning(3)));
+
+        assertThat(response.getHeader(QueryCountFilter.HEADER)).isEqualTo("3");
+        assertThat(response.getContentAsString()).isEqualTo("ok");
+        assertThat(meterRegistry.get("http.server.requests.queries")
+                .tag("uri", "/api/trades")
+                .tag("exceeded", "true")
+                .summary()
+                .totalAmount()).isEqualTo(4);
+        assertThat(QueryCounter.current()).isZero();
+    }
+
+    @Test
+    void omitsHeaderOutsideLocalAndTestProfiles() throws Exception {
+        QueryCountFilter filter = new QueryCountFilter(meterRegistry, environment("prod"), 20);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, new MockFilterChain(servletRunning(1)));
+
+        assertThat(response.getHeader(QueryCountFilter.HEADER)).isNull();
+        assertThat(meterRegistry.get("http.server.requests.queries")
+                .tag("exceeded", "false")
+                .summary()
+                .count()).isEqualTo(1);
+    }
+
+    private static MockEnvironment environment(String profile) {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles(profile);
+        return environment;
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/trades");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/trades");
+        return request;
+    }
+
+    private static HttpServlet servletRunning(int statements) {
+        QueryCounter inspector = new QueryCounter();
+        return new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                for (int i = 0; i < statements; i++) {
+                    inspector.inspect("select 1");
+                }
+                response.getWriter().write("ok");
+                inspector.inspect("select 2");
+            }
+        };
+    }
+}
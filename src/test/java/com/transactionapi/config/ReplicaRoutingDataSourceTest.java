@@ -0,0 +1,111 @@
+package com.transactionapi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JdbcTemplate h2 = new JdbcTemplate(
+            new DriverManagerDataSource("jdbc:h2:mem:replica-routing;DB_CLOSE_DELAY=-1", "sa", "")
+    );
+    private final ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofMinutes(1));
+
+    @AfterEach
+    void clear() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadYourWrites.clearCurrentUser();
+    }
+
+    @Test
+    void routesOnlyReadOnlyTransactionsToAHealthyReplica() {
+        ReplicaRoutingDataSource routing = routing(monitor("SELECT 0"));
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.Target.PRIMARY);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.Target.REPLICA);
+
+        assertThat(routed("primary", "write")).isEqualTo(1);
+        assertThat(routed("replica", "read_only")).isEqualTo(1);
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenReplicaLagsOrCannotBeChecked() {
+        ReplicaLagMonitor lagging = monitor("SELECT 30");
+        ReplicaLagMonitor broken = monitor("SELECT missing_column");
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(lagging.isUsable()).isFalse();
+        assertThat(broken.isUsable()).isFalse();
+        assertThat(routing(lagging).determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.Target.PRIMARY);
+        assertThat(routing(broken).determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.Target.PRIMARY);
+        assertThat(routed("primary", "lagging")).isEqualTo(2);
+    }
+
+    @Test
+    void keepsARecentWriterOnPrimaryUntilTheWindowPasses() {
+        ReplicaRoutingDataSource routing = routing(monitor("SELECT 0"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        readYourWrites.recordWrite("writer");
+
+        ReadYourWrites.setCurrentUser("writer");
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.Target.PRIMARY);
+        ReadYourWrites.setCurrentUser("reader");
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.Target.REPLICA);
+
+        ReadYourWrites expired = new ReadYourWrites(Duration.ZERO);
+        expired.recordWrite("writer");
+        assertThat(expired.evictExpired()).isEqualTo(1);
+        assertThat(routed("primary", "recent_write")).isEqualTo(1);
+    }
+
+    @Test
+    void carriesCurrentUserOntoDecoratedTasks() {
+        AtomicBoolean wroteRecently = new AtomicBoolean();
+        readYourWrites.recordWrite("writer");
+        ReadYourWrites.setCurrentUser("writer");
+        Runnable task = readYourWrites.taskDecorator().decorate(
+                () -> wroteRecently.set(readYourWrites.currentUserWroteRecently())
+        );
+        ReadYourWrites.clearCurrentUser();
+
+        task.run();
+
+        assertThat(wroteRecently).isTrue();
+        assertThat(readYourWrites.currentUserWroteRecently()).isFalse();
+    }
+
+    private ReplicaLagMonitor monitor(String lagQuery) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(h2, lagQuery, Duration.ofSeconds(5), meterRegistry);
+        monitor.check();
+        return monitor;
+    }
+
+    private ReplicaRoutingDataSource routing(ReplicaLagMonitor monitor) {
+        return new ReplicaRoutingDataSource(
+                mock(DataSource.class),
+                mock(DataSource.class),
+                monitor,
+                readYourWrites,
+                meterRegistry
+        );
+    }
+
+    private double routed(String target, String reason) {
+        return meterRegistry.get("db.connections.routed")
+                .tag("target", target)
+                .tag("reason", reason)
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,85 @@
+package com.transactionapi.controller;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.transactionapi.constants.ApiPaths;
+import com.transactionapi.constants.AssetType;
+import com.transactionapi.constants.Currency;
+import com.transactionapi.constants.TradeDirection;
+import com.transactionapi.dto.TradeRequest;
+import com.transactionapi.service.AdminMetricsRecorder;
+import com.transactionapi.service.TradeService;
+import com.transactionapi.service.UserService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "app.security.admin-emails=admin@example.com")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdminMetricsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private AdminMetricsRecorder adminMetricsRecorder;
+
+    @Test
+    void adminSeesDailyCountersAndHeaviestUsers() throws Exception {
+        String authId = "admin-metrics-user";
+        userService.ensureUserExists(authId, "metrics@example.com");
+        LocalDate closedAt = LocalDate.of(2024, 7, 1);
+        for (int i = 0; i < 3; i++) {
+            tradeService.createTrade(new TradeRequest(
+                    "MSFT",
+                    AssetType.STOCK,
+                    Currency.USD,
+                    TradeDirection.LONG,
+                    1,
+                    new BigDecimal("400.00"),
+                    new BigDecimal("401.00"),
+                    BigDecimal.ZERO,
+                    null,
+                    null,
+                    null,
+                    closedAt,
+                    closedAt,
+                    null
+            ), authId);
+        }
+        adminMetricsRecorder.flush();
+
+        mockMvc.perform(get(ApiPaths.ADMIN_METRICS).param("days", "7").header("X-User-Id", "admin@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days.length()").value(7))
+                .andExpect(jsonPath("$.days[0].date").value(LocalDate.now(ZoneOffset.UTC).toString()))
+                .andExpect(jsonPath("$.days[0].metrics.TRADE_WRITES").value(greaterThanOrEqualTo(3)))
+                .andExpect(jsonPath("$.days[0].metrics.HISTORY_ROWS").value(greaterThanOrEqualTo(3)))
+                .andExpect(jsonPath("$.days[0].metrics.ACTIVE_USERS").value(greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.tableRows.trades").exists())
+                .andExpect(jsonPath("$.heaviestUsers[*].authId").value(hasItem(authId)));
+    }
+
+    @Test
+    void nonAdminCannotViewMetrics() throws Exception {
+        mockMvc.perform(get(ApiPaths.ADMIN_METRICS).header("X-User-Id", "not-admin@example.com"))
+                .andExpect(status().isForbidden());
+    }
+}
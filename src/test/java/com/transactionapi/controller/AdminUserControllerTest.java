@@ -1,7 +1,11 @@
 package com.transactionapi.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.transactionapi.constants.ApiPaths;
@@ -13,6 +17,7 @@ import com.transactionapi.model.User;
 import com.transactionapi.repository.UserRepository;
 import com.transactionapi.service.TradeService;
 import com.transactionapi.service.UserService;
+import com.jayway.jsonpath.JsonPath;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import org.junit.jupiter.api.Test;
@@ -20,7 +25,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @SpringBootTest(properties = "app.security.admin-emails=admin@example.com")
 @AutoConfigureMockMvc
@@ -87,11 +94,97 @@ class AdminUserControllerTest {
                                 .header("X-User-Id", "admin@example.com")
                 )
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].action").value("EDIT"))
-                .andExpect(jsonPath("$[0].symbol").value("NVDA"))
-                .andExpect(jsonPath("$[1].action").value("CREATE"))
-                .andExpect(jsonPath("$[1].symbol").value("TSLA"));
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].action").value("EDIT"))
+                .andExpect(jsonPath("$.items[0].symbol").value("NVDA"))
+                .andExpect(jsonPath("$.items[1].action").value("CREATE"))
+                .andExpect(jsonPath("$.items[1].symbol").value("TSLA"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        String cursor = JsonPath.read(
+                mockMvc.perform(
+                                get(ApiPaths.ADMIN_USERS + "/" + target.getId() + "/trade-history")
+                                        .param("size", "1")
+                                        .header("X-User-Id", "admin@example.com")
+                        )
+                        .andExpect(jsonPath("$.items[0].action").value("EDIT"))
+                        .andReturn().getResponse().getContentAsString(),
+                "$.nextCursor"
+        );
+        mockMvc.perform(
+                        get(ApiPaths.ADMIN_USERS + "/" + target.getId() + "/trade-history")
+                                .param("size", "1")
+                                .param("cursor", cursor)
+                                .header("X-User-Id", "admin@example.com")
+                )
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].action").value("CREATE"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        MvcResult streamed = mockMvc.perform(
+                        get(ApiPaths.ADMIN_USERS + "/" + target.getId() + "/trade-history/stream")
+                                .header("X-User-Id", "admin@example.com")
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(streamed))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body.lines()).hasSize(2);
+        assertThat(body.lines().findFirst().orElseThrow()).contains("\"action\":\"EDIT\"");
+    }
+
+    @Test
+    void adminListsUsersByKeysetWithTradeTotals() throws Exception {
+        userService.ensureUserExists("admin-list-older", "older@example.com");
+        userService.ensureUserExists("admin-list-newer", "newer@example.com");
+        tradeService.createTrade(stockTrade(LocalDate.of(2024, 6, 3)), "admin-list-newer");
+        tradeService.createTrade(stockTrade(LocalDate.of(2024, 6, 7)), "admin-list-newer");
+
+        String cursor = JsonPath.read(
+                mockMvc.perform(get(ApiPaths.ADMIN_USERS).param("size", "1").header("X-User-Id", "admin@example.com"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.items.length()").value(1))
+                        .andExpect(jsonPath("$.items[0].authId").value("admin-list-newer"))
+                        .andExpect(jsonPath("$.items[0].tradeCount").value(2))
+                        .andExpect(jsonPath("$.items[0].historyCount").value(2))
+                        .andExpect(jsonPath("$.items[0].lastTradeDate").value("2024-06-07"))
+                        .andReturn().getResponse().getContentAsString(),
+                "$.nextCursor"
+        );
+
+        mockMvc.perform(
+                        get(ApiPaths.ADMIN_USERS)
+                                .param("size", "1")
+                                .param("cursor", cursor)
+                                .header("X-User-Id", "admin@example.com")
+                )
+                .andExpect(jsonPath("$.items[0].authId").value("admin-list-older"))
+                .andExpect(jsonPath("$.items[0].tradeCount").value(0))
+                .andExpect(jsonPath("$.items[0].lastTradeDate").doesNotExist());
+
+        mockMvc.perform(get(ApiPaths.ADMIN_USERS).param("cursor", "%%%").header("X-User-Id", "admin@example.com"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static TradeRequest stockTrade(LocalDate closedAt) {
+        return new TradeRequest(
+                "AMD",
+                AssetType.STOCK,
+                Currency.USD,
+                TradeDirection.LONG,
+                1,
+                new BigDecimal("100.00"),
+                new BigDecimal("101.00"),
+                BigDecimal.ZERO,
+                null,
+                null,
+                null,
+                closedAt,
+                closedAt,
+                null
+        );
     }
 
     @Test
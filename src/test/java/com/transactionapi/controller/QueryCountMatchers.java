@@ -0,0 +1,16 @@
+package com.transactionapi.controller;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+
+import com.transactionapi.config.QueryCountFilter;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+final class QueryCountMatchers {
+
+    private QueryCountMatchers() {
+    }
+
+    static ResultMatcher assertQueryCount(int expected) {
+        return header().string(QueryCountFilter.HEADER, String.valueOf(expected));
+    }
+}
@@ -6,6 +6,7 @@ import com.transactionapi.constants.ShareType;
 import com.transactionapi.dto.CreateShareLinkRequest;
 import com.transactionapi.model.ShareLink;
 import com.transactionapi.security.UserIdResolver;
+import com.transactionapi.service.ShareLinkPayloads;
 import com.transactionapi.service.ShareLinkService;
 import com.transactionapi.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +15,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -25,6 +27,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -144,6 +147,54 @@ class ShareLinkControllerTest {
                 .andExpect(jsonPath("$.requiresAuth").value(false));
     }
 
+    @Test
+    void getShareLink_matchingEtag_shouldReturnNotModified() throws Exception {
+        when(userIdResolver.requireUserId(any())).thenThrow(new RuntimeException("Unauthorized"));
+        when(shareLinkService.findByCodeRaw("abc12345")).thenReturn(publicShare);
+        when(shareLinkService.getShareLink(eq("abc12345"), isNull()))
+                .thenReturn(Optional.of(publicShare));
+        String etag = "W/\"" + ShareLinkPayloads.etag(publicShare.getData()) + "\"";
+
+        mockMvc.perform(get(ApiPaths.SHARES + "/abc12345"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"));
+
+        mockMvc.perform(get(ApiPaths.SHARES + "/abc12345").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getShareLinkData_shouldServeStoredGzipUntilExpiry() throws Exception {
+        publicShare.setEtag(ShareLinkPayloads.etag(publicShare.getData()));
+        publicShare.setDataGzip(ShareLinkPayloads.gzip(publicShare.getData()));
+        when(userIdResolver.requireUserId(any())).thenThrow(new RuntimeException("Unauthorized"));
+        when(shareLinkService.findByCodeRaw("abc12345")).thenReturn(publicShare);
+        when(shareLinkService.getShareLink(eq("abc12345"), isNull()))
+                .thenReturn(Optional.of(publicShare));
+        String gzipEtag = "\"" + publicShare.getEtag() + "-gzip\"";
+
+        mockMvc.perform(get(ApiPaths.SHARES + "/abc12345/data").header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, gzipEtag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("public")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                .andExpect(content().bytes(publicShare.getDataGzip()));
+
+        mockMvc.perform(get(ApiPaths.SHARES + "/abc12345/data").header(HttpHeaders.ACCEPT_ENCODING, "identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + publicShare.getEtag() + "\""))
+                .andExpect(content().string(publicShare.getData()));
+
+        mockMvc.perform(get(ApiPaths.SHARES + "/abc12345/data")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, gzipEtag))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     void getShareLink_authRequired_unauthenticated_shouldReturnForbidden() throws Exception {
         when(userIdResolver.requireUserId(any())).thenThrow(new RuntimeException("Unauthorized"));
@@ -1,10 +1,12 @@
 package com.transactionapi.controller;
 
+import static com.transactionapi.controller.QueryCountMatchers.assertQueryCount;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -22,6 +24,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -217,6 +220,47 @@ class TradeControllerTest {
                 .andExpect(jsonPath("$.realizedPnl").value(251.4));
     }
 
+    @Test
+    void keepsTradeReadsToAUserLookupPlusOneQuery() throws Exception {
+        String queryUserId = "query-count-user";
+        TradeRequest trade = new TradeRequest(
+                "MSFT",
+                AssetType.STOCK,
+                Currency.USD,
+                TradeDirection.LONG,
+                2,
+                new BigDecimal("300.00"),
+                new BigDecimal("310.00"),
+                BigDecimal.ZERO,
+                null,
+                null,
+                null,
+                LocalDate.of(2024, 3, 4),
+                LocalDate.of(2024, 3, 4),
+                null
+        );
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(
+                            post(ApiPaths.TRADES)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .header("X-User-Id", queryUserId)
+                                    .content(objectMapper.writeValueAsString(trade))
+                    )
+                    .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(get(ApiPaths.TRADES).header("X-User-Id", queryUserId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(assertQueryCount(2));
+        mockMvc.perform(get(ApiPaths.TRADES + "/summary").header("X-User-Id", queryUserId))
+                .andExpect(status().isOk())
+                .andExpect(assertQueryCount(2));
+        mockMvc.perform(get(ApiPaths.TRADES + "/paged").header("X-User-Id", queryUserId))
+                .andExpect(status().isOk())
+                .andExpect(assertQueryCount(2));
+    }
+
     @Test
     void rejectsInvalidSortByValue() throws Exception {
         mockMvc.perform(
@@ -311,7 +355,9 @@ class TradeControllerTest {
                 .andExpect(jsonPath("$.tradedDays").value(0))
                 .andExpect(jsonPath("$.totalPnl").value(0))
                 .andExpect(jsonPath("$.bestDay").isEmpty())
-                .andExpect(jsonPath("$.bestMonth").isEmpty());
+                .andExpect(jsonPath("$.bestMonth").isEmpty())
+                .andExpect(jsonPath("$.stale").value(false))
+                .andExpect(header().doesNotExist(HttpHeaders.AGE));
     }
 
     @Test
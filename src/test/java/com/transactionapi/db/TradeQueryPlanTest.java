@@ -0,0 +1,159 @@
+package com.transactionapi.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.transactionapi.repository.TradeRepository;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Fails when a trade query stops matching an index and falls back to a sequential scan. Runs
+ * against a local PostgreSQL database, e.g.
+ * {@code TEST_POSTGRES_URL=jdbc:postgresql://localhost:5432/postgres TEST_POSTGRES_USER=postgres mvn test}.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_POSTGRES_URL", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TradeQueryPlanTest {
+
+    private static final Pattern NAMED_PARAMETER = Pattern.compile(":(\\w+)");
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+    private static final Map<String, String> PARAMETERS = Map.of(
+            "userId", "'user-7'",
+            "cadToUsd", "1.35",
+            "startDate", "date '2026-01-01'",
+            "endDate", "date '2026-02-01'",
+            "day", "date '2026-01-15'"
+    );
+
+    private String schema;
+    private JdbcTemplate jdbc;
+
+    @BeforeAll
+    void setUp() {
+        schema = "query_plans_" + UUID.randomUUID().toString().replace("-", "");
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getenv("TEST_POSTGRES_URL"),
+                System.getenv().getOrDefault("TEST_POSTGRES_USER", "postgres"),
+                System.getenv().getOrDefault("TEST_POSTGRES_PASSWORD", "")
+        );
+        Flyway.configure()
+                .dataSource(dataSource)
+                .schemas(schema)
+                .createSchemas(true)
+                .locations("classpath:db/migration", "classpath:db/vendor/postgresql")
+                .load()
+                .migrate();
+        dataSource.setSchema(schema);
+        jdbc = new JdbcTemplate(dataSource);
+
+        // 2,000 users with 25 trades each: small per user, large enough that a scan would lose.
+        jdbc.update("""
+                insert into accounts (id, user_id, name)
+                select gen_random_uuid(), 'user-' || g, 'Main' from generate_series(0, 1999) g
+                """);
+        jdbc.update("""
+                insert into trades (
+                    id, user_id, symbol, currency, asset_type, direction, quantity, entry_price, exit_price,
+                    opened_at, closed_at, realized_pnl, account_id
+                )
+                select gen_random_uuid(), a.user_id, 'AAPL', case when t % 3 = 0 then 'CAD' else 'USD' end,
+                       case when t % 5 = 0 then 'OPTION' else 'STOCK' end, 'LONG', 1 + t, 100, 101,
+                       date '2026-01-01' + t * 7, date '2026-01-01' + t * 7, t - 10,
+                       case when t % 2 = 0 then a.id end
+                from accounts a cross join generate_series(0, 24) t
+                """);
+        jdbc.update("""
+                insert into trade_history (
+                    id, trade_id, action, user_id, symbol, currency, asset_type, direction, quantity,
+                    entry_price, exit_price, opened_at, closed_at, trade_created_at, trade_updated_at, action_at
+                )
+                select gen_random_uuid(), id, 'CREATE', user_id, symbol, currency, asset_type, direction, quantity,
+                       entry_price, exit_price, opened_at, closed_at, created_at, updated_at, created_at
+                from trades
+                """);
+        jdbc.execute("vacuum analyze trades, trade_history, accounts");
+    }
+
+    @AfterAll
+    void tearDown() {
+        jdbc.execute("drop schema " + schema + " cascade");
+    }
+
+    @Test
+    void dashboardAggregatesRunAsIndexOnlyScans() {
+        List<Method> nativeQueries = Arrays.stream(TradeRepository.class.getDeclaredMethods())
+                .filter(method -> method.isAnnotationPresent(Query.class) && method.getAnnotation(Query.class).nativeQuery())
+                .toList();
+        assertThat(nativeQueries).isNotEmpty();
+
+        for (Method method : nativeQueries) {
+            String plan = plan(bind(method.getAnnotation(Query.class).value()));
+            assertThat(nonEmptySeqScans(plan)).as(method.getName() + "\n" + plan).isEmpty();
+            assertThat(plan).as(method.getName()).contains("Index Only Scan");
+        }
+    }
+
+    @Test
+    void tradeListsAndHistoryUseIndexes() {
+        UUID accountId = jdbc.queryForObject("select id from accounts where user_id = 'user-7'", UUID.class);
+        UUID tradeId = jdbc.queryForObject("select id from trades where user_id = 'user-7' limit 1", UUID.class);
+        List<String> queries = List.of(
+                "select * from trades where user_id = 'user-7' order by closed_at desc, created_at desc limit 50",
+                """
+                select * from trades where user_id = 'user-7' and closed_at between date '2026-01-01' and date '2026-01-31'
+                order by closed_at desc, created_at desc
+                """,
+                """
+                select * from trades where user_id = 'user-7' and account_id in ('%s')
+                order by closed_at desc, created_at desc limit 50
+                """.formatted(accountId),
+                "select count(distinct closed_at) from trades where user_id = 'user-7'",
+                """
+                select * from trade_history where trade_id = '%s' and user_id = 'user-7'
+                  and action_at >= now() - interval '1 day' order by action_at
+                """.formatted(tradeId),
+                "select * from trade_history where user_id = 'user-7' order by action_at desc limit 100"
+        );
+
+        for (String query : queries) {
+            String plan = plan(query);
+            assertThat(nonEmptySeqScans(plan)).as(query + "\n" + plan).isEmpty();
+        }
+    }
+
+    private String plan(String sql) {
+        return String.join("\n", jdbc.queryForList("explain (costs off) " + sql, String.class));
+    }
+
+    /** Non-empty relations the plan reads sequentially; empty future partitions cost nothing to scan. */
+    private List<String> nonEmptySeqScans(String plan) {
+        return SEQ_SCAN.matcher(plan).results()
+                .map(match -> match.group(1))
+                .filter(relation -> Boolean.TRUE.equals(
+                        jdbc.queryForObject("select exists (select 1 from " + relation + ")", Boolean.class)))
+                .toList();
+    }
+
+    private static String bind(String sql) {
+        Matcher matcher = NAMED_PARAMETER.matcher(sql);
+        return matcher.replaceAll(match -> {
+            String value = PARAMETERS.get(match.group(1));
+            assertThat(value).as("literal for :" + match.group(1)).isNotNull();
+            return Matcher.quoteReplacement(value);
+        });
+    }
+}
@@ -0,0 +1,125 @@
+package com.transactionapi.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.transactionapi.config.DatabaseBulkhead;
+import com.transactionapi.constants.ShareType;
+import com.transactionapi.model.ShareLink;
+import com.transactionapi.service.AdminMetricsRecorder;
+import com.transactionapi.service.LiveShareRenderer;
+import com.transactionapi.service.ShareCodeGenerator;
+import com.transactionapi.service.ShareLinkAccessCounter;
+import com.transactionapi.service.ShareLinkCache;
+import com.transactionapi.service.ShareLinkService;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:share_link_repository;MODE=PostgreSQL;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ShareLinkRepositoryTest {
+
+    @Autowired
+    private ShareLinkRepository shareLinkRepository;
+
+    @AfterEach
+    void tearDown() {
+        shareLinkRepository.deleteAll();
+    }
+
+    @Test
+    void deletesExpiredLinksInBoundedBatches() {
+        Instant now = Instant.now();
+        for (int i = 0; i < 5; i++) {
+            insert("old" + i, now.minus(Duration.ofDays(i + 1)));
+        }
+        insert("live", now.plus(Duration.ofDays(1)));
+
+        assertThat(shareLinkRepository.deleteExpiredBatch(now, 2)).isEqualTo(2);
+        assertThat(shareLinkRepository.findByCode("old4")).isEmpty();
+        assertThat(shareLinkRepository.deleteExpiredBatch(now, 2)).isEqualTo(2);
+        assertThat(shareLinkRepository.deleteExpiredBatch(now, 2)).isEqualTo(1);
+        assertThat(shareLinkRepository.deleteExpiredBatch(now, 2)).isZero();
+        assertThat(shareLinkRepository.findAll()).extracting(ShareLink::getCode).containsExactly("live");
+    }
+
+    @Test
+    void createsLinksInParallelWithoutDuplicateCodes() throws Exception {
+        // Hand every code out twice so concurrent creations are forced to collide and retry.
+        AtomicInteger sequence = new AtomicInteger();
+        ShareCodeGenerator collidingGenerator = new ShareCodeGenerator() {
+            @Override
+            public String next() {
+                return String.format("c%07d", sequence.getAndIncrement() / 2);
+            }
+        };
+        ShareLinkService shareLinkService = new ShareLinkService(
+                shareLinkRepository,
+                new ShareLinkCache(Duration.ofMinutes(1), 100),
+                mock(ShareLinkAccessCounter.class),
+                collidingGenerator,
+                mock(LiveShareRenderer.class),
+                mock(AdminMetricsRecorder.class),
+                new StaticListableBeanFactory().getBeanProvider(DatabaseBulkhead.class)
+        );
+
+        int creations = 40;
+        List<Callable<ShareLink>> tasks = new ArrayList<>();
+        for (int i = 0; i < creations; i++) {
+            String userId = "user-" + i;
+            tasks.add(() -> shareLinkService.createShareLink(userId, ShareType.SUMMARY, "{}", false, 7L));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<String> codes = new ArrayList<>();
+        try {
+            for (Future<ShareLink> created : executor.invokeAll(tasks)) {
+                codes.add(created.get().getCode());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(codes).doesNotHaveDuplicates().hasSize(creations);
+        assertThat(shareLinkRepository.count()).isEqualTo(creations);
+        assertThat(shareLinkRepository.findByCode(codes.get(0))).get()
+                .extracting(ShareLink::getUserId)
+                .isNotNull();
+    }
+
+    private void insert(String code, Instant expiresAt) {
+        shareLinkRepository.insertIfCodeAbsent(
+                UUID.randomUUID(),
+                code,
+                "user-1",
+                ShareType.SUMMARY.name(),
+                "{}",
+                null,
+                null,
+                false,
+                expiresAt,
+                Instant.now()
+        );
+    }
+}
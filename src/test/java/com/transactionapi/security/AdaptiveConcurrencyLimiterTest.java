@@ -0,0 +1,76 @@
+package com.transactionapi.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.transactionapi.security.AdaptiveConcurrencyLimiter.Priority;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    void growsWhileLatencyStaysFlatUnderLoad() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 50);
+
+        sample(limiter, 20, 10, FAST);
+
+        assertThat(limiter.limit()).isGreaterThan(10);
+    }
+
+    @Test
+    void doesNotGrowWhenTrafficDoesNotUseTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 50);
+
+        sample(limiter, 20, 1, FAST);
+
+        assertThat(limiter.limit()).isEqualTo(10);
+    }
+
+    @Test
+    void shrinksWhenLatencyClimbs() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 50);
+        sample(limiter, 1, 20, FAST);
+
+        sample(limiter, 40, 20, SLOW);
+
+        assertThat(limiter.limit()).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void backsOffOnServerErrors() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 50);
+        int inFlight = limiter.tryAcquire(Priority.CRITICAL);
+
+        limiter.release(inFlight, FAST, true);
+
+        assertThat(limiter.limit()).isEqualTo(9);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void lowerPrioritiesOnlyFillTheirShare() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 50);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(Priority.SHEDDABLE)).isPositive();
+        }
+        assertThat(limiter.tryAcquire(Priority.SHEDDABLE)).isEqualTo(-1);
+        assertThat(limiter.tryAcquire(Priority.NORMAL)).isEqualTo(6);
+        assertThat(limiter.tryAcquire(Priority.NORMAL)).isEqualTo(7);
+        assertThat(limiter.tryAcquire(Priority.NORMAL)).isEqualTo(8);
+        assertThat(limiter.tryAcquire(Priority.NORMAL)).isEqualTo(-1);
+        assertThat(limiter.tryAcquire(Priority.CRITICAL)).isEqualTo(9);
+        assertThat(limiter.tryAcquire(Priority.CRITICAL)).isEqualTo(10);
+        assertThat(limiter.tryAcquire(Priority.CRITICAL)).isEqualTo(-1);
+    }
+
+    private static void sample(AdaptiveConcurrencyLimiter limiter, int samples, int inFlightAtStart, long rtt) {
+        for (int i = 0; i < samples; i++) {
+            limiter.tryAcquire(Priority.CRITICAL);
+            limiter.release(inFlightAtStart, rtt, false);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.transactionapi.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2026-06-24T12:00:00Z");
+
+    private final JwtDecoder delegate = mock(JwtDecoder.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void reusesVerifiedTokenUntilItExpires() {
+        when(delegate.decode("token-1")).thenReturn(jwt("user-1", NOW.plus(Duration.ofMinutes(5))));
+        CachingJwtDecoder decoder = decoderAt(NOW, 10);
+
+        assertThat(decoder.decode("token-1").getSubject()).isEqualTo("user-1");
+        assertThat(decoder.decode("token-1").getSubject()).isEqualTo("user-1");
+        verify(delegate, times(1)).decode("token-1");
+
+        CachingJwtDecoder later = new CachingJwtDecoder(
+                delegate,
+                10,
+                meterRegistry,
+                Clock.fixed(NOW.plus(Duration.ofMinutes(6)), ZoneOffset.UTC)
+        );
+        later.decode("token-1");
+        verify(delegate, times(2)).decode("token-1");
+
+        assertThat(meterRegistry.counter("jwt.decode.cache", "result", "hit").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("jwt.decode.cache", "result", "miss").count()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotCacheRejectedTokens() {
+        when(delegate.decode("bad")).thenThrow(new BadJwtException("bad signature"));
+        CachingJwtDecoder decoder = decoderAt(NOW, 10);
+
+        assertThatThrownBy(() -> decoder.decode("bad")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("bad")).isInstanceOf(BadJwtException.class);
+        verify(delegate, times(2)).decode("bad");
+        assertThat(decoder.size()).isZero();
+    }
+
+    @Test
+    void staysWithinMaxEntriesAndClearsOnDemand() {
+        when(delegate.decode("token-1")).thenReturn(jwt("user-1", NOW.plus(Duration.ofMinutes(5))));
+        when(delegate.decode("token-2")).thenReturn(jwt("user-2", NOW.plus(Duration.ofMinutes(5))));
+        CachingJwtDecoder decoder = decoderAt(NOW, 1);
+
+        decoder.decode("token-1");
+        decoder.decode("token-2");
+        assertThat(decoder.size()).isEqualTo(1);
+
+        decoder.clear();
+        decoder.decode("token-1");
+        verify(delegate, times(2)).decode("token-1");
+    }
+
+    @Test
+    void sweepFreesRoomTakenByExpiredTokens() {
+        when(delegate.decode("token-1")).thenReturn(jwt("user-1", NOW.plus(Duration.ofMinutes(5))));
+        when(delegate.decode("token-2")).thenReturn(jwt("user-2", NOW.plus(Duration.ofMinutes(15))));
+        AtomicReference<Instant> now = new AtomicReference<>(NOW);
+        Clock clock = mock(Clock.class);
+        when(clock.instant()).thenAnswer(invocation -> now.get());
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 1, meterRegistry, clock);
+
+        decoder.decode("token-1");
+        now.set(NOW.plus(Duration.ofMinutes(6)));
+        decoder.decode("token-2");
+        assertThat(decoder.size()).isEqualTo(1);
+
+        assertThat(decoder.evictExpired()).isEqualTo(1);
+        decoder.decode("token-2");
+        decoder.decode("token-2");
+        verify(delegate, times(2)).decode("token-2");
+    }
+
+    private CachingJwtDecoder decoderAt(Instant now, int maxEntries) {
+        return new CachingJwtDecoder(delegate, maxEntries, meterRegistry, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private Jwt jwt(String subject, Instant expiresAt) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject(subject)
+                .issuedAt(NOW.minusSeconds(60))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.transactionapi.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.transactionapi.constants.ApiPaths;
+import com.transactionapi.security.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+
+class ConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrencyLimitFilter filter =
+            new ConcurrencyLimitFilter(meterRegistry, corsConfigurationSource(), 4, 4, 4, Duration.ofMillis(1500));
+
+    @Test
+    void classifiesWritesAndAuthAsCriticalAndAnalyticsAsSheddable() {
+        assertThat(filter.priorityOf(new MockHttpServletRequest("POST", ApiPaths.TRADES))).isEqualTo(Priority.CRITICAL);
+        assertThat(filter.priorityOf(new MockHttpServletRequest("GET", ApiPaths.AUTH_CSRF))).isEqualTo(Priority.CRITICAL);
+        assertThat(filter.priorityOf(new MockHttpServletRequest("GET", ApiPaths.TRADES))).isEqualTo(Priority.NORMAL);
+        assertThat(filter.priorityOf(new MockHttpServletRequest("GET", ApiPaths.TRADES + "/stats/scoped")))
+                .isEqualTo(Priority.SHEDDABLE);
+    }
+
+    @Test
+    void shedsAnalyticsFirstWithRetryAfter() throws Exception {
+        filter.limiter().tryAcquire(Priority.CRITICAL);
+        filter.limiter().tryAcquire(Priority.CRITICAL);
+
+        MockHttpServletResponse analytics = perform("GET", ApiPaths.TRADES + "/stats");
+        MockHttpServletResponse write = perform("POST", ApiPaths.TRADES);
+
+        assertThat(analytics.getStatus()).isEqualTo(503);
+        assertThat(analytics.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(write.getStatus()).isEqualTo(200);
+        assertThat(filter.limiter().inFlight()).isEqualTo(2);
+        assertThat(meterRegistry.get("concurrency.limit.rejections").tag("priority", "sheddable").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("concurrency.limit").gauge().value()).isEqualTo(4);
+    }
+
+    @Test
+    void leavesHealthAndNonApiPathsAlone() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            filter.limiter().tryAcquire(Priority.CRITICAL);
+        }
+
+        assertThat(perform("GET", ApiPaths.HEALTH).getStatus()).isEqualTo(200);
+        assertThat(perform("GET", "/actuator/health").getStatus()).isEqualTo(200);
+        assertThat(perform("GET", ApiPaths.TRADES).getStatus()).isEqualTo(503);
+    }
+
+    @Test
+    void rejectionCarriesCorsHeadersForAllowedOriginsOnly() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            filter.limiter().tryAcquire(Priority.CRITICAL);
+        }
+
+        MockHttpServletResponse allowed = perform("GET", ApiPaths.TRADES, "https://app.example.com");
+        MockHttpServletResponse other = perform("GET", ApiPaths.TRADES, "https://evil.example.com");
+
+        assertThat(allowed.getStatus()).isEqualTo(503);
+        assertThat(allowed.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN)).isEqualTo("https://app.example.com");
+        assertThat(allowed.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS)).isEqualTo("true");
+        assertThat(allowed.getHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS)).isEqualTo(HttpHeaders.RETRY_AFTER);
+        assertThat(other.getStatus()).isEqualTo(503);
+        assertThat(other.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN)).isNull();
+    }
+
+    private MockHttpServletResponse perform(String method, String path) throws Exception {
+        return perform(method, path, null);
+    }
+
+    private MockHttpServletResponse perform(String method, String path, String origin) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        if (origin != null) {
+            request.addHeader(HttpHeaders.ORIGIN, origin);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static UrlBasedCorsConfigurationSource corsConfigurationSource() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOrigins(List.of("https://app.example.com"));
+        configuration.setExposedHeaders(List.of(HttpHeaders.RETRY_AFTER));
+        configuration.setAllowCredentials(true);
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return source;
+    }
+}
@@ -0,0 +1,142 @@
+package com.transactionapi.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class InMemoryRateLimitBackendTest {
+
+    @Test
+    void blocksAfterLimit() {
+        InMemoryRateLimitBackend limiter = new InMemoryRateLimitBackend(60_000, 100, 1000);
+
+        assertThat(limiter.tryAcquire("user-1", 2, 1).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("user-1", 2, 1).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("user-1", 2, 1).allowed()).isFalse();
+    }
+
+    @Test
+    void admitsNewKeysByEvictingLeastActiveBucketWhenFull() {
+        AtomicLong clock = new AtomicLong(0);
+        InMemoryRateLimitBackend limiter = new InMemoryRateLimitBackend(60_000, 2, 1000, clock::get);
+
+        assertThat(limiter.tryAcquire("user-1", 2, 1).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("user-1", 2, 1).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("user-2", 2, 1).allowed()).isTrue();
+
+        assertThat(limiter.tryAcquire("user-3", 2, 1).allowed()).isTrue();
+        assertThat(limiter.bucketCount()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("user-1", 2, 1).allowed()).isFalse();
+    }
+
+    @Test
+    void sweepsExpiredBucketsInBoundedBatches() {
+        AtomicLong clock = new AtomicLong(0);
+        InMemoryRateLimitBackend limiter = new InMemoryRateLimitBackend(1_000, 100, 2, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("user-" + i, 10, 1).allowed()).isTrue();
+        }
+        assertThat(limiter.sweepExpired()).isZero();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(limiter.sweepExpired()).isEqualTo(2);
+        assertThat(limiter.sweepExpired()).isEqualTo(2);
+        assertThat(limiter.sweepExpired()).isEqualTo(1);
+        assertThat(limiter.bucketCount()).isZero();
+    }
+
+    @Test
+    void evictsExpiredBucketsBeforeApplyingBucketLimit() throws Exception {
+        InMemoryRateLimitBackend limiter = new InMemoryRateLimitBackend(1, 1, 1000);
+
+        assertThat(limiter.tryAcquire("user-1", 2, 1).allowed()).isTrue();
+        Thread.sleep(5);
+        assertThat(limiter.tryAcquire("user-2", 2, 1).allowed()).isTrue();
+    }
+
+    @Test
+    void refillsGraduallyAcrossTheWindow() {
+        AtomicLong clock = new AtomicLong(0);
+        InMemoryRateLimitBackend limiter = new InMemoryRateLimitBackend(60_000, 100, 1000, clock::get);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire("user-1", 4, 1).allowed()).isTrue();
+        }
+        assertThat(limiter.tryAcquire("user-1", 4, 1).allowed()).isFalse();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(15));
+        assertThat(limiter.tryAcquire("user-1", 4, 1).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("user-1", 4, 1).allowed()).isFalse();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire("user-1", 4, 1).allowed()).isTrue();
+        }
+        assertThat(limiter.tryAcquire("user-1", 4, 1).allowed()).isFalse();
+    }
+
+    @Test
+    void chargesRequestCostAndReportsRemainingBudget() {
+        AtomicLong clock = new AtomicLong(0);
+        InMemoryRateLimitBackend limiter = new InMemoryRateLimitBackend(60_000, 100, 1000, clock::get);
+
+        RateLimitDecision first = limiter.tryAcquire("user-1", 10, 4);
+        assertThat(first.allowed()).isTrue();
+        assertThat(first.remaining()).isEqualTo(6);
+        assertThat(first.resetMillis()).isEqualTo(24_000);
+
+        assertThat(limiter.tryAcquire("user-1", 10, 4).remaining()).isEqualTo(2);
+
+        RateLimitDecision denied = limiter.tryAcquire("user-1", 10, 4);
+        assertThat(denied.allowed()).isFalse();
+        assertThat(denied.remaining()).isEqualTo(2);
+        assertThat(denied.retryAfterMillis()).isEqualTo(12_000);
+
+        assertThat(limiter.tryAcquire("user-1", 10, 2).allowed()).isTrue();
+    }
+
+    @Test
+    void allowsExactlyTheLimitUnderConcurrentRequests() throws Exception {
+        int limit = 100;
+        int threads = 16;
+        int attemptsPerThread = 50;
+        AtomicLong clock = new AtomicLong(0);
+        InMemoryRateLimitBackend limiter = new InMemoryRateLimitBackend(60_000, 100, 1000, clock::get);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int allowed = 0;
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (limiter.tryAcquire("shared-user", limit, 1).allowed()) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                }));
+            }
+            start.countDown();
+
+            int totalAllowed = 0;
+            for (Future<Integer> result : results) {
+                totalAllowed += result.get(10, TimeUnit.SECONDS);
+            }
+            assertThat(totalAllowed).isEqualTo(limit);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.transactionapi.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.transactionapi.constants.ApiPaths;
+import com.transactionapi.model.User;
+import com.transactionapi.service.UserService;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class LegalAgreementFilterTest {
+
+    private final UserService userService = mock(UserService.class);
+    private final LegalAgreementFilter filter = new LegalAgreementFilter(
+            new MockEnvironment(),
+            new UserIdResolver(userService),
+            userService
+    );
+
+    @BeforeEach
+    void setUp() {
+        AuthenticatedUserPrincipal principal =
+                new AuthenticatedUserPrincipal("user-1", "new@example.com", "User One", true);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of())
+        );
+        User user = new User();
+        user.setAuthId("user-1");
+        when(userService.getOrCreateUser("user-1", "new@example.com")).thenReturn(user);
+        when(userService.hasAcceptedLegalAgreement(user)).thenReturn(true);
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void serverSessionsStillSyncTheUserRow() throws ServletException, IOException {
+        ReflectionTestUtils.setField(filter, "sessionMode", "server");
+
+        MockHttpServletResponse response = perform();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        verify(userService).getOrCreateUser("user-1", "new@example.com");
+    }
+
+    @Test
+    void signedCookieSessionsSkipTheLookupButCountTheVisit() throws ServletException, IOException {
+        ReflectionTestUtils.setField(filter, "sessionMode", "stateless");
+
+        MockHttpServletResponse response = perform();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        verify(userService).recordActivity("user-1");
+        verify(userService, never()).getOrCreateUser("user-1", "new@example.com");
+    }
+
+    private MockHttpServletResponse perform() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", ApiPaths.TRADES), response, new MockFilterChain());
+        return response;
+    }
+}
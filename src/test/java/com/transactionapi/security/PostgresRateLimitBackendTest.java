@@ -0,0 +1,126 @@
+package com.transactionapi.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Runs against a local PostgreSQL database, e.g.
+ * {@code TEST_POSTGRES_URL=jdbc:postgresql://localhost:5432/postgres TEST_POSTGRES_USER=postgres mvn test}.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_POSTGRES_URL", matches = ".+")
+class PostgresRateLimitBackendTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-06-24T12:00:30Z"), ZoneOffset.UTC);
+    private String schema;
+    private DriverManagerDataSource dataSource;
+    private NamedParameterJdbcTemplate jdbc;
+    private final List<PostgresRateLimitBackend> created = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        schema = "rate_limit_" + UUID.randomUUID().toString().replace("-", "");
+        dataSource = new DriverManagerDataSource(
+                System.getenv("TEST_POSTGRES_URL"),
+                System.getenv().getOrDefault("TEST_POSTGRES_USER", "postgres"),
+                System.getenv().getOrDefault("TEST_POSTGRES_PASSWORD", "")
+        );
+        Flyway.configure()
+                .dataSource(dataSource)
+                .schemas(schema)
+                .createSchemas(true)
+                .locations("classpath:db/migration", "classpath:db/vendor/postgresql")
+                .load()
+                .migrate();
+        dataSource.setSchema(schema);
+        jdbc = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        created.forEach(PostgresRateLimitBackend::shutdown);
+        new JdbcTemplate(dataSource).execute("drop schema " + schema + " cascade");
+    }
+
+    @Test
+    void sharesLimitAcrossInstances() {
+        PostgresRateLimitBackend first = backend();
+        PostgresRateLimitBackend second = backend();
+
+        int allowed = 0;
+        for (int i = 0; i < 20; i++) {
+            if (first.tryAcquire("user-1", 12, 1).allowed()) {
+                allowed++;
+            }
+            if (second.tryAcquire("user-1", 12, 1).allowed()) {
+                allowed++;
+            }
+        }
+
+        assertThat(allowed).isEqualTo(12);
+    }
+
+    @Test
+    void returnsIdleLeasesOnSync() {
+        PostgresRateLimitBackend first = backend();
+        PostgresRateLimitBackend second = backend();
+
+        assertThat(first.tryAcquire("user-1", 10, 1).allowed()).isTrue();
+        assertThat(second.tryAcquire("user-1", 10, 1).allowed()).isTrue();
+        assertThat(second.tryAcquire("user-1", 10, 1).allowed()).isTrue();
+        assertThat(second.tryAcquire("user-1", 10, 1).allowed()).isTrue();
+        assertThat(second.tryAcquire("user-1", 10, 1).allowed()).isTrue();
+        assertThat(second.tryAcquire("user-1", 10, 1).allowed()).isTrue();
+        assertThat(second.tryAcquire("user-1", 10, 1).allowed()).isFalse();
+
+        first.sync();
+        first.sync();
+        second.sync();
+
+        assertThat(second.tryAcquire("user-1", 10, 1).allowed()).isTrue();
+    }
+
+    @Test
+    void usesLocalLimitsFromAFailedLeaseUntilTheNextSync() {
+        PostgresRateLimitBackend backend = backend();
+        JdbcTemplate admin = new JdbcTemplate(dataSource);
+        admin.execute("alter table rate_limit_buckets rename to rate_limit_buckets_offline");
+
+        assertThat(backend.tryAcquire("user-1", 10, 1).allowed()).isTrue();
+
+        admin.execute("alter table rate_limit_buckets_offline rename to rate_limit_buckets");
+        assertThat(backend.tryAcquire("user-1", 10, 1).allowed()).isTrue();
+        assertThat(admin.queryForObject("select count(*) from rate_limit_buckets", Integer.class)).isZero();
+
+        backend.sync();
+        assertThat(backend.tryAcquire("user-1", 10, 1).allowed()).isTrue();
+        assertThat(admin.queryForObject("select used from rate_limit_buckets", Integer.class)).isEqualTo(5);
+    }
+
+    private PostgresRateLimitBackend backend() {
+        PostgresRateLimitBackend backend = new PostgresRateLimitBackend(
+                jdbc,
+                60_000,
+                5,
+                Duration.ofSeconds(5),
+                new InMemoryRateLimitBackend(60_000, 100, 100),
+                clock
+        );
+        created.add(backend);
+        return backend;
+    }
+}
@@ -0,0 +1,35 @@
+package com.transactionapi.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.transactionapi.constants.ApiPaths;
+import org.junit.jupiter.api.Test;
+
+class RateLimitRouteTableTest {
+
+    private final RateLimitRouteTable routes = RateLimitRouteTable.defaults();
+
+    @Test
+    void prefersLiteralSegmentsOverVariables() {
+        assertThat(routes.resolve("GET", ApiPaths.TRADES + "/stats/inferred-account-counts"))
+                .isEqualTo(new RateLimitRoute(RateLimitBudget.ANALYTICS, 10));
+        assertThat(routes.resolve("GET", ApiPaths.TRADES + "/3f0c1a7e-0000-0000-0000-000000000000/history"))
+                .isEqualTo(new RateLimitRoute(RateLimitBudget.READ, 2));
+    }
+
+    @Test
+    void matchesPublicShareViewOnlyForSingleCodeSegment() {
+        assertThat(routes.resolve("GET", ApiPaths.SHARES + "/abc12345").budget())
+                .isEqualTo(RateLimitBudget.PUBLIC_SHARE);
+        assertThat(routes.resolve("GET", ApiPaths.SHARES + "/abc12345/extra"))
+                .isEqualTo(RateLimitRoute.DEFAULT_READ);
+        assertThat(routes.resolve("DELETE", ApiPaths.SHARES + "/abc12345"))
+                .isEqualTo(RateLimitRoute.DEFAULT_WRITE);
+    }
+
+    @Test
+    void fallsBackToMethodDefaults() {
+        assertThat(routes.resolve("GET", ApiPaths.USER_ME)).isEqualTo(RateLimitRoute.DEFAULT_READ);
+        assertThat(routes.resolve("POST", ApiPaths.TRADES)).isEqualTo(RateLimitRoute.DEFAULT_WRITE);
+    }
+}
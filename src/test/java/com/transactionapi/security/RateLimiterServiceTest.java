@@ -2,33 +2,30 @@ package com.transactionapi.security;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 
 class RateLimiterServiceTest {
 
     @Test
-    void blocksAfterLimit() {
-        RateLimiterService limiter = new RateLimiterService(2, 2, 60_000, 100);
+    void keepsSeparateBudgetsPerClient() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RateLimiterService limiter = new RateLimiterService(
+                new InMemoryRateLimitBackend(60_000, 100, 1000), meterRegistry, 2, 2, 10, 1);
 
-        assertThat(limiter.allow("user-1")).isTrue();
-        assertThat(limiter.allow("user-1")).isTrue();
-        assertThat(limiter.allow("user-1")).isFalse();
-    }
+        assertThat(limiter.acquire("user-1", RateLimitBudget.READ, 1).allowed()).isTrue();
+        assertThat(limiter.acquire("user-1", RateLimitBudget.READ, 1).allowed()).isTrue();
+        assertThat(limiter.acquire("user-1", RateLimitBudget.READ, 1).allowed()).isFalse();
 
-    @Test
-    void blocksNewKeysAfterBucketLimit() {
-        RateLimiterService limiter = new RateLimiterService(2, 2, 60_000, 1);
+        assertThat(limiter.acquire("user-1", RateLimitBudget.WRITE, 1).allowed()).isTrue();
+        assertThat(limiter.acquire("user-1", RateLimitBudget.ANALYTICS, 10).allowed()).isTrue();
+        assertThat(limiter.acquire("user-1", RateLimitBudget.ANALYTICS, 1).allowed()).isFalse();
 
-        assertThat(limiter.allow("user-1")).isTrue();
-        assertThat(limiter.allow("user-2")).isFalse();
-    }
-
-    @Test
-    void evictsExpiredBucketsBeforeApplyingBucketLimit() throws Exception {
-        RateLimiterService limiter = new RateLimiterService(2, 2, 1, 1);
+        assertThat(limiter.acquire("user-1", RateLimitBudget.PUBLIC_SHARE, 1).allowed()).isTrue();
+        assertThat(limiter.acquire("user-1", RateLimitBudget.PUBLIC_SHARE, 1).allowed()).isFalse();
 
-        assertThat(limiter.allow("user-1")).isTrue();
-        Thread.sleep(5);
-        assertThat(limiter.allow("user-2")).isTrue();
+        assertThat(meterRegistry.counter("rate.limit.rejections", "budget", "read", "key", "user").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("rate.limit.rejections", "budget", "write", "key", "user").count()).isZero();
+        assertThat(meterRegistry.counter("rate.limit.rejections", "budget", "public_share", "key", "ip").count()).isEqualTo(1);
     }
 }
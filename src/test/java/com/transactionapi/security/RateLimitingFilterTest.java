@@ -5,17 +5,23 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.transactionapi.constants.ApiPaths;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.web.MockFilterChain;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.util.ReflectionTestUtils;
 
 class RateLimitingFilterTest {
 
+    private static final RateLimitDecision ALLOWED = RateLimitDecision.allowed(20, 19, 3_000);
+    private static final RateLimitDecision DENIED = RateLimitDecision.denied(20, 0, 60_000, 2_500);
+
     private final RateLimiterService rateLimiterService = org.mockito.Mockito.mock(RateLimiterService.class);
     private final UserIdResolver userIdResolver = org.mockito.Mockito.mock(UserIdResolver.class);
 
@@ -30,11 +36,11 @@ class RateLimitingFilterTest {
         MockHttpServletRequest request = publicShareRequest();
         request.setRemoteAddr("203.0.113.10");
         request.addHeader("X-Forwarded-For", "198.51.100.7");
-        when(rateLimiterService.allowPublicShare("203.0.113.10")).thenReturn(true);
+        when(rateLimiterService.acquire("203.0.113.10", RateLimitBudget.PUBLIC_SHARE, 1)).thenReturn(ALLOWED);
 
         filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
 
-        verify(rateLimiterService).allowPublicShare("203.0.113.10");
+        verify(rateLimiterService).acquire("203.0.113.10", RateLimitBudget.PUBLIC_SHARE, 1);
     }
 
     @Test
@@ -44,13 +50,17 @@ class RateLimitingFilterTest {
         request.setRemoteAddr("203.0.113.10");
         request.addHeader("X-Forwarded-For", "198.51.100.7");
         MockHttpServletResponse response = new MockHttpServletResponse();
-        when(rateLimiterService.allowPublicShare("203.0.113.10")).thenReturn(false);
+        when(rateLimiterService.acquire("203.0.113.10", RateLimitBudget.PUBLIC_SHARE, 1)).thenReturn(DENIED);
 
         filter.doFilter(request, response, new MockFilterChain());
 
         assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
         assertThat(response.getContentAsString()).contains("Too many requests");
-        verify(rateLimiterService).allowPublicShare("203.0.113.10");
+        assertThat(response.getHeader("Retry-After")).isEqualTo("3");
+        assertThat(response.getHeader("RateLimit-Limit")).isEqualTo("20");
+        assertThat(response.getHeader("RateLimit-Remaining")).isEqualTo("0");
+        assertThat(response.getHeader("RateLimit-Reset")).isEqualTo("60");
+        verify(rateLimiterService).acquire("203.0.113.10", RateLimitBudget.PUBLIC_SHARE, 1);
     }
 
     @Test
@@ -60,11 +70,45 @@ class RateLimitingFilterTest {
         MockHttpServletRequest request = publicShareRequest();
         request.setRemoteAddr("203.0.113.10");
         request.addHeader("X-Forwarded-For", "198.51.100.7, 10.0.0.1");
-        when(rateLimiterService.allowPublicShare("198.51.100.7")).thenReturn(true);
+        when(rateLimiterService.acquire("198.51.100.7", RateLimitBudget.PUBLIC_SHARE, 1)).thenReturn(ALLOWED);
 
         filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
 
-        verify(rateLimiterService).allowPublicShare("198.51.100.7");
+        verify(rateLimiterService).acquire("198.51.100.7", RateLimitBudget.PUBLIC_SHARE, 1);
+    }
+
+    @Test
+    void authenticatedAnalyticsRequestIsChargedAgainstAnalyticsBudget() throws Exception {
+        RateLimitingFilter filter = new RateLimitingFilter(rateLimiterService, userIdResolver);
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated("user-1", null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        when(userIdResolver.requireUserId(authentication)).thenReturn("user-1");
+        when(rateLimiterService.acquire("user-1", RateLimitBudget.ANALYTICS, 10)).thenReturn(ALLOWED);
+        MockHttpServletRequest request = new MockHttpServletRequest(
+                "GET",
+                ApiPaths.TRADES + "/stats/inferred-account-counts"
+        );
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getHeader("RateLimit-Remaining")).isEqualTo("19");
+        assertThat(response.getHeader("RateLimit-Reset")).isEqualTo("3");
+        assertThat(response.getHeader("Retry-After")).isNull();
+    }
+
+    @Test
+    void authenticatedPublicShareViewIsChargedAgainstReadBudget() throws Exception {
+        RateLimitingFilter filter = new RateLimitingFilter(rateLimiterService, userIdResolver);
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated("user-1", null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        when(userIdResolver.requireUserId(authentication)).thenReturn("user-1");
+        when(rateLimiterService.acquire("user-1", RateLimitBudget.READ, 1)).thenReturn(ALLOWED);
+
+        filter.doFilter(publicShareRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(rateLimiterService).acquire("user-1", RateLimitBudget.READ, 1);
     }
 
     private MockHttpServletRequest publicShareRequest() {
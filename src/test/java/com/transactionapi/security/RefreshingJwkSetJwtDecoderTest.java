@@ -0,0 +1,229 @@
+package com.transactionapi.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+class RefreshingJwkSetJwtDecoderTest {
+
+    private final MutableClock clock = new MutableClock(Instant.now());
+    private final Queue<Runnable> backgroundTasks = new ArrayDeque<>();
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final AtomicReference<String> jwks = new AtomicReference<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RSAKey firstKey;
+    private RSAKey secondKey;
+    private RefreshingJwkSetJwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() throws JOSEException {
+        firstKey = new RSAKeyGenerator(2048).keyID("key-1").generate();
+        secondKey = new RSAKeyGenerator(2048).keyID("key-2").generate();
+        jwks.set(new JWKSet(firstKey.toPublicJWK()).toString());
+        decoder = new RefreshingJwkSetJwtDecoder(
+                () -> {
+                    fetches.incrementAndGet();
+                    String current = jwks.get();
+                    if (current == null) {
+                        throw new IllegalStateException("JWKS unavailable");
+                    }
+                    return current;
+                },
+                Set.of(JWSAlgorithm.RS256),
+                Duration.ofMinutes(15),
+                Duration.ofMinutes(15),
+                Duration.ofSeconds(30),
+                token -> OAuth2TokenValidatorResult.success(),
+                meterRegistry,
+                backgroundTasks::add,
+                clock
+        );
+    }
+
+    @Test
+    void invalidTokensDoNotTriggerRefresh() throws Exception {
+        decoder.decode(sign(firstKey));
+
+        assertThatThrownBy(() -> decoder.decode("not-a-token")).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> decoder.decode(sign(secondKey, "key-1"))).isInstanceOf(JwtException.class);
+
+        assertThat(fetches).hasValue(1);
+        assertThat(backgroundTasks).isEmpty();
+    }
+
+    @Test
+    void unknownKeyIdForcesRefreshAtMostOncePerInterval() throws Exception {
+        decoder.decode(sign(firstKey));
+
+        assertThatThrownBy(() -> decoder.decode(sign(secondKey))).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> decoder.decode(sign(secondKey))).isInstanceOf(JwtException.class);
+        assertThat(fetches).hasValue(2);
+
+        jwks.set(new JWKSet(List.of(firstKey.toPublicJWK(), secondKey.toPublicJWK())).toString());
+        clock.advance(Duration.ofSeconds(31));
+
+        assertThat(decoder.decode(sign(secondKey)).getSubject()).isEqualTo("user-1");
+        assertThat(fetches).hasValue(3);
+        assertThat(meterRegistry.counter("jwks.refresh.forced").count()).isEqualTo(2);
+    }
+
+    @Test
+    void servesCachedKeysWhileRefreshingInBackground() throws Exception {
+        decoder.decode(sign(firstKey));
+
+        clock.advance(Duration.ofMinutes(13));
+        assertThat(decoder.decode(sign(firstKey)).getSubject()).isEqualTo("user-1");
+        assertThat(decoder.decode(sign(firstKey)).getSubject()).isEqualTo("user-1");
+        assertThat(backgroundTasks).hasSize(1);
+        assertThat(fetches).hasValue(1);
+
+        backgroundTasks.poll().run();
+        assertThat(fetches).hasValue(2);
+
+        clock.advance(Duration.ofMinutes(5));
+        decoder.decode(sign(firstKey));
+        assertThat(backgroundTasks).isEmpty();
+    }
+
+    @Test
+    void keepsCachedKeysAndCountsFailuresWhenRefreshFails() throws Exception {
+        decoder.decode(sign(firstKey));
+        jwks.set(null);
+
+        clock.advance(Duration.ofMinutes(16));
+        decoder.decode(sign(firstKey));
+        backgroundTasks.poll().run();
+
+        assertThat(decoder.decode(sign(firstKey)).getSubject()).isEqualTo("user-1");
+        assertThat(backgroundTasks).isEmpty();
+        assertThat(meterRegistry.counter("jwks.fetch.failures").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("jwks.fetch").count()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsTokensOnceCachedKeysArePastMaxStaleAndReloadFails() throws Exception {
+        AtomicInteger changes = new AtomicInteger();
+        decoder.addKeySetChangeListener(changes::incrementAndGet);
+        decoder.decode(sign(firstKey));
+        jwks.set(null);
+
+        clock.advance(Duration.ofMinutes(31));
+        String token = sign(firstKey);
+        assertThatThrownBy(() -> decoder.decode(token)).isInstanceOf(JwtException.class);
+        assertThat(changes).hasValue(1);
+        assertThatThrownBy(() -> decoder.decode(token)).isInstanceOf(JwtException.class);
+        assertThat(backgroundTasks).isEmpty();
+
+        jwks.set(new JWKSet(firstKey.toPublicJWK()).toString());
+        assertThat(decoder.decode(token).getSubject()).isEqualTo("user-1");
+        assertThat(fetches).hasValue(4);
+    }
+
+    @Test
+    void notifiesListenersOnlyWhenKeySetChanges() throws Exception {
+        AtomicInteger changes = new AtomicInteger();
+        decoder.addKeySetChangeListener(changes::incrementAndGet);
+        decoder.decode(sign(firstKey));
+
+        clock.advance(Duration.ofMinutes(13));
+        decoder.decode(sign(firstKey));
+        backgroundTasks.poll().run();
+        assertThat(changes).hasValue(0);
+
+        jwks.set(new JWKSet(List.of(firstKey.toPublicJWK(), secondKey.toPublicJWK())).toString());
+        decoder.decode(sign(secondKey));
+        assertThat(changes).hasValue(1);
+    }
+
+    @Test
+    void shutdownStopsTheRefreshExecutorBehindTheCache() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        RefreshingJwkSetJwtDecoder refreshing = new RefreshingJwkSetJwtDecoder(
+                jwks::get,
+                Set.of(JWSAlgorithm.RS256),
+                Duration.ofMinutes(15),
+                Duration.ofMinutes(15),
+                Duration.ofSeconds(30),
+                token -> OAuth2TokenValidatorResult.success(),
+                meterRegistry,
+                executor,
+                clock
+        );
+
+        new CachingJwtDecoder(refreshing, 10, meterRegistry).shutdown();
+
+        assertThat(executor.isShutdown()).isTrue();
+    }
+
+    private String sign(RSAKey key) throws JOSEException {
+        return sign(key, key.getKeyID());
+    }
+
+    private String sign(RSAKey key, String keyId) throws JOSEException {
+        SignedJWT jwt = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(keyId).build(),
+                new JWTClaimsSet.Builder()
+                        .subject("user-1")
+                        .issueTime(Date.from(clock.instant()))
+                        .expirationTime(Date.from(clock.instant().plus(Duration.ofHours(1))))
+                        .build()
+        );
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.test.util.ReflectionTestUtils;
 
 class SecurityConfigTest {
@@ -33,4 +34,24 @@ class SecurityConfigTest {
         assertThat(cookie.isHttpOnly()).isFalse();
         assertThat(cookie.getPath()).isEqualTo("/");
     }
+
+    @Test
+    void permitsOnlyRequestsArrivingOnSeparateManagementPort() {
+        SecurityConfig config = new SecurityConfig(null, null, null, null, null);
+        ReflectionTestUtils.setField(config, "serverPort", 8080);
+        ReflectionTestUtils.setField(config, "managementPort", 8081);
+        RequestMatcher matcher = ReflectionTestUtils.invokeMethod(config, "managementPortMatcher");
+
+        assertThat(matcher.matches(requestOnPort(8081))).isTrue();
+        assertThat(matcher.matches(requestOnPort(8080))).isFalse();
+
+        ReflectionTestUtils.setField(config, "managementPort", 8080);
+        assertThat(matcher.matches(requestOnPort(8080))).isFalse();
+    }
+
+    private static MockHttpServletRequest requestOnPort(int port) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/prometheus");
+        request.setLocalPort(port);
+        return request;
+    }
 }
@@ -56,6 +56,25 @@ class SecurityStartupValidatorTest {
         assertThatCode(validator::validate).doesNotThrowAnyException();
     }
 
+    @Test
+    void rejectsStatelessSessionsWithoutSigningKeys() {
+        SecurityStartupValidator validator = validator(
+                new MockEnvironment(),
+                true,
+                "google-client-id",
+                false,
+                "admin@example.com",
+                true,
+                "lax"
+        );
+        ReflectionTestUtils.setField(validator, "sessionMode", "stateless");
+        ReflectionTestUtils.setField(validator, "sessionSigningKeys", "");
+
+        assertThatThrownBy(validator::validate)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("At least one session signing key is required");
+    }
+
     private SecurityStartupValidator validator(
             MockEnvironment environment,
             boolean jwtEnabled,
@@ -0,0 +1,159 @@
+package com.transactionapi.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import jakarta.servlet.http.Cookie;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class SignedCookieSecurityContextRepositoryTest {
+
+    private static final String FIRST_KEY = "k1:" + secret('a');
+    private static final String SECOND_KEY = "k2:" + secret('b');
+    private static final Instant NOW = Instant.parse("2026-07-01T12:00:00Z");
+
+    private final AuthenticatedUserPrincipal principal =
+            new AuthenticatedUserPrincipal("user-1", "user@example.com", "User One", true);
+
+    @Test
+    void roundTripsPrincipalThroughCookie() {
+        SignedCookieSecurityContextRepository repository = repository(FIRST_KEY, NOW);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        repository.saveContext(context(principal), new MockHttpServletRequest(), response);
+
+        String setCookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertThat(setCookie)
+                .startsWith(SignedCookieSecurityContextRepository.COOKIE_NAME + "=k1.")
+                .contains("HttpOnly", "Secure", "SameSite=Lax", "Max-Age=7200");
+
+        MockHttpServletRequest request = requestWith(response.getCookie(SignedCookieSecurityContextRepository.COOKIE_NAME));
+        assertThat(repository.containsContext(request)).isTrue();
+        assertThat(repository.loadDeferredContext(request).get().getAuthentication().getPrincipal())
+                .isEqualTo(principal);
+    }
+
+    @AfterEach
+    void resetRequestContext() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void reissuesCookieOnceHalfItsLifetimeHasPassed() {
+        String token = repository(FIRST_KEY, NOW).sign(principal);
+
+        MockHttpServletResponse early = load(repository(FIRST_KEY, NOW.plus(Duration.ofMinutes(59))), token);
+        MockHttpServletResponse late = load(repository(FIRST_KEY, NOW.plus(Duration.ofMinutes(61))), token);
+
+        assertThat(early.getHeader(HttpHeaders.SET_COOKIE)).isNull();
+        Cookie renewed = late.getCookie(SignedCookieSecurityContextRepository.COOKIE_NAME);
+        assertThat(renewed).isNotNull();
+        assertThat(renewed.getMaxAge()).isEqualTo(7200);
+        assertThat(repository(FIRST_KEY, NOW.plus(Duration.ofMinutes(179))).verify(renewed.getValue()))
+                .isEqualTo(principal);
+        assertThat(repository(FIRST_KEY, NOW.plus(Duration.ofMinutes(179))).verify(token)).isNull();
+    }
+
+    @Test
+    void rejectsTamperedAndExpiredTokens() {
+        SignedCookieSecurityContextRepository repository = repository(FIRST_KEY, NOW);
+        String token = repository.sign(principal);
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                "{\"sub\":\"admin\",\"legal\":true,\"iat\":0,\"exp\":9999999999}".getBytes()
+        );
+
+        assertThat(repository.verify(parts[0] + "." + forgedPayload + "." + parts[2])).isNull();
+        assertThat(repository.verify(token + "x")).isNull();
+        assertThat(repository.verify("garbage")).isNull();
+        assertThat(repository(FIRST_KEY, NOW.plus(Duration.ofHours(2))).verify(token)).isNull();
+        assertThat(repository(FIRST_KEY, NOW.plus(Duration.ofMinutes(119))).verify(token)).isEqualTo(principal);
+    }
+
+    @Test
+    void acceptsTokensSignedWithRotatedOutKeyWhileItIsListed() {
+        String oldToken = repository(FIRST_KEY, NOW).sign(principal);
+        SignedCookieSecurityContextRepository rotated = repository(SECOND_KEY + "," + FIRST_KEY, NOW);
+
+        assertThat(rotated.verify(oldToken)).isEqualTo(principal);
+        assertThat(rotated.sign(principal)).startsWith("k2.");
+        assertThat(repository(SECOND_KEY, NOW).verify(oldToken)).isNull();
+    }
+
+    @Test
+    void clearsCookieWhenContextIsEmptied() {
+        SignedCookieSecurityContextRepository repository = repository(FIRST_KEY, NOW);
+        MockHttpServletRequest request = requestWith(
+                new Cookie(SignedCookieSecurityContextRepository.COOKIE_NAME, repository.sign(principal))
+        );
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        repository.saveContext(SecurityContextHolder.createEmptyContext(), request, response);
+
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE)).contains("Max-Age=0");
+        assertThat(repository.loadDeferredContext(new MockHttpServletRequest()).isGenerated()).isTrue();
+    }
+
+    @Test
+    void rejectsShortOrMalformedSigningKeys() {
+        assertThatThrownBy(() -> SignedCookieSecurityContextRepository.parseSigningKeys(""))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> SignedCookieSecurityContextRepository.parseSigningKeys("k1:c2hvcnQ="))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("256 bits");
+        assertThatThrownBy(() -> SignedCookieSecurityContextRepository.parseSigningKeys(secret('a')))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private SignedCookieSecurityContextRepository repository(String keys, Instant now) {
+        return new SignedCookieSecurityContextRepository(
+                keys,
+                Duration.ofHours(2),
+                true,
+                "Lax",
+                Clock.fixed(now, ZoneOffset.UTC)
+        );
+    }
+
+    private MockHttpServletResponse load(SignedCookieSecurityContextRepository repository, String token) {
+        MockHttpServletRequest request =
+                requestWith(new Cookie(SignedCookieSecurityContextRepository.COOKIE_NAME, token));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+
+        assertThat(repository.loadDeferredContext(request).get().getAuthentication().getPrincipal())
+                .isEqualTo(principal);
+        return response;
+    }
+
+    private static SecurityContext context(AuthenticatedUserPrincipal principal) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+        return context;
+    }
+
+    private static MockHttpServletRequest requestWith(Cookie cookie) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(cookie);
+        return request;
+    }
+
+    private static String secret(char fill) {
+        return Base64.getEncoder().encodeToString(String.valueOf(fill).repeat(32).getBytes());
+    }
+}
@@ -0,0 +1,92 @@
+package com.transactionapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.transactionapi.constants.CountedTable;
+import com.transactionapi.constants.DailyMetric;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class AdminMetricsRecorderTest {
+
+    private JdbcTemplate jdbc;
+    private AdminMetricsRecorder first;
+    private AdminMetricsRecorder second;
+
+    @BeforeEach
+    void setUp() {
+        String databaseName = "admin_metrics_" + UUID.randomUUID().toString().replace("-", "");
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + databaseName + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "sa",
+                ""
+        );
+        dataSource.setDriverClassName("org.h2.Driver");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        jdbc = new JdbcTemplate(dataSource);
+        first = new AdminMetricsRecorder(jdbc);
+        second = new AdminMetricsRecorder(jdbc);
+    }
+
+    @Test
+    void accumulatesCountersAcrossFlushesAndInstances() {
+        first.increment(DailyMetric.TRADE_WRITES);
+        first.add(DailyMetric.TRADE_WRITES, 2);
+        second.increment(DailyMetric.TRADE_WRITES);
+        first.adjustRows(CountedTable.TRADES, 3);
+        second.adjustRows(CountedTable.TRADES, -1);
+
+        assertThat(first.flush()).isEqualTo(2);
+        second.flush();
+        first.increment(DailyMetric.TRADE_WRITES);
+        first.flush();
+
+        assertThat(metric(DailyMetric.TRADE_WRITES)).isEqualTo(5);
+        assertThat(rows(CountedTable.TRADES)).isEqualTo(2);
+        assertThat(first.flush()).isZero();
+    }
+
+    @Test
+    void countsEachActiveUserOncePerDayAcrossInstances() {
+        first.recordActiveUser("user-1");
+        first.recordActiveUser("user-1");
+        first.recordActiveUser("user-2");
+        second.recordActiveUser("user-1");
+
+        first.flush();
+        second.flush();
+        first.recordActiveUser("user-2");
+        first.flush();
+
+        assertThat(metric(DailyMetric.ACTIVE_USERS)).isEqualTo(2);
+        assertThat(jdbc.queryForObject("select count(*) from daily_active_users", Long.class)).isEqualTo(2);
+    }
+
+    private long metric(DailyMetric metric) {
+        return jdbc.queryForObject(
+                "select metric_value from daily_metrics where metric_date = ? and metric = ?",
+                Long.class,
+                Date.valueOf(LocalDate.now(ZoneOffset.UTC)),
+                metric.name()
+        );
+    }
+
+    private long rows(CountedTable table) {
+        return jdbc.queryForObject(
+                "select row_count from table_row_counts where table_name = ?",
+                Long.class,
+                table.tableName()
+        );
+    }
+}
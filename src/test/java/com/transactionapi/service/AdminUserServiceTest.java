@@ -0,0 +1,101 @@
+package com.transactionapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.transactionapi.constants.AssetType;
+import com.transactionapi.constants.Currency;
+import com.transactionapi.constants.TradeDirection;
+import com.transactionapi.dto.AdminUserResponse;
+import com.transactionapi.dto.CursorPageResponse;
+import com.transactionapi.dto.TradeRequest;
+import com.transactionapi.model.User;
+import com.transactionapi.repository.TradeHistoryRepository;
+import com.transactionapi.repository.TradeRepository;
+import com.transactionapi.repository.UserRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AdminUserServiceTest {
+
+    @Autowired
+    private AdminUserService adminUserService;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private TradeHistoryRepository tradeHistoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void cleanDb() {
+        tradeHistoryRepository.deleteAll();
+        tradeRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void pagesUsersWithTheirTradeAndHistoryTotals() {
+        createUser("admin-page-quiet");
+        createUser("admin-page-active");
+        tradeService.createTrade(stockTrade(LocalDate.of(2024, 3, 4)), "admin-page-active");
+        tradeService.createTrade(stockTrade(LocalDate.of(2024, 3, 8)), "admin-page-active");
+
+        List<AdminUserResponse> users = new ArrayList<>();
+        CursorPageResponse<AdminUserResponse> page = adminUserService.listUsers(null, 1);
+        users.addAll(page.items());
+        page = adminUserService.listUsers(page.nextCursor(), 1);
+        users.addAll(page.items());
+
+        assertThat(page.nextCursor()).isNull();
+        assertThat(users)
+                .extracting(AdminUserResponse::authId, AdminUserResponse::tradeCount,
+                        AdminUserResponse::lastTradeDate, AdminUserResponse::historyCount)
+                .containsExactly(
+                        tuple("admin-page-active", 2L, LocalDate.of(2024, 3, 8), 2L),
+                        tuple("admin-page-quiet", 0L, null, 0L)
+                );
+    }
+
+    private void createUser(String authId) {
+        User user = new User();
+        user.setAuthId(authId);
+        userRepository.saveAndFlush(user);
+    }
+
+    private static TradeRequest stockTrade(LocalDate closedAt) {
+        return new TradeRequest(
+                "SHOP",
+                AssetType.STOCK,
+                Currency.USD,
+                TradeDirection.LONG,
+                10,
+                new BigDecimal("80.00"),
+                new BigDecimal("81.00"),
+                BigDecimal.ZERO,
+                null,
+                null,
+                null,
+                null,
+                null,
+                closedAt,
+                closedAt,
+                null
+        );
+    }
+}
@@ -10,6 +10,7 @@ import static org.mockito.Mockito.when;
 import com.transactionapi.constants.Currency;
 import com.transactionapi.model.ExchangeRate;
 import com.transactionapi.repository.ExchangeRateRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
@@ -44,6 +45,7 @@ class ExchangeRateServiceTest {
     @Mock
     private ObjectProvider<DynamoExchangeRateReader> dynamoReaderProvider;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
     private ExchangeRateService exchangeRateService;
 
     @BeforeEach
@@ -57,6 +59,7 @@ class ExchangeRateServiceTest {
                 restTemplateBuilder,
                 exchangeRateRepository,
                 dynamoReaderProvider,
+                meterRegistry,
                 "http",
                 ENDPOINT,
                 new BigDecimal("0.732"),
@@ -93,6 +96,7 @@ class ExchangeRateServiceTest {
         assertThat(saved.getRate()).isEqualByComparingTo("0.800000");
         assertThat(exchangeRateService.cadToUsd()).isEqualByComparingTo("0.800000");
         assertThat(exchangeRateService.lastUpdatedOn()).isEqualTo(LocalDate.of(2024, 12, 5));
+        assertThat(meterRegistry.timer("fx.refresh", "source", "http", "outcome", "updated").count()).isEqualTo(1);
     }
 
     @Test
@@ -123,6 +127,7 @@ class ExchangeRateServiceTest {
         verify(exchangeRateRepository, never()).save(any(ExchangeRate.class));
         assertThat(exchangeRateService.cadToUsd()).isEqualByComparingTo(cached);
         assertThat(exchangeRateService.lastUpdatedOn()).isEqualTo(cachedDate);
+        assertThat(meterRegistry.timer("fx.refresh", "source", "http", "outcome", "failed").count()).isEqualTo(1);
     }
 
     @Test
@@ -0,0 +1,158 @@
+package com.transactionapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.transactionapi.constants.ShareType;
+import com.transactionapi.dto.PnlSummaryResponse;
+import com.transactionapi.model.ShareLink;
+import com.transactionapi.repository.AccountRepository;
+import com.transactionapi.repository.UserRepository;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+class LiveShareRendererTest {
+
+    private final TradeService tradeService = mock(TradeService.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final ExchangeRateService exchangeRateService = mock(ExchangeRateService.class);
+    private LiveShareRenderer renderer;
+    private ShareLink link;
+
+    @BeforeEach
+    void setUp() {
+        renderer = new LiveShareRenderer(
+                tradeService,
+                userRepository,
+                accountRepository,
+                exchangeRateService,
+                new ObjectMapper().findAndRegisterModules(),
+                100
+        );
+        when(exchangeRateService.cadToUsd()).thenReturn(new BigDecimal("0.74"));
+        when(userRepository.findDataVersionByAuthId("user1")).thenReturn(3L);
+        when(tradeService.summarizeScope(eq("user1"), any(), any(), any())).thenReturn(summary(2));
+
+        link = new ShareLink();
+        link.setCode("live1234");
+        link.setUserId("user1");
+        link.setShareType(ShareType.LIVE_SUMMARY);
+        link.setData("{\"year\":null,\"month\":\"2024-03\",\"accountId\":null}");
+        link.setExpiresAt(Instant.now().plus(1, ChronoUnit.DAYS));
+    }
+
+    @Test
+    void rendersOncePerDataVersion() {
+        ShareLink first = renderer.render(link);
+        ShareLink second = renderer.render(link);
+
+        assertThat(first.getData()).contains("\"tradeCount\":2");
+        assertThat(second.getEtag()).isEqualTo(first.getEtag());
+        assertThat(ShareLinkPayloads.gunzip(second.getDataGzip())).asString().isEqualTo(first.getData());
+        assertThat(link.getData()).startsWith("{\"year\"");
+        verify(tradeService, times(1)).summarizeScope("user1", null, YearMonth.of(2024, 3), null);
+
+        when(userRepository.findDataVersionByAuthId("user1")).thenReturn(4L);
+        when(tradeService.summarizeScope(eq("user1"), any(), any(), any())).thenReturn(summary(3));
+
+        ShareLink changed = renderer.render(link);
+
+        assertThat(changed.getData()).contains("\"tradeCount\":3");
+        assertThat(changed.getEtag()).isNotEqualTo(first.getEtag());
+        verify(tradeService, times(2)).summarizeScope("user1", null, YearMonth.of(2024, 3), null);
+    }
+
+    @Test
+    void concurrentViewsShareOneRender() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger renders = new AtomicInteger();
+        when(tradeService.summarizeScope(eq("user1"), any(), any(), any())).thenAnswer(invocation -> {
+            renders.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return summary(2);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ShareLink>> views = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                views.add(executor.submit(() -> renderer.render(link)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<ShareLink> view : views) {
+                assertThat(view.get(5, TimeUnit.SECONDS).getData()).contains("\"tradeCount\":2");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(renders).hasValue(1);
+    }
+
+    @Test
+    void failedRenderIsNotCached() {
+        when(tradeService.summarizeScope(eq("user1"), any(), any(), any()))
+                .thenThrow(new IllegalStateException("boom"))
+                .thenReturn(summary(2));
+
+        assertThatThrownBy(() -> renderer.render(link)).isInstanceOf(IllegalStateException.class);
+        assertThat(renderer.render(link).getData()).contains("\"tradeCount\":2");
+    }
+
+    @Test
+    void normalizesAndValidatesScope() {
+        UUID accountId = UUID.randomUUID();
+        when(accountRepository.findByIdAndUserId(accountId, "user1")).thenReturn(Optional.empty());
+
+        assertThat(renderer.normalizeScope("user1", "{ \"month\": \"2024-03\", \"year\": 2024 }"))
+                .isEqualTo("{\"year\":2024,\"month\":\"2024-03\",\"accountId\":null}");
+        assertThatThrownBy(() -> renderer.normalizeScope("user1", "{\"month\":\"March\"}"))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> renderer.normalizeScope("user1", "{\"year\":2023,\"month\":\"2024-03\"}"))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> renderer.normalizeScope("user1", "{\"accountId\":\"" + accountId + "\"}"))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> renderer.normalizeScope("user1", "not json"))
+                .isInstanceOf(ResponseStatusException.class);
+        verify(accountRepository).findByIdAndUserId(eq(accountId), eq("user1"));
+        verify(tradeService, times(0)).summarizeScope(any(), isNull(), any(), any());
+    }
+
+    private static PnlSummaryResponse summary(int tradeCount) {
+        return new PnlSummaryResponse(
+                BigDecimal.TEN,
+                tradeCount,
+                BigDecimal.ONE,
+                List.of(),
+                List.of(),
+                new BigDecimal("0.74"),
+                LocalDate.of(2024, 3, 31),
+                false
+        );
+    }
+}
@@ -0,0 +1,66 @@
+package com.transactionapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.UUID;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class SchedulerLeaseServiceTest {
+
+    private JdbcTemplate jdbc;
+    private SchedulerLeaseService first;
+    private SchedulerLeaseService second;
+
+    @BeforeEach
+    void setUp() {
+        String databaseName = "scheduler_leases_" + UUID.randomUUID().toString().replace("-", "");
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + databaseName + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "sa",
+                ""
+        );
+        dataSource.setDriverClassName("org.h2.Driver");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        jdbc = new JdbcTemplate(dataSource);
+        first = new SchedulerLeaseService(jdbc);
+        second = new SchedulerLeaseService(jdbc);
+    }
+
+    @Test
+    void onlyOneInstanceHoldsTheLease() {
+        assertThat(first.tryAcquire("cleanup", Duration.ofMinutes(10))).isTrue();
+        assertThat(second.tryAcquire("cleanup", Duration.ofMinutes(10))).isFalse();
+        assertThat(first.tryAcquire("cleanup", Duration.ofMinutes(10))).isTrue();
+        assertThat(second.tryAcquire("other-job", Duration.ofMinutes(10))).isTrue();
+    }
+
+    @Test
+    void leaseIsHeldUntilItExpiresAfterARun() {
+        first.tryAcquire("cleanup", Duration.ofMinutes(10));
+        assertThat(second.tryAcquire("cleanup", Duration.ofMinutes(10))).isFalse();
+
+        jdbc.update("update scheduler_leases set lease_until = current_timestamp - interval '1' second");
+        assertThat(second.tryAcquire("cleanup", Duration.ofMinutes(10))).isTrue();
+        assertThat(first.tryAcquire("cleanup", Duration.ofMinutes(10))).isFalse();
+    }
+
+    @Test
+    void leaseTimesComeFromTheDatabaseClock() {
+        second.tryAcquire("cleanup", Duration.ofMinutes(10));
+
+        assertThat(jdbc.queryForObject("""
+                select count(*) from scheduler_leases
+                where lease_until between current_timestamp + interval '9' minute
+                                      and current_timestamp + interval '10' minute
+                """, Integer.class)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,45 @@
+package com.transactionapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ShareCodeGeneratorTest {
+
+    private final ShareCodeGenerator generator = new ShareCodeGenerator();
+
+    @Test
+    void generatesAlphanumericCodesOfMinimumLength() {
+        assertThat(generator.next()).matches("[a-zA-Z0-9]{8}");
+    }
+
+    @Test
+    void ignoresRareCollisions() {
+        recordAttempts(5_000, 2);
+
+        assertThat(generator.length()).isEqualTo(ShareCodeGenerator.MIN_LENGTH);
+    }
+
+    @Test
+    void growsCodesWhenCollisionsBecomeFrequent() {
+        recordAttempts(100, 2);
+
+        assertThat(generator.length()).isEqualTo(ShareCodeGenerator.MIN_LENGTH + 1);
+        assertThat(generator.next()).hasSize(ShareCodeGenerator.MIN_LENGTH + 1);
+    }
+
+    @Test
+    void stopsGrowingAtMaximumLength() {
+        for (int i = 0; i < 20; i++) {
+            recordAttempts(2, 2);
+        }
+
+        assertThat(generator.length()).isEqualTo(ShareCodeGenerator.MAX_LENGTH);
+    }
+
+    private void recordAttempts(int attempts, int collisions) {
+        for (int i = 0; i < attempts; i++) {
+            generator.recordAttempt(i >= attempts - collisions);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.transactionapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class ShareLinkAccessCounterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ShareLinkAccessCounter counter = new ShareLinkAccessCounter(jdbcTemplate);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushesOneBatchedIncrementPerCode() {
+        counter.increment("abc12345");
+        counter.increment("abc12345");
+        counter.increment("abc12345");
+        counter.increment("xyz98765");
+
+        assertThat(counter.flush()).isEqualTo(2);
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertThat(batch.getValue())
+                .extracting(row -> row[1] + "=" + row[0])
+                .containsExactlyInAnyOrder("abc12345=3", "xyz98765=1");
+        assertThat(counter.flush()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void losesNoViewsCountedWhileFlushing() {
+        AtomicLong flushed = new AtomicLong();
+        doAnswer(invocation -> {
+            ((List<Object[]>) invocation.getArgument(1)).forEach(row -> flushed.addAndGet((long) row[0]));
+            return new int[0];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+        int views = 200_000;
+
+        CompletableFuture<Void> viewer = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < views; i++) {
+                counter.increment("abc1234" + (i % 2));
+            }
+        });
+        while (!viewer.isDone()) {
+            counter.flush();
+        }
+        viewer.join();
+        counter.flush();
+
+        assertThat(flushed).hasValue(views);
+    }
+
+    @Test
+    void skipsFlushWhenNothingIsPending() {
+        assertThat(counter.flush()).isZero();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void keepsCountsWhenFlushFails() {
+        counter.increment("abc12345");
+        doThrow(new QueryTimeoutException("timeout")).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+        assertThat(counter.flush()).isZero();
+
+        counter.increment("abc12345");
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        doThrow(new QueryTimeoutException("timeout")).when(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        counter.flush();
+        assertThat(batch.getValue()).singleElement().satisfies(row -> assertThat(row[0]).isEqualTo(2L));
+    }
+}
@@ -1,15 +1,20 @@
 package com.transactionapi.service;
 
+import com.transactionapi.config.DatabaseBulkhead;
 import com.transactionapi.constants.ShareType;
 import com.transactionapi.model.ShareLink;
 import com.transactionapi.repository.ShareLinkRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
@@ -19,7 +24,9 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +35,24 @@ class ShareLinkServiceTest {
     @Mock
     private ShareLinkRepository shareLinkRepository;
 
+    @Mock
+    private ShareLinkAccessCounter shareLinkAccessCounter;
+
+    @Mock
+    private LiveShareRenderer liveShareRenderer;
+
+    @Mock
+    private AdminMetricsRecorder adminMetricsRecorder;
+
+    @Mock
+    private ObjectProvider<DatabaseBulkhead> bulkhead;
+
+    @Spy
+    private ShareCodeGenerator shareCodeGenerator = new ShareCodeGenerator();
+
+    @Spy
+    private ShareLinkCache shareLinkCache = new ShareLinkCache(Duration.ofMinutes(1), 100);
+
     @InjectMocks
     private ShareLinkService shareLinkService;
 
@@ -67,8 +92,7 @@ class ShareLinkServiceTest {
 
     @Test
     void createShareLink_shouldGenerateUniqueCode() {
-        when(shareLinkRepository.findByCode(anyString())).thenReturn(Optional.empty());
-        when(shareLinkRepository.save(any(ShareLink.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        stubInsert(1);
 
         ShareLink result = shareLinkService.createShareLink(
                 "user1",
@@ -83,13 +107,71 @@ class ShareLinkServiceTest {
         assertThat(result.getShareType()).isEqualTo(ShareType.SUMMARY);
         assertThat(result.getData()).isEqualTo("{\"test\":\"data\"}");
         assertThat(result.isRequiresAuth()).isFalse();
-        verify(shareLinkRepository, times(1)).save(any(ShareLink.class));
+        assertThat(result.getEtag()).hasSize(64);
+        assertThat(ShareLinkPayloads.gunzip(result.getDataGzip())).asString().isEqualTo("{\"test\":\"data\"}");
+        assertThat(result.getCreatedAt()).isNotNull();
+        verify(shareLinkRepository, never()).findByCode(anyString());
+        verify(shareLinkRepository, never()).save(any(ShareLink.class));
+    }
+
+    @Test
+    void createShareLink_shouldStoreNormalizedScopeForLiveLinks() {
+        stubInsert(1);
+        when(liveShareRenderer.normalizeScope("user1", "{ \"year\": 2024 }"))
+                .thenReturn("{\"year\":2024,\"month\":null,\"accountId\":null}");
+
+        ShareLink result = shareLinkService.createShareLink(
+                "user1",
+                ShareType.LIVE_SUMMARY,
+                "{ \"year\": 2024 }",
+                false,
+                7L
+        );
+
+        assertThat(result.getData()).isEqualTo("{\"year\":2024,\"month\":null,\"accountId\":null}");
+        verify(liveShareRenderer, never()).render(any());
+    }
+
+    @Test
+    void getShareLink_shouldRenderLiveLinksOnView() {
+        publicShare.setShareType(ShareType.LIVE_SUMMARY);
+        when(shareLinkRepository.findByCode("abc12345")).thenReturn(Optional.of(publicShare));
+        when(liveShareRenderer.render(any())).thenAnswer(invocation ->
+                invocation.<ShareLink>getArgument(0).withPayload("{\"tradeCount\":3}", "etag", null));
+
+        Optional<ShareLink> result = shareLinkService.getShareLink("abc12345", null);
+
+        assertThat(result).get().extracting(ShareLink::getData).isEqualTo("{\"tradeCount\":3}");
+        assertThat(result.get().getAccessCount()).isEqualTo(1);
+        assertThat(publicShare.getData()).isEqualTo("{\"test\":\"data\"}");
+    }
+
+    @Test
+    void createShareLink_shouldRetryWithNewCodeWhenCodeIsTaken() {
+        stubInsert(0, 0, 1);
+
+        ShareLink result = shareLinkService.createShareLink("user1", ShareType.SUMMARY, "{}", false, 7L);
+
+        ArgumentCaptor<String> codes = ArgumentCaptor.forClass(String.class);
+        verify(shareLinkRepository, times(3)).insertIfCodeAbsent(
+                any(), codes.capture(), any(), any(), any(), any(), any(), anyBoolean(), any(), any()
+        );
+        assertThat(result.getCode()).isEqualTo(codes.getAllValues().get(2));
+        verify(shareCodeGenerator, times(2)).recordAttempt(true);
+        verify(shareCodeGenerator).recordAttempt(false);
+    }
+
+    @Test
+    void createShareLink_shouldFailAfterMaxAttempts() {
+        stubInsert(0);
+
+        assertThatThrownBy(() -> shareLinkService.createShareLink("user1", ShareType.SUMMARY, "{}", false, 7L))
+                .isInstanceOf(IllegalStateException.class);
     }
 
     @Test
     void createShareLink_shouldEnforceMaxExpiry() {
-        when(shareLinkRepository.findByCode(anyString())).thenReturn(Optional.empty());
-        when(shareLinkRepository.save(any(ShareLink.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        stubInsert(1);
 
         ShareLink result = shareLinkService.createShareLink(
                 "user1",
@@ -106,8 +188,7 @@ class ShareLinkServiceTest {
 
     @Test
     void createShareLink_shouldDefaultTo7DaysWhenNullExpiry() {
-        when(shareLinkRepository.findByCode(anyString())).thenReturn(Optional.empty());
-        when(shareLinkRepository.save(any(ShareLink.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        stubInsert(1);
 
         ShareLink result = shareLinkService.createShareLink(
                 "user1",
@@ -125,20 +206,45 @@ class ShareLinkServiceTest {
     @Test
     void getShareLink_publicShare_shouldReturnForAnyone() {
         when(shareLinkRepository.findByCode("abc12345")).thenReturn(Optional.of(publicShare));
-        when(shareLinkRepository.save(any(ShareLink.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Optional<ShareLink> result = shareLinkService.getShareLink("abc12345", null);
 
         assertThat(result).isPresent();
         assertThat(result.get().getCode()).isEqualTo("abc12345");
         assertThat(result.get().getAccessCount()).isEqualTo(1);
-        verify(shareLinkRepository).save(any(ShareLink.class));
+        verify(shareLinkAccessCounter).increment("abc12345");
+        verify(shareLinkRepository, never()).save(any(ShareLink.class));
+    }
+
+    @Test
+    void getShareLink_shouldServeRepeatViewsFromCache() {
+        when(shareLinkRepository.findByCode("abc12345")).thenReturn(Optional.of(publicShare));
+
+        shareLinkService.findByCodeRaw("abc12345");
+        shareLinkService.getShareLink("abc12345", null);
+        Optional<ShareLink> result = shareLinkService.getShareLink("abc12345", null);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getAccessCount()).isEqualTo(2);
+        assertThat(publicShare.getAccessCount()).isZero();
+        verify(shareLinkRepository, times(1)).findByCode("abc12345");
+        verify(shareLinkAccessCounter, times(2)).increment("abc12345");
+    }
+
+    @Test
+    void getShareLink_shouldReloadAfterDelete() {
+        when(shareLinkRepository.findByCode("abc12345")).thenReturn(Optional.of(publicShare));
+        shareLinkService.getShareLink("abc12345", null);
+
+        shareLinkService.deleteShareLink("abc12345", "user1");
+        when(shareLinkRepository.findByCode("abc12345")).thenReturn(Optional.empty());
+
+        assertThat(shareLinkService.getShareLink("abc12345", null)).isEmpty();
     }
 
     @Test
     void getShareLink_authRequired_shouldReturnForOwner() {
         when(shareLinkRepository.findByCode("xyz98765")).thenReturn(Optional.of(authRequiredShare));
-        when(shareLinkRepository.save(any(ShareLink.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Optional<ShareLink> result = shareLinkService.getShareLink("xyz98765", "user1");
 
@@ -164,7 +270,7 @@ class ShareLinkServiceTest {
         Optional<ShareLink> result = shareLinkService.getShareLink("xyz98765", null);
 
         assertThat(result).isEmpty();
-        verify(shareLinkRepository, never()).save(any(ShareLink.class));
+        verify(shareLinkAccessCounter, never()).increment(anyString());
     }
 
     @Test
@@ -216,13 +322,23 @@ class ShareLinkServiceTest {
     }
 
     @Test
-    void deleteExpiredShares_shouldCallRepository() {
-        when(shareLinkRepository.deleteExpired(any(Instant.class))).thenReturn(5);
+    void deleteExpiredShares_shouldDeleteInBatchesUntilShortBatch() {
+        when(shareLinkRepository.deleteExpiredBatch(any(Instant.class), eq(2))).thenReturn(2, 2, 1);
 
-        int deleted = shareLinkService.deleteExpiredShares();
+        int deleted = shareLinkService.deleteExpiredShares(2, Duration.ZERO, Duration.ofMinutes(1));
 
         assertThat(deleted).isEqualTo(5);
-        verify(shareLinkRepository).deleteExpired(any(Instant.class));
+        verify(shareLinkRepository, times(3)).deleteExpiredBatch(any(Instant.class), eq(2));
+    }
+
+    @Test
+    void deleteExpiredShares_shouldStopWhenTimeBudgetIsSpent() {
+        when(shareLinkRepository.deleteExpiredBatch(any(Instant.class), eq(2))).thenReturn(2);
+
+        int deleted = shareLinkService.deleteExpiredShares(2, Duration.ZERO, Duration.ZERO);
+
+        assertThat(deleted).isEqualTo(2);
+        verify(shareLinkRepository, times(1)).deleteExpiredBatch(any(Instant.class), eq(2));
     }
 
     @Test
@@ -243,4 +359,10 @@ class ShareLinkServiceTest {
 
         assertThat(result).isNull();
     }
+
+    private void stubInsert(Integer first, Integer... rest) {
+        when(shareLinkRepository.insertIfCodeAbsent(
+                any(), anyString(), anyString(), anyString(), anyString(), any(), any(), anyBoolean(), any(), any()
+        )).thenReturn(first, rest);
+    }
 }
@@ -0,0 +1,101 @@
+package com.transactionapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight flights = new SingleFlight("trade.stats.calls", meterRegistry);
+
+    @Test
+    void concurrentIdenticalCallsShareOneLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<String> loader = () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "stats";
+        };
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(
+                () -> flights.execute("scoped_stats", loader, "user-1", 2024));
+        waitUntil(() -> flights.inFlight() == 1);
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(
+                () -> flights.execute("scoped_stats", loader, "user-1", 2024));
+        waitUntil(() -> calls("follower") == 1);
+        release.countDown();
+
+        assertThat(leader.get(2, TimeUnit.SECONDS)).isEqualTo("stats");
+        assertThat(follower.get(2, TimeUnit.SECONDS)).isSameAs(leader.get());
+        assertThat(loads).hasValue(1);
+        assertThat(calls("leader")).isEqualTo(1);
+        assertThat(flights.inFlight()).isZero();
+    }
+
+    @Test
+    void followersSeeTheLeadersException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<String> loader = () -> {
+            await(release);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found");
+        };
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(
+                () -> flights.execute("trade_counts", loader, "user-1"));
+        waitUntil(() -> flights.inFlight() == 1);
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(
+                () -> flights.execute("trade_counts", loader, "user-1"));
+        waitUntil(() -> calls("follower") == 1);
+        release.countDown();
+
+        assertThatThrownBy(() -> follower.get(2, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Account not found");
+        assertThatThrownBy(leader::join).hasCauseInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void differentArgumentsAndSequentialCallsLoadSeparately() {
+        AtomicInteger loads = new AtomicInteger();
+
+        flights.execute("summary", loads::incrementAndGet, "user-1", null);
+        flights.execute("summary", loads::incrementAndGet, "user-2", null);
+        flights.execute("summary", loads::incrementAndGet, "user-1", null);
+
+        assertThat(loads).hasValue(3);
+        assertThat(calls("follower")).isZero();
+    }
+
+    private double calls(String role) {
+        return meterRegistry.find("trade.stats.calls").tag("role", role).counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(Supplier<Boolean> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.get() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.get()).isTrue();
+    }
+}
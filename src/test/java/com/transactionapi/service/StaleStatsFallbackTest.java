@@ -0,0 +1,196 @@
+package com.transactionapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.transactionapi.config.DatabaseBulkhead;
+import com.transactionapi.config.QueryCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.server.ResponseStatusException;
+
+class StaleStatsFallbackTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StaticListableBeanFactory beans = new StaticListableBeanFactory();
+    private final List<StaleStatsFallback> created = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        created.forEach(StaleStatsFallback::shutdown);
+    }
+
+    @Test
+    void servesLastGoodCopyWhenDatabaseFails() {
+        StaleStatsFallback fallback = fallback(Duration.ofSeconds(1), Duration.ofMinutes(5));
+        fallback.get("aggregate_stats", () -> "fresh", "user-1");
+
+        StaleStatsFallback.Served<String> served = fallback.get("aggregate_stats", () -> {
+            throw new CannotCreateTransactionException("Connection is not available, request timed out");
+        }, "user-1");
+
+        assertThat(served.stale()).isTrue();
+        assertThat(served.value()).isEqualTo("fresh");
+        assertThat(served.age().isNegative()).isFalse();
+        assertThat(servedStale("failed")).isEqualTo(1);
+    }
+
+    @Test
+    void servesStaleWhenOverBudgetAndRefreshesInBackground() throws Exception {
+        StaleStatsFallback fallback = fallback(Duration.ofMillis(50), Duration.ofMinutes(5));
+        fallback.get("summary", () -> "old", "user-1", null);
+        CountDownLatch release = new CountDownLatch(1);
+
+        StaleStatsFallback.Served<String> served = fallback.get("summary", () -> {
+            await(release);
+            return "new";
+        }, "user-1", null);
+        release.countDown();
+
+        assertThat(served.stale()).isTrue();
+        assertThat(served.value()).isEqualTo("old");
+        assertThat(servedStale("slow")).isEqualTo(1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        String latest = "old";
+        while (!latest.equals("new") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            latest = fallback.<String>get("summary", () -> {
+                throw new CannotCreateTransactionException("down");
+            }, "user-1", null).value();
+        }
+        assertThat(latest).isEqualTo("new");
+    }
+
+    @Test
+    void propagatesFailuresWithoutUsableCopy() throws Exception {
+        StaleStatsFallback fallback = fallback(Duration.ofSeconds(1), Duration.ofMillis(1));
+
+        assertThatThrownBy(() -> fallback.get("scoped_stats", () -> {
+            throw new CannotCreateTransactionException("down");
+        }, "user-1", 2024)).isInstanceOf(CannotCreateTransactionException.class);
+
+        fallback.get("scoped_stats", () -> "fresh", "user-1", 2024);
+        Thread.sleep(10);
+        assertThatThrownBy(() -> fallback.get("scoped_stats", () -> {
+            throw new CannotCreateTransactionException("down");
+        }, "user-1", 2024)).isInstanceOf(CannotCreateTransactionException.class);
+        assertThat(fallback.size()).isZero();
+    }
+
+    @Test
+    void doesNotMaskClientErrors() {
+        StaleStatsFallback fallback = fallback(Duration.ofSeconds(1), Duration.ofMinutes(5));
+        fallback.get("scoped_stats", () -> "fresh", "user-1", 2024);
+
+        assertThatThrownBy(() -> fallback.get("scoped_stats", () -> {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid year");
+        }, "user-1", 2024)).isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void bulkheadRejectionFallsBackToStaleCopy() {
+        DatabaseBulkhead bulkhead = new DatabaseBulkhead(1, 0, Duration.ZERO, Duration.ofSeconds(1), meterRegistry);
+        beans.addBean("databaseBulkhead", bulkhead);
+        StaleStatsFallback fallback = fallback(Duration.ofSeconds(1), Duration.ofMinutes(5));
+        fallback.get("aggregate_stats", () -> "fresh", "user-1");
+        bulkhead.acquire();
+
+        StaleStatsFallback.Served<String> served = fallback.get("aggregate_stats", () -> "unreachable", "user-1");
+
+        assertThat(served.stale()).isTrue();
+        assertThat(served.value()).isEqualTo("fresh");
+    }
+
+    @Test
+    void sweepDropsCopiesPastMaxStale() throws Exception {
+        StaleStatsFallback fallback = fallback(Duration.ofSeconds(1), Duration.ofMillis(1));
+        fallback.get("aggregate_stats", () -> "fresh", "user-1");
+        fallback.get("aggregate_stats", () -> "fresh", "user-2");
+        Thread.sleep(10);
+
+        assertThat(fallback.evictExpired()).isEqualTo(2);
+        assertThat(fallback.size()).isZero();
+    }
+
+    @Test
+    void servesStaleAtOnceWhenEveryLoadThreadIsBusy() {
+        StaleStatsFallback fallback = fallback(Duration.ofSeconds(5), Duration.ofMinutes(5), 1);
+        fallback.get("summary", () -> "old", "user-1", null);
+        fallback.get("summary", () -> "old", "user-2", null);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        Thread.ofVirtual().start(() -> fallback.get("summary", () -> {
+            started.countDown();
+            await(release);
+            return "new";
+        }, "user-1", null));
+        await(started);
+
+        long began = System.nanoTime();
+        StaleStatsFallback.Served<String> served = fallback.get("summary", () -> "unreachable", "user-2", null);
+        release.countDown();
+
+        assertThat(served.stale()).isTrue();
+        assertThat(served.value()).isEqualTo("old");
+        assertThat(Duration.ofNanos(System.nanoTime() - began)).isLessThan(Duration.ofSeconds(1));
+        assertThat(servedStale("busy")).isEqualTo(1);
+    }
+
+    @Test
+    void countsQueriesRunOnTheLoadThreadAgainstTheRequest() {
+        StaleStatsFallback fallback = fallback(Duration.ofSeconds(1), Duration.ofMinutes(5));
+        fallback.get("summary", () -> "old", "user-1", null);
+
+        QueryCounter.start();
+        try {
+            fallback.get("summary", () -> {
+                new QueryCounter().inspect("select 1");
+                return "new";
+            }, "user-1", null);
+        } finally {
+            assertThat(QueryCounter.stop()).isEqualTo(1);
+        }
+    }
+
+    private StaleStatsFallback fallback(Duration latencyBudget, Duration maxStale) {
+        return fallback(latencyBudget, maxStale, 16);
+    }
+
+    private StaleStatsFallback fallback(Duration latencyBudget, Duration maxStale, int maxConcurrentLoads) {
+        StaleStatsFallback fallback = new StaleStatsFallback(
+                beans.getBeanProvider(DatabaseBulkhead.class),
+                beans.getBeanProvider(TaskDecorator.class),
+                meterRegistry,
+                latencyBudget,
+                maxStale,
+                100,
+                maxConcurrentLoads
+        );
+        created.add(fallback);
+        return fallback;
+    }
+
+    private double servedStale(String reason) {
+        return meterRegistry.find("stats.fallback.served").tag("reason", reason).counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.transactionapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Runs against a local PostgreSQL database, e.g.
+ * {@code TEST_POSTGRES_URL=jdbc:postgresql://localhost:5432/postgres TEST_POSTGRES_USER=postgres mvn test}.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_POSTGRES_URL", matches = ".+")
+class TradeHistoryPartitionServiceTest {
+
+    private String schema;
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        schema = "partitions_" + UUID.randomUUID().toString().replace("-", "");
+        dataSource = new DriverManagerDataSource(
+                System.getenv("TEST_POSTGRES_URL"),
+                System.getenv().getOrDefault("TEST_POSTGRES_USER", "postgres"),
+                System.getenv().getOrDefault("TEST_POSTGRES_PASSWORD", "")
+        );
+        Flyway.configure()
+                .dataSource(dataSource)
+                .schemas(schema)
+                .createSchemas(true)
+                .locations("classpath:db/migration", "classpath:db/vendor/postgresql")
+                .load()
+                .migrate();
+        dataSource.setSchema(schema);
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("drop schema " + schema + " cascade");
+    }
+
+    @Test
+    void createsMonthsAheadAndMovesRowsOutOfTheDefaultPartition() {
+        insertHistory("now() + interval '12 months'");
+        assertThat(count("trade_history_default")).isEqualTo(1);
+
+        int created = new TradeHistoryPartitionService(jdbc, 13).createFuturePartitions();
+
+        assertThat(created).isEqualTo(10);
+        assertThat(count("trade_history_default")).isZero();
+        assertThat(count("trade_history")).isEqualTo(1);
+        assertThat(new TradeHistoryPartitionService(jdbc, 13).createFuturePartitions()).isZero();
+    }
+
+    @Test
+    void prunesTradeReadsToOneHashPartitionAndHistoryReadsToTheMonthsAsked() {
+        new TradeHistoryPartitionService(jdbc, 3).createFuturePartitions();
+
+        assertThat(scannedPartitions("select * from trades where user_id = 'user-1' order by closed_at desc"))
+                .hasSize(1);
+        assertThat(scannedPartitions("""
+                select * from trade_history
+                where user_id = 'user-1' and action_at >= date_trunc('month', now() at time zone 'UTC') at time zone 'UTC'
+                """))
+                .allMatch(name -> name.startsWith("trade_history_"))
+                .hasSizeLessThanOrEqualTo(5);
+    }
+
+    private void insertHistory(String actionAt) {
+        jdbc.update("""
+                insert into trade_history (
+                    id, trade_id, action, user_id, symbol, currency, asset_type, direction, quantity,
+                    entry_price, exit_price, opened_at, closed_at, trade_created_at, trade_updated_at, action_at
+                ) values (
+                    ?, ?, 'CREATE', 'user-1', 'AAPL', 'USD', 'STOCK', 'LONG', 1,
+                    1, 1, current_date, current_date, now(), now(), %s
+                )
+                """.formatted(actionAt), UUID.randomUUID(), UUID.randomUUID());
+    }
+
+    private int count(String table) {
+        Integer count = jdbc.queryForObject("select count(*) from " + table, Integer.class);
+        return count != null ? count : 0;
+    }
+
+    private List<String> scannedPartitions(String sql) {
+        return jdbc.queryForList("explain (costs off) " + sql, String.class).stream()
+                .filter(line -> line.contains(" on "))
+                .map(line -> line.substring(line.indexOf(" on ") + 4).trim().split(" ")[0])
+                .distinct()
+                .toList();
+    }
+}
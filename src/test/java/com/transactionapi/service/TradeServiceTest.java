@@ -20,9 +20,11 @@ import com.transactionapi.dto.TradeRequest;
 import com.transactionapi.dto.TradeResponse;
 import com.transactionapi.model.Account;
 import com.transactionapi.model.TradeHistory;
+import com.transactionapi.model.User;
 import com.transactionapi.repository.AccountRepository;
 import com.transactionapi.repository.TradeHistoryRepository;
 import com.transactionapi.repository.TradeRepository;
+import com.transactionapi.repository.UserRepository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
@@ -54,6 +56,9 @@ class TradeServiceTest {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
     @BeforeEach
     void cleanDb() {
         tradeHistoryRepository.deleteAll();
@@ -278,6 +283,58 @@ class TradeServiceTest {
         assertThat(response.accountId()).isEqualTo(savedAccount.getId());
     }
 
+    @Test
+    void summarizesLiveScopeAndBumpsDataVersionOnWrites() {
+        if (userRepository.findByAuthId(USER_ID).isEmpty()) {
+            User user = new User();
+            user.setAuthId(USER_ID);
+            userRepository.save(user);
+        }
+        Account account = new Account();
+        account.setUserId(USER_ID);
+        account.setName("Scoped");
+        account.setDefaultStockFees(BigDecimal.ZERO);
+        account.setDefaultOptionFees(BigDecimal.ZERO);
+        account.setDefaultMarginRateUsd(BigDecimal.ZERO);
+        account.setDefaultMarginRateCad(BigDecimal.ZERO);
+        UUID accountId = accountRepository.save(account).getId();
+        long versionBefore = userRepository.findDataVersionByAuthId(USER_ID);
+
+        tradeService.createTrade(stockTrade(accountId, LocalDate.of(2024, 3, 4)), USER_ID);
+        tradeService.createTrade(stockTrade(null, LocalDate.of(2024, 3, 5)), USER_ID);
+        TradeResponse otherYear = tradeService.createTrade(stockTrade(accountId, LocalDate.of(2023, 3, 4)), USER_ID);
+        tradeService.deleteTrade(otherYear.id(), USER_ID);
+        tradeService.createTrade(stockTrade(accountId, LocalDate.of(2023, 6, 1)), USER_ID);
+
+        assertThat(userRepository.findDataVersionByAuthId(USER_ID)).isEqualTo(versionBefore + 5);
+        assertThat(tradeService.summarizeScope(USER_ID, 2024, null, accountId).tradeCount()).isEqualTo(1);
+        assertThat(tradeService.summarizeScope(USER_ID, 2024, null, null).tradeCount()).isEqualTo(2);
+        assertThat(tradeService.summarizeScope(USER_ID, null, YearMonth.of(2023, 6), accountId).tradeCount())
+                .isEqualTo(1);
+        assertThat(tradeService.summarizeScope(USER_ID, null, null, null).tradeCount()).isEqualTo(3);
+    }
+
+    private static TradeRequest stockTrade(UUID accountId, LocalDate closedAt) {
+        return new TradeRequest(
+                "SHOP",
+                AssetType.STOCK,
+                Currency.USD,
+                TradeDirection.LONG,
+                10,
+                new BigDecimal("80.00"),
+                new BigDecimal("81.00"),
+                BigDecimal.ZERO,
+                null,
+                accountId,
+                null,
+                null,
+                null,
+                closedAt,
+                closedAt,
+                null
+        );
+    }
+
     @Test
     void rejectsTradeWhenAccountBelongsToDifferentUser() {
         Account account = new Account();